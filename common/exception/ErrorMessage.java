@@ -172,6 +172,8 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Database(8, "Background RocksDB properties logger shutdown timed out.");
         public static final Database STATISTICS_CORRECTOR_SHUTDOWN_TIMEOUT =
                 new Database(9, "Background statistics corrector shutdowne timed out.");
+        public static final Database MATERIALISATION_CORRECTOR_SHUTDOWN_TIMEOUT =
+                new Database(10, "Background materialisation corrector shutdown timed out.");
 
         private static final String codePrefix = "DBS";
         private static final String messagePrefix = "Invalid Database Operation";
@@ -285,6 +287,10 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Pattern(18, "The pattern '%s' can never be satisfied in the current schema, due to contradicting types for '%s'.");
         public static final Pattern UNSATISFIABLE_PATTERN_VARIABLE_VALUE =
                 new Pattern(19, "The pattern '%s' can never be satisfied in the current schema, due to contradicting attribute value types for '%s'.");
+        public static final Pattern PREPARED_QUERY_PARAMETER_INVALID =
+                new Pattern(20, "The parameter '%s' of a prepared query must be a named thing variable in every branch of the query.");
+        public static final Pattern PREPARED_QUERY_PARAMETER_UNBOUND =
+                new Pattern(21, "The parameter '%s' of the prepared query was not bound to a concept.");
 
         private static final String codePrefix = "QRY";
         private static final String messagePrefix = "Invalid Query Pattern";
@@ -579,6 +585,10 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new RuleWrite(7, "The rule '%s' has a then clause with an invalid assignment of '%s' into a '%s'.");
         public static final RuleWrite MAX_RULE_REACHED =
                 new RuleWrite(8, "The maximum number of rules has been reached: '%s'");
+        public static final RuleWrite MATERIALISED_RULE_DEPENDS_ON_INFERENCE =
+                new RuleWrite(9, "The rule '%s' cannot be materialised since its when clause reads conclusions of rule '%s', which is not materialised.");
+        public static final RuleWrite MATERIALISED_RULE_MODIFIED =
+                new RuleWrite(10, "The rule '%s' is materialised, and must be dematerialised before it can be redefined or undefined.");
 
         private static final String codePrefix = "RUW";
         private static final String messagePrefix = "Invalid Rule Write";
@@ -603,6 +613,8 @@ public abstract class ErrorMessage extends com.vaticle.typedb.common.exception.E
                 new Reasoner(6, "Reasoner tracing file could not be found.");
         public static final Reasoner REASONER_TRACING_WRITE_FAILED =
                 new Reasoner(7, "Reasoner tracing failed to write to file.");
+        public static final Reasoner BATCH_INFERENCE_CANNOT_EXPLAIN =
+                new Reasoner(8, "Batch inference cannot be used with explanations. Try disabling one of these options.");
 
         private static final String codePrefix = "RSN";
         private static final String messagePrefix = "Reasoner Error";
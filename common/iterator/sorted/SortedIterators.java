@@ -107,6 +107,11 @@ public class SortedIterators {
             return new LimitedSortedIterator.Forwardable<>(iterator, limit);
         }
 
+        public static <T extends Comparable<? super T>, ORDER extends SortedIterator.Order> SortedIterator.Forwardable<T, ORDER> bounded(SortedIterator.Forwardable<T, ORDER> iterator,
+                                                                                                                                         T bound) {
+            return new BoundedSortedIterator.Forwardable<>(iterator, bound);
+        }
+
         @SafeVarargs
         public static <T extends Comparable<? super T>, ORDER extends SortedIterator.Order> SortedIterator.Forwardable<T, ORDER> merge(SortedIterator.Forwardable<T, ORDER> iterator, SortedIterator.Forwardable<T, ORDER>... iterators) {
             return new MergeMappedIterator.Forwardable<>(Iterators.iterate(list(list(iterators), iterator)), e -> e, iterator.order());
@@ -21,8 +21,10 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typeql.lang.query.TypeQLQuery;
 
 import java.nio.file.Path;
+import java.util.Optional;
 
 import static com.vaticle.typedb.common.util.Objects.className;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Reasoner.REASONER_TRACING_CANNOT_BE_TOGGLED_PER_QUERY;
@@ -41,16 +43,27 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final boolean DEFAULT_INFER = false;
     public static final boolean DEFAULT_TRACE_INFERENCE = false;
     public static final boolean DEFAULT_EXPLAIN = false;
+    public static final boolean DEFAULT_BATCH_INFERENCE = false;
+    public static final boolean DEFAULT_BULK_LOAD = false;
+    public static final boolean DEFAULT_APPROXIMATE_MEDIAN = false;
     public static final boolean DEFAULT_PARALLEL = true;
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
     public static final boolean DEFAULT_READ_ANY_REPLICA = false;
+    public static final boolean DEFAULT_STORAGE_GROUP_COMMIT = false;
+    public static final int DEFAULT_STORAGE_GROUP_COMMIT_MAX_BATCH_SIZE = 64;
+    public static final long DEFAULT_STORAGE_GROUP_COMMIT_MAX_WAIT_MICROS = 100;
+    public static final long DEFAULT_REASONER_ANSWER_CACHE_SIZE = 1_000_000;
 
     private PARENT parent;
     private Boolean infer = null;
     private Boolean traceInference = null;
     private Boolean explain = null;
+    private Boolean batchInference = null;
+    private Boolean bulkLoad = null;
+    private Boolean approximateMedian = null;
     private Boolean parallel = null;
+    private Integer parallelisation = null;
     private Integer prefetchSize = null;
     private Long sessionIdleTimeoutMillis = null;
     private Long transactionTimeoutMillis = null;
@@ -62,6 +75,10 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     protected Path reasonerDebuggerDir = null;
     protected Long storageDataCacheSize = null;
     protected Long storageIndexCacheSize = null;
+    protected Boolean storageGroupCommit = null;
+    protected Integer storageGroupCommitMaxBatchSize = null;
+    protected Long storageGroupCommitMaxWaitMicros = null;
+    protected Long reasonerAnswerCacheSize = null;
 
     abstract SELF getThis();
 
@@ -103,6 +120,39 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean batchInference() {
+        if (batchInference != null) return batchInference;
+        else if (parent != null) return parent.batchInference();
+        else return DEFAULT_BATCH_INFERENCE;
+    }
+
+    public SELF batchInference(boolean batchInference) {
+        this.batchInference = batchInference;
+        return getThis();
+    }
+
+    public boolean bulkLoad() {
+        if (bulkLoad != null) return bulkLoad;
+        else if (parent != null) return parent.bulkLoad();
+        else return DEFAULT_BULK_LOAD;
+    }
+
+    public SELF bulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+        return getThis();
+    }
+
+    public boolean approximateMedian() {
+        if (approximateMedian != null) return approximateMedian;
+        else if (parent != null) return parent.approximateMedian();
+        else return DEFAULT_APPROXIMATE_MEDIAN;
+    }
+
+    public SELF approximateMedian(boolean approximateMedian) {
+        this.approximateMedian = approximateMedian;
+        return getThis();
+    }
+
     public int prefetchSize() {
         if (prefetchSize != null) return prefetchSize;
         else if (parent != null) return parent.prefetchSize();
@@ -125,6 +175,22 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * @return the configured traversal parallelisation, which is empty when the server's parallelisation factor
+     * should be used
+     */
+    public Optional<Integer> parallelisation() {
+        if (parallelisation != null) return Optional.of(parallelisation);
+        else if (parent != null) return parent.parallelisation();
+        else return Optional.empty();
+    }
+
+    public SELF parallelisation(int parallelisation) {
+        if (parallelisation <= 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+        this.parallelisation = parallelisation;
+        return getThis();
+    }
+
     public long sessionIdleTimeoutMillis() {
         if (sessionIdleTimeoutMillis != null) return sessionIdleTimeoutMillis;
         else if (parent != null) return parent.sessionIdleTimeoutMillis();
@@ -199,6 +265,30 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
+    public boolean storageGroupCommit() {
+        if (storageGroupCommit != null) return storageGroupCommit;
+        else if (parent != null) return parent.storageGroupCommit();
+        else return DEFAULT_STORAGE_GROUP_COMMIT;
+    }
+
+    public int storageGroupCommitMaxBatchSize() {
+        if (storageGroupCommitMaxBatchSize != null) return storageGroupCommitMaxBatchSize;
+        else if (parent != null) return parent.storageGroupCommitMaxBatchSize();
+        else return DEFAULT_STORAGE_GROUP_COMMIT_MAX_BATCH_SIZE;
+    }
+
+    public long storageGroupCommitMaxWaitMicros() {
+        if (storageGroupCommitMaxWaitMicros != null) return storageGroupCommitMaxWaitMicros;
+        else if (parent != null) return parent.storageGroupCommitMaxWaitMicros();
+        else return DEFAULT_STORAGE_GROUP_COMMIT_MAX_WAIT_MICROS;
+    }
+
+    public long reasonerAnswerCacheSize() {
+        if (reasonerAnswerCacheSize != null) return reasonerAnswerCacheSize;
+        else if (parent != null) return parent.reasonerAnswerCacheSize();
+        else return DEFAULT_REASONER_ANSWER_CACHE_SIZE;
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
@@ -234,6 +324,29 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.storageIndexCacheSize = size;
             return this;
         }
+
+        public Database storageGroupCommit(boolean groupCommit) {
+            this.storageGroupCommit = groupCommit;
+            return this;
+        }
+
+        public Database storageGroupCommitMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+            this.storageGroupCommitMaxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Database storageGroupCommitMaxWaitMicros(long maxWaitMicros) {
+            if (maxWaitMicros < 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+            this.storageGroupCommitMaxWaitMicros = maxWaitMicros;
+            return this;
+        }
+
+        public Database reasonerAnswerCacheSize(long size) {
+            if (size < 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
+            this.reasonerAnswerCacheSize = size;
+            return this;
+        }
     }
 
     public static class Session extends Options<Database, Session> {
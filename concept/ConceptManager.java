@@ -70,7 +70,7 @@ public final class ConceptManager {
     }
 
     public ConceptMap conceptMap(VertexMap vertexMap) {
-        Map<Retrievable, Concept> map = new HashMap<>();
+        Map<Retrievable, Concept> map = new HashMap<>(vertexMap.size() * 4 / 3 + 1);
         vertexMap.forEach((id, vertex) -> {
             if (vertex.isThing()) map.put(id, ThingImpl.of(vertex.asThing()));
             else if (vertex.isType()) map.put(id, TypeImpl.of(graphMgr, vertex.asType()));
@@ -175,6 +175,17 @@ public final class ConceptManager {
         else return null;
     }
 
+    /**
+     * Get a thing by its IID, including a thing deleted in this transaction, which then reports itself as deleted
+     */
+    public Thing getThingOrDeleted(ByteArray iid) {
+        Thing thing = getThing(iid);
+        if (thing != null) return thing;
+        ThingVertex.Write deleted = graphMgr.data().getDeleted(VertexIID.Thing.of(iid));
+        if (deleted != null) return ThingImpl.of(deleted);
+        else return null;
+    }
+
     public void validateTypes() {
         List<TypeDBException> exceptions = graphMgr.schema().bufferedTypes().parallel()
                 .filter(TypeVertex::isModified)
@@ -47,22 +47,23 @@ import static java.util.Collections.unmodifiableMap;
 
 public class ConceptMap implements Answer {
 
+    private static final Explainables NO_EXPLAINABLES = new Explainables();
+
     private final Map<Retrievable, ? extends Concept> concepts;
     private final Explainables explainables;
-    private final int hash;
+    private int hash;
 
     public ConceptMap() {
         this(new HashMap<>());
     }
 
     public ConceptMap(Map<Retrievable, ? extends Concept> concepts) {
-        this(concepts, new Explainables());
+        this(concepts, NO_EXPLAINABLES);
     }
 
     public ConceptMap(Map<Retrievable, ? extends Concept> concepts, Explainables explainables) {
         this.concepts = concepts;
         this.explainables = explainables;
-        this.hash = Objects.hash(this.concepts, this.explainables);
     }
 
     public FunctionalIterator<Pair<Retrievable, Concept>> iterator() {
@@ -174,6 +175,8 @@ public class ConceptMap implements Answer {
 
     @Override
     public int hashCode() {
+        // computed lazily, since most answers stream straight to the client without ever being hashed
+        if (hash == 0) hash = Objects.hash(concepts, explainables);
         return hash;
     }
 
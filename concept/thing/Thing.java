@@ -57,6 +57,13 @@ public interface Thing extends Concept, Comparable<Thing> {
      */
     boolean isInferred();
 
+    /**
+     * Indicates whether this {@code Thing} was created by a materialised rule, and so is derived rather than base data.
+     *
+     * @return true if this {@code Thing} was created by a materialised rule, else false
+     */
+    boolean isMaterialised();
+
     /**
      * Set an {@code Attribute} to be owned by this {@code Thing}.
      *
@@ -132,6 +139,14 @@ public interface Thing extends Concept, Comparable<Thing> {
      */
     boolean hasNonInferred(Attribute attribute);
 
+    /**
+     * Check whether a Has edge to a given attribute instance was written by a materialised rule
+     *
+     * @param attribute
+     * @return
+     */
+    boolean hasMaterialised(Attribute attribute);
+
     /**
      * Get all {@code RoleType} types this {@code Thing} is playing in a {@code Relation}.
      *
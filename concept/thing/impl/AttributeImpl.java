@@ -80,6 +80,14 @@ public abstract class AttributeImpl<VALUE> extends ThingImpl implements Attribut
         return attributeType;
     }
 
+    /**
+     * An attribute created by a materialised rule becomes base data as soon as any base ownership uses it.
+     */
+    @Override
+    public boolean isMaterialised() {
+        return super.isMaterialised() && getOwners().allMatch(owner -> owner.hasMaterialised(this));
+    }
+
     @Override
     public FunctionalIterator<ThingImpl> getOwners() {
         return readableVertex().ins().edge(HAS).from().map(ThingImpl::of);
@@ -32,6 +32,7 @@ import com.vaticle.typedb.core.concept.type.impl.RoleTypeImpl;
 import com.vaticle.typedb.core.concept.type.impl.TypeImpl;
 import com.vaticle.typedb.core.graph.edge.ThingEdge;
 import com.vaticle.typedb.core.graph.iid.PrefixIID;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 
@@ -106,6 +107,11 @@ public abstract class ThingImpl extends ConceptImpl implements Thing {
         return readableVertex().isInferred();
     }
 
+    @Override
+    public boolean isMaterialised() {
+        return readableVertex().graph().isMaterialised(readableVertex().iid());
+    }
+
     @Override
     public void setHas(Attribute attribute) {
         setHas(attribute, false);
@@ -199,6 +205,11 @@ public abstract class ThingImpl extends ConceptImpl implements Thing {
         return hasEdge != null && !hasEdge.isInferred();
     }
 
+    @Override
+    public boolean hasMaterialised(Attribute attribute) {
+        return readableVertex().graph().isMaterialised(readableVertex().iid(), VertexIID.Attribute.of(attribute.getIID()));
+    }
+
     @Override
     public FunctionalIterator<? extends RoleType> getPlaying() {
         return readableVertex().outs().edge(PLAYING).to().map(ThingVertex::type)
@@ -236,6 +236,12 @@ public interface AttributeType extends ThingType {
 
         Pattern getRegex();
 
+        void setTextIndexed();
+
+        void unsetTextIndexed();
+
+        boolean isTextIndexed();
+
         Attribute.String put(java.lang.String value);
 
         Attribute.String put(java.lang.String value, boolean isInferred);
@@ -41,6 +41,16 @@ public interface ThingType extends Type {
 
     Forwardable<? extends Thing, Order.Asc> getInstancesExplicit();
 
+    /**
+     * Iterate one of a number of disjoint key ranges of the explicit instances of this type, so that the ranges can
+     * be iterated concurrently. Only entity and relation instances are split: attribute instances are keyed by their
+     * values, so they are all returned by the first partition.
+     *
+     * @param partition  the index of the key range to iterate
+     * @param partitions the number of key ranges to split the instances into
+     */
+    Forwardable<? extends Thing, Order.Asc> getInstancesExplicit(int partition, int partitions);
+
     void setAbstract();
 
     void unsetAbstract();
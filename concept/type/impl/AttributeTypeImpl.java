@@ -939,6 +939,25 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             return vertex.regex();
         }
 
+        @Override
+        public void setTextIndexed() {
+            if (vertex.isTextIndexed()) return;
+            vertex.isTextIndexed(true);
+            graphMgr.data().indexText(vertex);
+        }
+
+        @Override
+        public void unsetTextIndexed() {
+            if (!vertex.isTextIndexed()) return;
+            vertex.isTextIndexed(false);
+            graphMgr.data().unindexText(vertex);
+        }
+
+        @Override
+        public boolean isTextIndexed() {
+            return vertex.isTextIndexed();
+        }
+
         @Override
         public Attribute.String put(java.lang.String value) {
             return put(value, false);
@@ -1043,6 +1062,16 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             public void unsetRegex() {
                 throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
             }
+
+            @Override
+            public void setTextIndexed() {
+                throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
+            }
+
+            @Override
+            public void unsetTextIndexed() {
+                throw exception(TypeDBException.of(ROOT_TYPE_MUTATION));
+            }
         }
     }
 
@@ -93,6 +93,11 @@ public class EntityTypeImpl extends ThingTypeImpl implements EntityType {
         return instancesExplicit(EntityImpl::of);
     }
 
+    @Override
+    public Forwardable<EntityImpl, Order.Asc> getInstancesExplicit(int partition, int partitions) {
+        return instancesExplicit(EntityImpl::of, partition, partitions);
+    }
+
     @Override
     public List<TypeDBException> validate() {
         return super.validate();
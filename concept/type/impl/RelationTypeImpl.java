@@ -125,6 +125,11 @@ public class RelationTypeImpl extends ThingTypeImpl implements RelationType {
         return instancesExplicit(RelationImpl::of);
     }
 
+    @Override
+    public Forwardable<RelationImpl, Order.Asc> getInstancesExplicit(int partition, int partitions) {
+        return instancesExplicit(RelationImpl::of, partition, partitions);
+    }
+
     @Override
     public void setRelates(String roleLabel) {
         validateIsNotDeleted();
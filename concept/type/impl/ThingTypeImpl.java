@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.util.StringBuilders;
 import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.thing.impl.AttributeImpl;
 import com.vaticle.typedb.core.concept.thing.impl.EntityImpl;
 import com.vaticle.typedb.core.concept.thing.impl.RelationImpl;
@@ -221,6 +222,19 @@ public abstract class ThingTypeImpl extends TypeImpl implements ThingType {
         return graphMgr.data().getReadable(vertex).mapSorted(thingConstructor, ThingImpl::readableVertex, ASC);
     }
 
+    <THING extends ThingImpl> Forwardable<THING, Order.Asc> instancesExplicit(Function<ThingVertex, THING> thingConstructor,
+                                                                               int partition, int partitions) {
+        return graphMgr.data().getReadable(vertex, partition, partitions)
+                .mapSorted(thingConstructor, ThingImpl::readableVertex, ASC);
+    }
+
+    @Override
+    public Forwardable<? extends Thing, Order.Asc> getInstancesExplicit(int partition, int partitions) {
+        assert partition >= 0 && partition < partitions;
+        if (partition == 0) return getInstancesExplicit();
+        else return emptySorted();
+    }
+
     @Override
     public void setOwns(AttributeType attributeType) {
         validateIsNotDeleted();
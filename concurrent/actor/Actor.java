@@ -19,6 +19,8 @@ package com.vaticle.typedb.core.concurrent.actor;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -56,14 +58,52 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
                 "Attempting to access the Actor, but it is not yet setup. " +
                         "Are you trying to send a message to yourself within the constructor?";
 
+        private static final int MIGRATING = -1;
+
         private ACTOR actor;
         private final ActorExecutorGroup executorService;
-        private final ActorExecutor executor;
+        private final AtomicInteger pendingTasks;
+        private final AtomicBoolean isPinned;
+        private volatile ActorExecutor executor;
 
         private Driver(Function<Driver<ACTOR>, ACTOR> actorFn, ActorExecutorGroup executorService) {
             this.actor = actorFn.apply(this);
             this.executorService = executorService;
             this.executor = executorService.nextExecutor();
+            this.pendingTasks = new AtomicInteger(0);
+            this.isPinned = new AtomicBoolean(false);
+        }
+
+        /**
+         * Submit a task of this actor to its executor. An actor only moves to another executor when none of its
+         * tasks are pending, so that its tasks are never run concurrently or out of order.
+         */
+        private void submit(Runnable runnable, Consumer<Throwable> errorHandler) {
+            acquireExecutor(true).submit(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    pendingTasks.decrementAndGet();
+                }
+            }, errorHandler);
+        }
+
+        private ActorExecutor acquireExecutor(boolean mayMigrate) {
+            while (true) {
+                int pending = pendingTasks.get();
+                if (pending == MIGRATING) {
+                    Thread.onSpinWait();
+                } else if (pending == 0 && mayMigrate) {
+                    if (pendingTasks.compareAndSet(0, MIGRATING)) {
+                        ActorExecutor target = executorService.migrationTarget(executor);
+                        executor = target;
+                        pendingTasks.set(1);
+                        return target;
+                    }
+                } else if (pendingTasks.compareAndSet(pending, pending + 1)) {
+                    return executor;
+                }
+            }
         }
 
         // TODO: do not use this method - any usages should be removed ASAP
@@ -77,7 +117,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
 
         public void execute(Consumer<ACTOR> consumer) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
-            executor.submit(() -> consumer.accept(actor), actor::exception);
+            submit(() -> consumer.accept(actor), actor::exception);
         }
 
         public CompletableFuture<Void> complete(Consumer<ACTOR> consumer) {
@@ -90,7 +130,7 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
         public <ANSWER> CompletableFuture<ANSWER> compute(Function<ACTOR, ANSWER> function) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
             CompletableFuture<ANSWER> future = new CompletableFuture<>();
-            executor.submit(
+            submit(
                     () -> future.complete(function.apply(actor)),
                     e -> {
                         actor.exception(e);
@@ -102,6 +142,8 @@ public abstract class Actor<ACTOR extends Actor<ACTOR>> {
 
         public ActorExecutor.FutureTask schedule(Consumer<ACTOR> consumer, long scheduleMillis) {
             assert actor != null : ERROR_ACTOR_NOT_SETUP;
+            // scheduled tasks are run by the executor they were scheduled on, so the actor holds on to it forever
+            if (isPinned.compareAndSet(false, true)) acquireExecutor(false);
             return executor.schedule(() -> consumer.accept(actor), scheduleMillis, actor::exception);
         }
 
@@ -24,12 +24,16 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -41,26 +45,33 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 public class ActorExecutor {
 
     private static final Logger LOG = LoggerFactory.getLogger(ActorExecutor.class);
+    private static final int MAX_BATCH_SIZE = 64;
 
     private final BlockingQueue<Task> submittedTasks;
     private final ScheduledTaskQueue scheduledTasks;
     private final AtomicBoolean isStopped;
     private final Supplier<Long> clock;
     private final Thread thread;
+    private final AtomicInteger queueDepth;
+    private final AtomicLong completedTasks;
+    private final AtomicLong queueLatencyNanos;
     private volatile boolean active;
 
     public ActorExecutor(ThreadFactory threadFactory, Supplier<Long> clock) {
         this.thread = threadFactory.newThread(this::run);
         this.clock = clock;
-        // TODO: Benchmark and verify that LinkedTransferQueue is actually most performant
         submittedTasks = new LinkedTransferQueue<>();
         scheduledTasks = new ScheduledTaskQueue();
         isStopped = new AtomicBoolean(false);
+        queueDepth = new AtomicInteger(0);
+        completedTasks = new AtomicLong(0);
+        queueLatencyNanos = new AtomicLong(0);
         active = true;
         thread.start();
     }
 
     private void run() {
+        List<Task> batch = new ArrayList<>(MAX_BATCH_SIZE);
         while (active) {
             Task task = scheduledTasks.poll();
             if (task != null) {
@@ -68,7 +79,13 @@ public class ActorExecutor {
             } else {
                 try {
                     task = submittedTasks.poll(scheduledTasks.timeToNext(), MILLISECONDS);
-                    if (task != null) task.run();
+                    if (task != null) {
+                        // drain the tasks that are already queued in one go, rather than contending on the queue per task
+                        batch.add(task);
+                        submittedTasks.drainTo(batch, MAX_BATCH_SIZE - 1);
+                        batch.forEach(this::runSubmitted);
+                        batch.clear();
+                    }
                 } catch (InterruptedException e) {
                     throw TypeDBException.of(UNEXPECTED_INTERRUPTION);
                 }
@@ -76,9 +93,38 @@ public class ActorExecutor {
         }
     }
 
+    private void runSubmitted(Task task) {
+        queueDepth.decrementAndGet();
+        queueLatencyNanos.addAndGet(System.nanoTime() - task.submittedNanos);
+        task.run();
+        completedTasks.incrementAndGet();
+    }
+
     public void submit(Runnable runnable, Consumer<Throwable> errorHandler) {
         assert active;
-        submittedTasks.offer(new Task(runnable, errorHandler));
+        Task task = new Task(runnable, errorHandler);
+        task.submittedNanos = System.nanoTime();
+        queueDepth.incrementAndGet();
+        submittedTasks.offer(task);
+    }
+
+    /**
+     * @return the number of submitted tasks that are waiting to be run
+     */
+    public int queueDepth() {
+        return queueDepth.get();
+    }
+
+    public long completedTasks() {
+        return completedTasks.get();
+    }
+
+    /**
+     * @return the mean time that submitted tasks waited in the queue before being run
+     */
+    public double meanQueueLatencyMicros() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : (double) queueLatencyNanos.get() / completed / 1_000;
     }
 
     public FutureTask schedule(Runnable runnable, long scheduleMillis, Consumer<Throwable> errorHandler) {
@@ -107,6 +153,7 @@ public class ActorExecutor {
         private final Long scheduleMillis;
         private boolean isCancelled;
         private boolean isRan;
+        private long submittedNanos;
 
         private Task(Runnable runnable, Consumer<Throwable> errorHandler) {
             this(runnable, null, errorHandler);
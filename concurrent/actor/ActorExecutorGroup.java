@@ -17,14 +17,21 @@
 
 package com.vaticle.typedb.core.concurrent.actor;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import javax.annotation.concurrent.ThreadSafe;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 @ThreadSafe
 public class ActorExecutorGroup {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ActorExecutorGroup.class);
+    private static final int MIGRATION_MIN_QUEUE_DEPTH_DIFFERENCE = 16;
+
     private final ActorExecutor[] executors;
     private final AtomicInteger nextIndex;
 
@@ -42,6 +49,19 @@ public class ActorExecutorGroup {
         return executors[nextIndexAndIncrement()];
     }
 
+    /**
+     * Compare the queue of an executor with that of another executor chosen at random, so that an idle actor
+     * can move off an executor whose queue is much deeper than the rest of the group.
+     *
+     * @return the executor an idle actor of the given executor should be moved to, or the given executor itself
+     */
+    ActorExecutor migrationTarget(ActorExecutor executor) {
+        if (executors.length == 1) return executor;
+        ActorExecutor candidate = executors[ThreadLocalRandom.current().nextInt(executors.length)];
+        if (candidate.queueDepth() + MIGRATION_MIN_QUEUE_DEPTH_DIFFERENCE < executor.queueDepth()) return candidate;
+        else return executor;
+    }
+
     public void await() throws InterruptedException {
         for (int i = 0; i < executors.length; i++) {
             executors[i].await();
@@ -51,6 +71,10 @@ public class ActorExecutorGroup {
     public void stop() throws InterruptedException {
         for (int i = 0; i < executors.length; i++) {
             executors[i].stop();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Actor executor {} ran {} tasks (mean queue latency {}us)",
+                        i, executors[i].completedTasks(), executors[i].meanQueueLatencyMicros());
+            }
         }
     }
 
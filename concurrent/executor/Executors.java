@@ -59,9 +59,9 @@ public class Executors {
 
     private Executors(int parallelisation) {
         if (parallelisation <= 0) throw TypeDBException.of(ILLEGAL_ARGUMENT);
-        serviceExecutorService = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_SERVICE_THREAD_NAME));
-        asyncExecutorService1 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_1_NAME));
-        asyncExecutorService2 = new ParallelThreadPoolExecutor(parallelisation, threadFactory(TYPEDB_CORE_ASYNC_THREAD_2_NAME));
+        serviceExecutorService = new ParallelThreadPoolExecutor(parallelisation, TYPEDB_CORE_SERVICE_THREAD_NAME);
+        asyncExecutorService1 = new ParallelThreadPoolExecutor(parallelisation, TYPEDB_CORE_ASYNC_THREAD_1_NAME);
+        asyncExecutorService2 = new ParallelThreadPoolExecutor(parallelisation, TYPEDB_CORE_ASYNC_THREAD_2_NAME);
         actorExecutorService = new ActorExecutorGroup(parallelisation, threadFactory(TYPEDB_CORE_ACTOR_THREAD_NAME));
         networkExecutorService = new NioEventLoopGroup(parallelisation, threadFactory(TYPEDB_CORE_NETWORK_THREAD_NAME));
         scheduledThreadPool = new ScheduledThreadPoolExecutor(TYPEDB_CORE_SCHEDULED_THREAD_SIZE,
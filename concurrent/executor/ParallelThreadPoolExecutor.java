@@ -18,43 +18,52 @@
 
 package com.vaticle.typedb.core.concurrent.executor;
 
-import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * A fixed size pool of named threads, each with its own deque of tasks. Tasks submitted from within the pool are
+ * pushed onto the deque of the submitting thread, and idle threads steal tasks from the deques of busy threads,
+ * so that a task queued behind a long-running task is executed as soon as any thread of the pool becomes idle.
+ * Each thread executes its own tasks in the order they were submitted.
+ */
 public class ParallelThreadPoolExecutor implements Executor {
 
     private static final Logger LOG = LoggerFactory.getLogger(ParallelThreadPoolExecutor.class);
 
-    private final ThreadPoolExecutor[] executors;
+    private final ForkJoinPool pool;
 
-    public ParallelThreadPoolExecutor(int executors, NamedThreadFactory threadFactory) {
-        this.executors = new ThreadPoolExecutor[executors];
-        for (int i = 0; i < executors; i++) {
-            this.executors[i] = new ThreadPoolExecutor(1, 1, 0, MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
-        }
-    }
-
-    private ThreadPoolExecutor next() {
-        int next = 0, smallest = Integer.MAX_VALUE;
-        for (int i = 0; i < executors.length; i++) {
-            if (executors[i].getQueue().size() < smallest) {
-                smallest = executors[i].getQueue().size();
-                next = i;
-            }
-        }
-        return executors[next];
+    public ParallelThreadPoolExecutor(int executors, String threadNamePrefix) {
+        this.pool = new ForkJoinPool(executors, new WorkerFactory(threadNamePrefix), null, true);
     }
 
     @Override
     public void execute(@Nonnull Runnable runnable) {
-        next().execute(runnable);
+        pool.execute(runnable);
+    }
+
+    private static class WorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        private final String threadNamePrefix;
+        private final AtomicInteger threadIndex;
+
+        private WorkerFactory(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+            this.threadIndex = new AtomicInteger(0);
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadNamePrefix + "::" + threadIndex.getAndIncrement());
+            if (LOG.isTraceEnabled()) LOG.trace("Created worker thread {}", thread.getName());
+            return thread;
+        }
     }
 }
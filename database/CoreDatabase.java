@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.Iterators;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concurrent.executor.Executors;
 import com.vaticle.typedb.core.graph.TypeGraph;
@@ -39,11 +40,15 @@ import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.logic.LogicCache;
+import com.vaticle.typedb.core.logic.Rule;
+import com.vaticle.typedb.core.query.PreparedQueries;
+import com.vaticle.typedb.core.reasoner.AnswerCache;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,9 +57,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
@@ -72,6 +80,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Stream;
 
@@ -79,9 +88,11 @@ import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLongs;
+import static com.vaticle.typedb.core.common.collection.Bytes.INTEGER_SIZE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.DATABASE_CLOSED;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.INCOMPATIBLE_ENCODING;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.ROCKS_LOGGER_SHUTDOWN_TIMEOUT;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.MATERIALISATION_CORRECTOR_SHUTDOWN_TIMEOUT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Database.STATISTICS_CORRECTOR_SHUTDOWN_TIMEOUT;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.DIRTY_INITIALISATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
@@ -91,6 +102,7 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.DATA;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Session.Type.SCHEMA;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
@@ -98,6 +110,7 @@ import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Ty
 import static com.vaticle.typedb.core.concurrent.executor.Executors.serial;
 import static com.vaticle.typedb.core.graph.common.Encoding.ENCODING_VERSION;
 import static com.vaticle.typedb.core.graph.common.Encoding.System.ENCODING_VERSION_KEY;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -106,6 +119,7 @@ public class CoreDatabase implements TypeDB.Database {
 
     private static final Logger LOG = LoggerFactory.getLogger(CoreDatabase.class);
     private static final int ROCKS_LOG_PERIOD = 300;
+    private static final String BULK_LOAD_DIRECTORY = "bulk-load";
 
     private final CoreDatabaseManager databaseMgr;
     private final Factory.Session sessionFactory;
@@ -120,12 +134,16 @@ public class CoreDatabase implements TypeDB.Database {
     protected final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final IsolationManager isolationMgr;
     private final StatisticsCorrector statisticsCorrector;
+    private final MaterialisationCorrector materialisationCorrector;
+    private final AnswerCache answerCache;
     protected OptimisticTransactionDB rocksSchema;
     protected OptimisticTransactionDB rocksData;
     protected CorePartitionManager.Schema rocksSchemaPartitionMgr;
     protected CorePartitionManager.Data rocksDataPartitionMgr;
     protected CoreSession.Data statisticsBackgroundCounterSession;
     protected ScheduledExecutorService scheduledPropertiesLogger;
+    protected RocksGroupCommitter rocksDataGroupCommitter;
+    protected RocksBulkLoader rocksDataBulkLoader;
     private Cache cache;
 
     protected CoreDatabase(CoreDatabaseManager databaseMgr, String name, Factory.Session sessionFactory) {
@@ -136,6 +154,8 @@ public class CoreDatabase implements TypeDB.Database {
         dataKeyGenerator = new KeyGenerator.Data.Persisted();
         isolationMgr = new IsolationManager();
         statisticsCorrector = createStatisticsCorrector();
+        materialisationCorrector = new MaterialisationCorrector();
+        answerCache = new AnswerCache(options().reasonerAnswerCacheSize());
         sessions = new ConcurrentHashMap<>();
         rocksConfiguration = new RocksConfiguration(options().storageDataCacheSize(),
                 options().storageIndexCacheSize(), LOG.isDebugEnabled(), ROCKS_LOG_PERIOD);
@@ -180,6 +200,7 @@ public class CoreDatabase implements TypeDB.Database {
             }
         }
         statisticsCorrector.initialise();
+        materialisationCorrector.initialise();
     }
 
     protected void openSchema() {
@@ -220,6 +241,8 @@ public class CoreDatabase implements TypeDB.Database {
             throw TypeDBException.of(e);
         }
         mayInitRocksDataLogger();
+        mayInitRocksDataGroupCommitter();
+        rocksDataBulkLoader = new RocksBulkLoader(rocksData, rocksDataPartitionMgr, directory().resolve(BULK_LOAD_DIRECTORY));
     }
 
     protected CorePartitionManager.Data createPartitionMgrData(List<ColumnFamilyDescriptor> dataDescriptors,
@@ -239,6 +262,7 @@ public class CoreDatabase implements TypeDB.Database {
             }
         }
         statisticsCorrector.initialiseAndCleanUp();
+        materialisationCorrector.initialiseAndCorrect();
     }
 
     protected void openData() {
@@ -257,6 +281,8 @@ public class CoreDatabase implements TypeDB.Database {
             throw TypeDBException.of(e);
         }
         mayInitRocksDataLogger();
+        mayInitRocksDataGroupCommitter();
+        rocksDataBulkLoader = new RocksBulkLoader(rocksData, rocksDataPartitionMgr, directory().resolve(BULK_LOAD_DIRECTORY));
     }
 
     private void mayInitRocksDataLogger() {
@@ -271,6 +297,17 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    private void mayInitRocksDataGroupCommitter() {
+        if (options().storageGroupCommit()) {
+            rocksDataGroupCommitter = new RocksGroupCommitter(
+                    rocksData, rocksDataPartitionMgr, options().storageGroupCommitMaxBatchSize(),
+                    options().storageGroupCommitMaxWaitMicros()
+            );
+        } else {
+            rocksDataGroupCommitter = null;
+        }
+    }
+
     protected void initialiseEncodingVersion() {
         try {
             rocksSchema.put(
@@ -344,6 +381,11 @@ public class CoreDatabase implements TypeDB.Database {
             cache.invalidate();
             cache = null;
         }
+        answerCache.schemaModified();
+    }
+
+    AnswerCache answerCache() {
+        return answerCache;
     }
 
     protected synchronized void cacheClose() {
@@ -366,6 +408,14 @@ public class CoreDatabase implements TypeDB.Database {
         return schemaKeyGenerator;
     }
 
+    Optional<RocksGroupCommitter> dataGroupCommitter() {
+        return Optional.ofNullable(rocksDataGroupCommitter);
+    }
+
+    RocksBulkLoader dataBulkLoader() {
+        return rocksDataBulkLoader;
+    }
+
     KeyGenerator.Data dataKeyGenerator() {
         return dataKeyGenerator;
     }
@@ -378,6 +428,10 @@ public class CoreDatabase implements TypeDB.Database {
         return statisticsCorrector;
     }
 
+    protected MaterialisationCorrector materialisationCorrector() {
+        return materialisationCorrector;
+    }
+
     /**
      * Get the lock that guarantees that the schema is not modified at the same
      * time as data being written to the database. When a schema session is
@@ -460,8 +514,11 @@ public class CoreDatabase implements TypeDB.Database {
 
     protected void closeResources() {
         statisticsCorrector.close();
+        materialisationCorrector.close();
         sessions.values().forEach(p -> p.first().close());
         cacheClose();
+        if (rocksDataGroupCommitter != null) rocksDataGroupCommitter.close();
+        if (rocksDataBulkLoader != null) rocksDataBulkLoader.close();
         rocksDataPartitionMgr.close();
         rocksData.close();
         rocksSchemaPartitionMgr.close();
@@ -479,10 +536,26 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Detects write conflicts between overlapping data transactions.
+     *
+     * Every key that a committing transaction modifies, deletes or exclusively creates is recorded in a conflict
+     * index, which maps each key to the transactions that wrote it and have not yet been cleaned up. A transaction
+     * is validated by looking up only its own write set in the index, rather than intersecting its write set with the
+     * write set of every overlapping transaction. Validation and indexing are made atomic by locking the stripes
+     * that the keys of the transaction hash to, so transactions that write to disjoint stripes commit concurrently.
+     */
     public static class IsolationManager {
 
+        private static final int CONFLICT_INDEX_STRIPES = 256;
+
         private final ConcurrentMap<CoreTransaction.Data, CommitState> commitStates;
         private final ConcurrentNavigableMap<Long, Set<CoreTransaction.Data>> commitTimeline;
+        private final ConcurrentMap<ByteArray, Set<CoreTransaction.Data>> modifiedIndex;
+        private final ConcurrentMap<ByteArray, Set<CoreTransaction.Data>> deletedIndex;
+        private final ConcurrentMap<ByteArray, Set<CoreTransaction.Data>> exclusiveIndex;
+        private final ConcurrentMap<CoreTransaction.Data, WriteSet> indexedWrites;
+        private final ReentrantLock[] stripes;
         private final AtomicBoolean cleanupRunning;
 
         private enum CommitState {UNCOMMITTED, COMMITTING, COMMITTED}
@@ -491,6 +564,12 @@ public class CoreDatabase implements TypeDB.Database {
             this.cleanupRunning = new AtomicBoolean(false);
             this.commitStates = new ConcurrentHashMap<>();
             this.commitTimeline = new ConcurrentSkipListMap<>();
+            this.modifiedIndex = new ConcurrentHashMap<>();
+            this.deletedIndex = new ConcurrentHashMap<>();
+            this.exclusiveIndex = new ConcurrentHashMap<>();
+            this.indexedWrites = new ConcurrentHashMap<>();
+            this.stripes = new ReentrantLock[CONFLICT_INDEX_STRIPES];
+            for (int i = 0; i < CONFLICT_INDEX_STRIPES; i++) stripes[i] = new ReentrantLock();
         }
 
         void opened(CoreTransaction.Data transaction) {
@@ -498,34 +577,75 @@ public class CoreDatabase implements TypeDB.Database {
         }
 
         public Set<CoreTransaction.Data> validateOverlappingAndStartCommit(CoreTransaction.Data txn) {
-            Set<CoreTransaction.Data> transactions;
-            synchronized (this) {
-                transactions = commitMayConflict(txn);
-                transactions.forEach(other -> validateIsolation(txn, other));
+            if (!txn.dataStorage.hasTrackedWrite()) {
+                commitStates.put(txn, CommitState.COMMITTING);
+                return set();
+            }
+            WriteSet writes = new WriteSet(txn.dataStorage);
+            int[] lockedStripes = writes.stripes();
+            for (int stripe : lockedStripes) stripes[stripe].lock();
+            try {
+                validateIsolation(txn, writes);
+                index(txn, writes);
                 commitStates.put(txn, CommitState.COMMITTING);
+            } finally {
+                for (int i = lockedStripes.length - 1; i >= 0; i--) stripes[lockedStripes[i]].unlock();
             }
-            return transactions;
+            return commitMayConflict(txn);
         }
 
         private Set<CoreTransaction.Data> commitMayConflict(CoreTransaction.Data txn) {
-            if (!txn.dataStorage.hasTrackedWrite()) return set();
-            return iterate(commitStates.entrySet())
-                    .filter(e -> e.getValue() == CommitState.COMMITTING ||
-                            (e.getValue() == CommitState.COMMITTED && e.getKey().snapshotEnd().get() > txn.snapshotStart()))
-                    .map(Map.Entry::getKey)
-                    .toSet();
+            return iterate(commitStates.keySet()).filter(other -> other != txn && mayConflict(txn, other)).toSet();
+        }
+
+        private boolean mayConflict(CoreTransaction.Data txn, CoreTransaction.Data other) {
+            CommitState state = commitStates.get(other);
+            return state == CommitState.COMMITTING ||
+                    (state == CommitState.COMMITTED && other.snapshotEnd().get() > txn.snapshotStart());
         }
 
-        private void validateIsolation(CoreTransaction.Data txn, CoreTransaction.Data mayConflict) {
-            if (txn.dataStorage.modifyDeleteConflict(mayConflict.dataStorage)) {
+        private void validateIsolation(CoreTransaction.Data txn, WriteSet writes) {
+            if (anyMayConflict(txn, writes.modified, deletedIndex)) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_MODIFY_DELETE_VIOLATION);
-            } else if (txn.dataStorage.deleteModifyConflict(mayConflict.dataStorage)) {
+            } else if (anyMayConflict(txn, writes.deleted, modifiedIndex)) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_DELETE_MODIFY_VIOLATION);
-            } else if (txn.dataStorage.exclusiveCreateConflict(mayConflict.dataStorage)) {
+            } else if (anyMayConflict(txn, writes.exclusive, exclusiveIndex)) {
                 throw TypeDBException.of(TRANSACTION_ISOLATION_EXCLUSIVE_CREATE_VIOLATION);
             }
         }
 
+        private boolean anyMayConflict(CoreTransaction.Data txn, List<ByteArray> keys,
+                                       ConcurrentMap<ByteArray, Set<CoreTransaction.Data>> conflictIndex) {
+            for (ByteArray key : keys) {
+                Set<CoreTransaction.Data> writers = conflictIndex.get(key);
+                if (writers != null && iterate(writers).anyMatch(other -> mayConflict(txn, other))) return true;
+            }
+            return false;
+        }
+
+        private void index(CoreTransaction.Data txn, WriteSet writes) {
+            indexedWrites.put(txn, writes);
+            writes.modified.forEach(key -> modifiedIndex.computeIfAbsent(key, k -> new ConcurrentSet<>()).add(txn));
+            writes.deleted.forEach(key -> deletedIndex.computeIfAbsent(key, k -> new ConcurrentSet<>()).add(txn));
+            writes.exclusive.forEach(key -> exclusiveIndex.computeIfAbsent(key, k -> new ConcurrentSet<>()).add(txn));
+        }
+
+        private void deindex(CoreTransaction.Data txn) {
+            WriteSet writes = indexedWrites.remove(txn);
+            if (writes == null) return;
+            writes.modified.forEach(key -> deindex(modifiedIndex, key, txn));
+            writes.deleted.forEach(key -> deindex(deletedIndex, key, txn));
+            writes.exclusive.forEach(key -> deindex(exclusiveIndex, key, txn));
+        }
+
+        private void deindex(ConcurrentMap<ByteArray, Set<CoreTransaction.Data>> conflictIndex, ByteArray key,
+                             CoreTransaction.Data txn) {
+            conflictIndex.computeIfPresent(key, (k, writers) -> {
+                writers.remove(txn);
+                return writers.isEmpty() ? null : writers;
+            });
+        }
+
         public void committed(CoreTransaction.Data txn) {
             assert commitStates.get(txn) == CommitState.COMMITTING && txn.snapshotEnd().isPresent();
             commitStates.put(txn, CommitState.COMMITTED);
@@ -537,7 +657,10 @@ public class CoreDatabase implements TypeDB.Database {
         }
 
         void closed(CoreTransaction.Data txn) {
-            if (commitStates.get(txn) != CommitState.COMMITTED) commitStates.remove(txn);
+            if (commitStates.get(txn) != CommitState.COMMITTED) {
+                deindex(txn);
+                commitStates.remove(txn);
+            }
             cleanupCommitted();
         }
 
@@ -549,6 +672,7 @@ public class CoreDatabase implements TypeDB.Database {
                 else deletable = commitTimeline.headMap(oldestUncommittedSnapshot.get());
                 iterate(deletable.values()).flatMap(Iterators::iterate)
                         .forEachRemaining(txn -> {
+                            deindex(txn);
                             txn.delete();
                             commitStates.remove(txn);
                         });
@@ -570,6 +694,31 @@ public class CoreDatabase implements TypeDB.Database {
         long committedEventCount() {
             return iterate(commitStates.values()).filter(s -> s == CommitState.COMMITTED).count();
         }
+
+        /**
+         * A copy of the tracked writes of a transaction, retained while the transaction is in the conflict index,
+         * as the storage of the transaction is cleared when it is deleted.
+         */
+        private static class WriteSet {
+
+            private final List<ByteArray> modified;
+            private final List<ByteArray> deleted;
+            private final List<ByteArray> exclusive;
+
+            private WriteSet(RocksStorage.Data storage) {
+                this.modified = new ArrayList<>(storage.modifiedKeys());
+                this.deleted = new ArrayList<>(storage.deletedKeys());
+                this.exclusive = new ArrayList<>(storage.exclusiveBytes());
+            }
+
+            private int[] stripes() {
+                BitSet stripes = new BitSet(CONFLICT_INDEX_STRIPES);
+                link(iterate(modified), iterate(deleted), iterate(exclusive)).forEachRemaining(
+                        key -> stripes.set(Math.floorMod(key.hashCode(), CONFLICT_INDEX_STRIPES))
+                );
+                return stripes.stream().toArray();
+            }
+        }
     }
 
     public class StatisticsCorrector {
@@ -813,10 +962,107 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Repairs the conclusions of materialised rules which may be out of date, because the commits that maintained
+     * them overlapped with other commits writing the types they read, and so did not see each other's writes. This
+     * includes commits whose snapshot predates the rule being materialised, which do not maintain it at all.
+     */
+    public class MaterialisationCorrector {
+
+        protected final ConcurrentSet<CompletableFuture<Void>> corrections;
+        private final ConcurrentSet<Long> staleTxnIDs;
+        protected final AtomicBoolean correctionRequired;
+        protected CoreSession.Data session;
+
+        protected MaterialisationCorrector() {
+            corrections = new ConcurrentSet<>();
+            staleTxnIDs = new ConcurrentSet<>();
+            correctionRequired = new AtomicBoolean(false);
+        }
+
+        protected void initialise() {
+            session = createAndOpenSession(DATA, new Options.Session()).asData();
+        }
+
+        public void initialiseAndCorrect() {
+            initialise();
+            correct();
+        }
+
+        public void recordCorrectionMetadata(CoreTransaction.Data txn, Set<CoreTransaction.Data> overlappingTxn) {
+            Set<Rule> maintained = txn.logicMgr.materialisationsMaintained();
+            Set<Rule> stale = new HashSet<>();
+            for (CoreTransaction.Data overlapping : overlappingTxn) {
+                Set<Rule> overlappingMaintained = overlapping.logicMgr.materialisationsMaintained();
+                iterate(maintained).filter(rule -> overlappingMaintained.contains(rule) ||
+                        writesAnyRead(overlapping, txn.logicMgr.materialisationReads(rule))).forEachRemaining(stale::add);
+                iterate(overlappingMaintained).filter(rule -> writesAnyRead(txn, txn.logicMgr.materialisationReads(rule)))
+                        .forEachRemaining(stale::add);
+            }
+            if (stale.isEmpty()) return;
+            stale.forEach(txn.logicMgr::materialisationStale);
+            staleTxnIDs.add(txn.id());
+        }
+
+        private boolean writesAnyRead(CoreTransaction.Data txn, Set<Label> reads) {
+            return !Collections.disjoint(txn.typesModified(), reads);
+        }
+
+        public void committed(CoreTransaction.Data transaction) {
+            if (staleTxnIDs.remove(transaction.id()) && correctionRequired.compareAndSet(false, true)) {
+                submitCorrection();
+            }
+        }
+
+        void deleted(CoreTransaction.Data transaction) {
+            staleTxnIDs.remove(transaction.id());
+        }
+
+        CompletableFuture<Void> submitCorrection() {
+            CompletableFuture<Void> correction = CompletableFuture.runAsync(() -> {
+                if (correctionRequired.compareAndSet(true, false)) this.correct();
+            }, serial());
+            corrections.add(correction);
+            correction.thenRun(() -> corrections.remove(correction));
+            return correction;
+        }
+
+        protected void correct() {
+            try (CoreTransaction.Data txn = session.transaction(WRITE)) {
+                if (!txn.graphMgr.data().materialisationsPending().hasNext()) return;
+                txn.logicMgr.correctMaterialisations();
+                txn.commit();
+            }
+        }
+
+        protected void close() {
+            try {
+                correctionRequired.set(false);
+                for (CompletableFuture<Void> correction : corrections) {
+                    correction.get(Executors.SHUTDOWN_TIMEOUT_MS, MILLISECONDS);
+                }
+                corrections.clear();
+            } catch (InterruptedException | TimeoutException e) {
+                LOG.warn(MATERIALISATION_CORRECTOR_SHUTDOWN_TIMEOUT.message());
+                throw TypeDBException.of(e);
+            } catch (ExecutionException e) {
+                if (!((e.getCause() instanceof TypeDBException) &&
+                        ((TypeDBException) e.getCause()).code().map(code ->
+                                code.equals(RESOURCE_CLOSED.code()) || code.equals(DATABASE_CLOSED.code())
+                        ).orElse(false))) {
+                    throw TypeDBException.of(e);
+                }
+            } finally {
+                session.close();
+            }
+        }
+    }
+
     static class Cache {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
+        private final PreparedQueries preparedQueries;
         private final TypeGraph typeGraph;
         private final RocksStorage schemaStorage;
         private long borrowerCount;
@@ -825,8 +1071,9 @@ public class CoreDatabase implements TypeDB.Database {
         private Cache(CoreDatabase database) {
             schemaStorage = new RocksStorage.Cache(database.rocksSchema, database.rocksSchemaPartitionMgr);
             typeGraph = new TypeGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
+            traversalCache = new TraversalCache(new TraversalPlanStore(database));
             logicCache = new LogicCache();
+            preparedQueries = new PreparedQueries();
             borrowerCount = 0L;
             invalidated = false;
         }
@@ -839,6 +1086,10 @@ public class CoreDatabase implements TypeDB.Database {
             return logicCache;
         }
 
+        public PreparedQueries queries() {
+            return preparedQueries;
+        }
+
         public TypeGraph typeGraph() {
             return typeGraph;
         }
@@ -868,6 +1119,106 @@ public class CoreDatabase implements TypeDB.Database {
         }
     }
 
+    /**
+     * Stores the vertex orders of optimal traversal plans in the schema storage, outside of any transaction,
+     * so that they survive schema cache invalidations and restarts of the database. Each plan is encoded as a
+     * sequence of vertex identifiers, each prefixed by its length and followed by its order.
+     *
+     * At most {@code MAX_STORED_PLANS} plans are stored: once the store is full, the plan that was stored least
+     * recently is deleted to make room for a new one.
+     */
+    static class TraversalPlanStore implements TraversalCache.PlanStore {
+
+        static final int MAX_STORED_PLANS = 10_000;
+
+        private final CoreDatabase database;
+        private LinkedHashSet<String> storedKeys;
+
+        TraversalPlanStore(CoreDatabase database) {
+            this.database = database;
+            this.storedKeys = null;
+        }
+
+        private byte[] key(String structureKey) {
+            return ByteArray.join(
+                    Encoding.Prefix.METADATA_TRAVERSAL_PLAN.bytes(),
+                    ByteArray.encodeString(structureKey, STRING_ENCODING)
+            ).getBytes();
+        }
+
+        private ColumnFamilyHandle handle() {
+            return database.rocksSchemaPartitionMgr.get(Storage.Key.Partition.DEFAULT);
+        }
+
+        @Override
+        public Map<String, Integer> get(String structureKey) {
+            if (!database.isOpen.get()) return null;
+            try {
+                byte[] value = database.rocksSchema.get(handle(), key(structureKey));
+                return value == null ? null : decode(ByteArray.of(value));
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public synchronized void put(String structureKey, Map<String, Integer> vertexOrder) {
+            if (!database.isOpen.get()) return;
+            try {
+                LinkedHashSet<String> storedKeys = storedKeys();
+                if (!storedKeys.remove(structureKey) && storedKeys.size() >= MAX_STORED_PLANS) {
+                    String evicted = storedKeys.iterator().next();
+                    storedKeys.remove(evicted);
+                    database.rocksSchema.delete(handle(), key(evicted));
+                }
+                database.rocksSchema.put(handle(), key(structureKey), encode(vertexOrder).getBytes());
+                storedKeys.add(structureKey);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        private LinkedHashSet<String> storedKeys() {
+            if (storedKeys == null) {
+                storedKeys = new LinkedHashSet<>();
+                ByteArray prefix = Encoding.Prefix.METADATA_TRAVERSAL_PLAN.bytes();
+                try (RocksIterator iterator = database.rocksSchema.newIterator(handle())) {
+                    for (iterator.seek(prefix.getBytes()); iterator.isValid(); iterator.next()) {
+                        ByteArray key = ByteArray.of(iterator.key());
+                        if (!key.hasPrefix(prefix)) break;
+                        storedKeys.add(key.view(prefix.length()).decodeString(STRING_ENCODING));
+                    }
+                }
+            }
+            return storedKeys;
+        }
+
+        private static ByteArray encode(Map<String, Integer> vertexOrder) {
+            List<ByteArray> entries = new ArrayList<>();
+            vertexOrder.forEach((identifier, order) -> {
+                ByteArray identifierBytes = ByteArray.encodeString(identifier, STRING_ENCODING);
+                entries.add(ByteArray.encodeInt(identifierBytes.length()));
+                entries.add(identifierBytes);
+                entries.add(ByteArray.encodeInt(order));
+            });
+            return ByteArray.join(entries.toArray(new ByteArray[0]));
+        }
+
+        private static Map<String, Integer> decode(ByteArray bytes) {
+            Map<String, Integer> vertexOrder = new HashMap<>();
+            int index = 0;
+            while (index < bytes.length()) {
+                int length = bytes.view(index, index + INTEGER_SIZE).decodeInt();
+                index += INTEGER_SIZE;
+                String identifier = bytes.view(index, index + length).decodeString(STRING_ENCODING);
+                index += length;
+                vertexOrder.put(identifier, bytes.view(index, index + INTEGER_SIZE).decodeInt());
+                index += INTEGER_SIZE;
+            }
+            return vertexOrder;
+        }
+    }
+
     private static class SchemaExporter {
 
     }
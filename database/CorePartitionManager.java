@@ -38,6 +38,7 @@ import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.DEFAULT
 import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.FIXED_START_EDGE;
 import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.METADATA;
 import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.OPTIMISATION_EDGE;
+import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.TEXT_INDEX;
 import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.VARIABLE_START_EDGE;
 
 public abstract class CorePartitionManager {
@@ -102,12 +103,14 @@ public abstract class CorePartitionManager {
         private static final int FIXED_START_EDGE_HANDLE_INDEX = 2;
         private static final int OPTIMISATION_EDGE_HANDLE_INDEX = 3;
         private static final int METADATA_HANDLE_INDEX = 4;
+        private static final int TEXT_INDEX_HANDLE_INDEX = 5;
 
         protected final ColumnFamilyHandle defaultHandle;
         protected final ColumnFamilyHandle variableStartEdgeHandle;
         protected final ColumnFamilyHandle fixedStartEdgeHandle;
         protected final ColumnFamilyHandle optimisationEdgeHandle;
         protected final ColumnFamilyHandle metadataHandle;
+        protected final ColumnFamilyHandle textIndexHandle;
 
         protected Data(List<ColumnFamilyDescriptor> descriptors, List<ColumnFamilyHandle> handles) {
             super(descriptors, handles);
@@ -116,10 +119,11 @@ public abstract class CorePartitionManager {
             fixedStartEdgeHandle = handles.get(FIXED_START_EDGE_HANDLE_INDEX);
             optimisationEdgeHandle = handles.get(OPTIMISATION_EDGE_HANDLE_INDEX);
             metadataHandle = handles.get(METADATA_HANDLE_INDEX);
+            textIndexHandle = handles.get(TEXT_INDEX_HANDLE_INDEX);
         }
 
         static List<ColumnFamilyDescriptor> descriptors(RocksConfiguration.Data configuration) {
-            ColumnFamilyDescriptor[] descriptors = new ColumnFamilyDescriptor[5];
+            ColumnFamilyDescriptor[] descriptors = new ColumnFamilyDescriptor[6];
             descriptors[DEFAULT_HANDLE_INDEX] = new ColumnFamilyDescriptor(
                     RocksDB.DEFAULT_COLUMN_FAMILY,
                     configuration.defaultCFOptions()
@@ -140,6 +144,10 @@ public abstract class CorePartitionManager {
                     new byte[]{METADATA.encoding().ID()},
                     configuration.metadataCFOptions()
             );
+            descriptors[TEXT_INDEX_HANDLE_INDEX] = new ColumnFamilyDescriptor(
+                    new byte[]{TEXT_INDEX.encoding().ID()},
+                    configuration.textIndexCFOptions()
+            );
             return Arrays.asList(descriptors);
         }
 
@@ -156,6 +164,8 @@ public abstract class CorePartitionManager {
                     return optimisationEdgeHandle;
                 case METADATA:
                     return metadataHandle;
+                case TEXT_INDEX:
+                    return textIndexHandle;
                 default:
                     throw TypeDBException.of(ILLEGAL_STATE);
             }
@@ -163,7 +173,7 @@ public abstract class CorePartitionManager {
 
         @Override
         Set<Key.Partition> partitions() {
-            return set(DEFAULT, VARIABLE_START_EDGE, FIXED_START_EDGE, OPTIMISATION_EDGE, METADATA);
+            return set(DEFAULT, VARIABLE_START_EDGE, FIXED_START_EDGE, OPTIMISATION_EDGE, METADATA, TEXT_INDEX);
         }
     }
 }
@@ -25,6 +25,7 @@ import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -32,7 +33,9 @@ import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.logic.LogicCache;
 import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.query.PreparedQueries;
 import com.vaticle.typedb.core.query.QueryManager;
+import com.vaticle.typedb.core.reasoner.AnswerCache;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.traversal.TraversalCache;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
@@ -71,12 +74,13 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                 .id(this.session.database().nextTransactionID());
     }
 
-    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache,
+                    PreparedQueries preparedQueries, AnswerCache answerCache, long answerCacheSnapshot) {
         traversalEng = new TraversalEngine(graphMgr, traversalCache);
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
-        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
-        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
+        reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context, answerCache, answerCacheSnapshot);
+        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, preparedQueries, context);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -176,7 +180,7 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             ThingGraph thingGraph = new ThingGraph(dataStorage, typeGraph);
 
             graphMgr = new GraphManager(typeGraph, thingGraph);
-            initialise(graphMgr, new TraversalCache(), new LogicCache());
+            initialise(graphMgr, new TraversalCache(), new LogicCache(), new PreparedQueries(), new AnswerCache(), 0);
         }
 
         @Override
@@ -232,8 +236,12 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
                     conceptMgr.validateTypes();
                     logicMgr.revalidateAndReindexRules();
+                    // the schema session holds the schema write lock, which excludes data writers, for the text index
+                    assert session.database().schemaLock().isWriteLocked();
+                    graphMgr.data().commitTextIndexBuilds();
                     graphMgr.schema().commit();
                     schemaStorage.commit();
+                    graphMgr.data().commitTextIndexDrops();
                     session.database().cacheInvalidate();
                 } catch (RocksDBException e) {
                     throw TypeDBException.of(e);
@@ -275,18 +283,22 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
 
         protected final RocksStorage.Data dataStorage;
         private final CoreDatabase.Cache cache;
+        private volatile Set<Label> typesModified;
 
         public Data(CoreSession.Data session, Arguments.Transaction.Type type,
                     Options.Transaction options, Factory.Storage storageFactory) {
             super(session, type, options);
 
             this.cache = session.database().cacheBorrow();
+            // note: take the answer cache snapshot before the storage snapshot, see AnswerCache
+            long answerCacheSnapshot = session.database().answerCache().commits();
             this.dataStorage = storageFactory.storageData(session.database(), this);
             ThingGraph thingGraph = new ThingGraph(dataStorage, cache.typeGraph());
             this.graphMgr = new GraphManager(cache.typeGraph(), thingGraph);
 
             if (type().isWrite()) session.database().isolationMgr().opened(this);
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            initialise(graphMgr, cache.traversal(), cache.logic(), cache.queries(), session.database().answerCache(),
+                       answerCacheSnapshot);
         }
 
         @Override
@@ -323,14 +335,23 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
                     if (type().isRead()) throw TypeDBException.of(ILLEGAL_COMMIT);
                     else if (graphMgr.schema().isModified()) throw TypeDBException.of(SESSION_DATA_VIOLATION);
 
+                    logicMgr.maintainMaterialisations();
                     conceptMgr.validateThings();
+                    typesModified = graphMgr.data().typesModified();
                     graphMgr.data().commit();
 
                     Set<CoreTransaction.Data> overlapping = session.database().isolationMgr().validateOverlappingAndStartCommit(this);
                     session.database().statisticsCorrector().recordCorrectionMetadata(this, overlapping);
-                    dataStorage.commit();
+                    session.database().materialisationCorrector().recordCorrectionMetadata(this, overlapping);
+                    session.database().answerCache().committing(typesModified);
+                    try {
+                        dataStorage.commit();
+                    } finally {
+                        session.database().answerCache().committed(typesModified);
+                    }
                     session.database().isolationMgr().committed(this);
                     session.database().statisticsCorrector().committed(this);
+                    session.database().materialisationCorrector().committed(this);
                 } catch (TypeDBException e) {
                     delete();
                     throw e;
@@ -375,6 +396,7 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             graphMgr.data().clear();
             dataStorage.delete();
             session.database().statisticsCorrector().deleted(this);
+            session.database().materialisationCorrector().deleted(this);
         }
 
         @Override
@@ -386,6 +408,15 @@ public abstract class CoreTransaction implements TypeDB.Transaction {
             return dataStorage.snapshotStart();
         }
 
+        /**
+         * @return the labels of the types of every thing written or deleted by this transaction, once it has started
+         * to commit
+         */
+        Set<Label> typesModified() {
+            assert typesModified != null;
+            return typesModified;
+        }
+
         public Optional<Long> snapshotEnd() {
             return dataStorage.snapshotEnd();
         }
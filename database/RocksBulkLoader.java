@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.graph.common.Storage.Key.Partition;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.rocksdb.Transaction;
+import org.rocksdb.UInt64AddOperator;
+import org.rocksdb.WriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static java.util.Collections.singletonList;
+
+/**
+ * Commits the writes of bulk loading data transactions by ingesting sorted SST files, bypassing the memtable and
+ * write-ahead log of the data storage.
+ *
+ * The writes of a RocksDB transaction, which were already encoded by the graph when it was committed, are replayed
+ * into a sorted map per partition. Writes to the same key are folded together: the latest put or delete wins, and
+ * merges of statistics counters are summed on top of it. Each non-empty partition is then written to an SST file in
+ * key order and moved into its column family. The sorted maps are bounded by {@code maxSortedBytes}: once they
+ * grow past it, they are spilled to files and ingested early. Files are ingested one at a time, in order, so writes
+ * in a later file take precedence over writes to the same key in an earlier one, and merges apply on top of them.
+ *
+ * Files that overlap existing keys are assigned a new global sequence number on ingestion, so they take precedence
+ * over earlier writes like any other commit. However, ingestion is atomic per partition only, so a failure can leave
+ * the writes of a transaction partially visible. Bulk loading is therefore intended for loading data into a fresh or
+ * otherwise offline database, such as when importing a data file.
+ */
+@ThreadSafe
+class RocksBulkLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksBulkLoader.class);
+    private static final long DEFAULT_MAX_SORTED_BYTES = 64 * MB;
+    private static final int WRITE_OVERHEAD_BYTES = 64;
+
+    private final OptimisticTransactionDB rocksDB;
+    private final CorePartitionManager.Data partitionMgr;
+    private final Map<Integer, Partition> partitions;
+    private final Path directory;
+    private final long maxSortedBytes;
+    private final AtomicLong fileCount;
+    private final AtomicLong keyCount;
+
+    RocksBulkLoader(OptimisticTransactionDB rocksDB, CorePartitionManager.Data partitionMgr, Path directory) {
+        this(rocksDB, partitionMgr, directory, DEFAULT_MAX_SORTED_BYTES);
+    }
+
+    RocksBulkLoader(OptimisticTransactionDB rocksDB, CorePartitionManager.Data partitionMgr, Path directory,
+                    long maxSortedBytes) {
+        this.rocksDB = rocksDB;
+        this.partitionMgr = partitionMgr;
+        this.partitions = new HashMap<>();
+        partitionMgr.partitions().forEach(partition -> partitions.put(partitionMgr.get(partition).getID(), partition));
+        this.directory = directory;
+        this.maxSortedBytes = maxSortedBytes;
+        this.fileCount = new AtomicLong(0);
+        this.keyCount = new AtomicLong(0);
+    }
+
+    /**
+     * Commit the writes of a RocksDB transaction by ingesting them as sorted SST files.
+     *
+     * @param rocksTransaction whose writes should be ingested, which must then be closed without being committed
+     */
+    void ingest(Transaction rocksTransaction) throws RocksDBException {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            Sorter sorter = new Sorter(files);
+            rocksTransaction.getWriteBatch().getWriteBatch().iterate(sorter);
+            if (sorter.error != null) throw sorter.error;
+            sorter.spill();
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        } finally {
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    LOG.warn("Failed to delete bulk load file {}", file, e);
+                }
+            }
+        }
+    }
+
+    private void ingest(Partition partition, TreeMap<ByteArray, Write> writes, List<Path> files) throws RocksDBException {
+        Path file = directory.resolve(fileCount.incrementAndGet() + ".sst");
+        files.add(file);
+        write(file, writes);
+        try (IngestExternalFileOptions options = new IngestExternalFileOptions().setMoveFiles(true)) {
+            rocksDB.ingestExternalFile(partitionMgr.get(partition), singletonList(file.toString()), options);
+        }
+        keyCount.addAndGet(writes.size());
+    }
+
+    private void write(Path file, TreeMap<ByteArray, Write> writes) throws RocksDBException {
+        try (Options options = new Options().setMergeOperator(new UInt64AddOperator());
+             EnvOptions envOptions = new EnvOptions();
+             SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+            writer.open(file.toString());
+            for (Map.Entry<ByteArray, Write> entry : writes.entrySet()) {
+                entry.getValue().writeTo(writer, entry.getKey().getBytes());
+            }
+            writer.finish();
+        }
+    }
+
+    void close() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Bulk loaded {} keys in {} files", keyCount.get(), fileCount.get());
+        }
+    }
+
+    /**
+     * The folded result of all writes to a single key within a transaction.
+     */
+    private static class Write {
+
+        private enum Kind {PUT, MERGE, DELETE}
+
+        private Kind kind;
+        private byte[] value;
+        private long delta;
+
+        private void put(byte[] value) {
+            this.kind = Kind.PUT;
+            this.value = value;
+        }
+
+        private void merge(byte[] value) {
+            long merged = ByteArray.of(value).decodeLong();
+            if (kind == Kind.PUT) {
+                this.value = encodeLong(ByteArray.of(this.value).decodeLong() + merged).getBytes();
+            } else if (kind == Kind.DELETE) {
+                put(encodeLong(merged).getBytes());
+            } else {
+                this.kind = Kind.MERGE;
+                this.delta += merged;
+            }
+        }
+
+        private void delete() {
+            this.kind = Kind.DELETE;
+            this.value = null;
+            this.delta = 0;
+        }
+
+        private void writeTo(SstFileWriter writer, byte[] key) throws RocksDBException {
+            switch (kind) {
+                case PUT:
+                    writer.put(key, value);
+                    break;
+                case MERGE:
+                    writer.merge(key, encodeLong(delta).getBytes());
+                    break;
+                case DELETE:
+                    writer.delete(key);
+                    break;
+                default:
+                    throw TypeDBException.of(ILLEGAL_STATE);
+            }
+        }
+    }
+
+    /**
+     * Replays the operations of the write batch of a transaction into sorted maps of folded writes per partition,
+     * spilling them to ingested files whenever they grow past {@code maxSortedBytes}.
+     */
+    private class Sorter extends WriteBatch.Handler {
+
+        private final Map<Partition, TreeMap<ByteArray, Write>> writes;
+        private final List<Path> files;
+        private long bytes;
+        private RocksDBException error;
+
+        private Sorter(List<Path> files) {
+            this.writes = new HashMap<>();
+            this.files = files;
+            this.bytes = 0;
+            this.error = null;
+        }
+
+        private Write write(int columnFamilyId, byte[] key, @Nullable byte[] value) {
+            Partition partition = partitions.get(columnFamilyId);
+            assert partition != null;
+            return write(partition, key, value);
+        }
+
+        private Write write(Partition partition, byte[] key, @Nullable byte[] value) {
+            bytes += (value == null ? 0 : value.length);
+            return writes.computeIfAbsent(partition, p -> new TreeMap<>()).computeIfAbsent(ByteArray.of(key), k -> {
+                bytes += key.length + WRITE_OVERHEAD_BYTES;
+                return new Write();
+            });
+        }
+
+        /**
+         * Exceptions cannot be thrown back through the native iteration of the write batch, so a failure to spill
+         * is recorded and the remaining operations are skipped.
+         */
+        private void maySpill() {
+            if (bytes <= maxSortedBytes || error != null) return;
+            try {
+                spill();
+            } catch (RocksDBException e) {
+                error = e;
+            }
+        }
+
+        private void spill() throws RocksDBException {
+            for (Map.Entry<Partition, TreeMap<ByteArray, Write>> entry : writes.entrySet()) {
+                if (!entry.getValue().isEmpty()) ingest(entry.getKey(), entry.getValue(), files);
+            }
+            writes.clear();
+            bytes = 0;
+        }
+
+        @Override
+        public void put(int columnFamilyId, byte[] key, byte[] value) {
+            if (error != null) return;
+            write(columnFamilyId, key, value).put(value);
+            maySpill();
+        }
+
+        @Override
+        public void put(byte[] key, byte[] value) {
+            if (error != null) return;
+            write(Partition.DEFAULT, key, value).put(value);
+            maySpill();
+        }
+
+        @Override
+        public void merge(int columnFamilyId, byte[] key, byte[] value) {
+            if (error != null) return;
+            write(columnFamilyId, key, value).merge(value);
+            maySpill();
+        }
+
+        @Override
+        public void merge(byte[] key, byte[] value) {
+            if (error != null) return;
+            write(Partition.DEFAULT, key, value).merge(value);
+            maySpill();
+        }
+
+        @Override
+        public void delete(int columnFamilyId, byte[] key) {
+            if (error != null) return;
+            write(columnFamilyId, key, null).delete();
+            maySpill();
+        }
+
+        @Override
+        public void delete(byte[] key) {
+            if (error != null) return;
+            write(Partition.DEFAULT, key, null).delete();
+            maySpill();
+        }
+
+        @Override
+        public void singleDelete(int columnFamilyId, byte[] key) {
+            if (error != null) return;
+            write(columnFamilyId, key, null).delete();
+            maySpill();
+        }
+
+        @Override
+        public void singleDelete(byte[] key) {
+            if (error != null) return;
+            write(Partition.DEFAULT, key, null).delete();
+            maySpill();
+        }
+
+        @Override
+        public void deleteRange(int columnFamilyId, byte[] beginKey, byte[] endKey) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void deleteRange(byte[] beginKey, byte[] endKey) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void logData(byte[] blob) {
+        }
+
+        @Override
+        public void putBlobIndex(int columnFamilyId, byte[] key, byte[] value) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markBeginPrepare() {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markEndPrepare(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markNoop(boolean emptyBatch) {
+        }
+
+        @Override
+        public void markRollback(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markCommit(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+    }
+}
@@ -125,7 +125,7 @@ public class RocksConfiguration {
         }
 
         org.rocksdb.DBOptions dbOptions() {
-            DBOptions dbOptions = new DBOptions().setCreateIfMissing(true);
+            DBOptions dbOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
             configureWriteConcurrency(dbOptions);
             if (logStatistics) configureStatistics(dbOptions);
             return dbOptions;
@@ -235,6 +235,21 @@ public class RocksConfiguration {
             return options;
         }
 
+        /**
+         * This CF contains the text index of string attributes, which is always scanned by the prefix of a trigram.
+         * Entries are only written when attributes are created and deleted, so we use the smaller write buffers.
+         * It is created when opening a database that predates it, as the index is built when a type opts into it.
+         */
+        org.rocksdb.ColumnFamilyOptions textIndexCFOptions() {
+            org.rocksdb.ColumnFamilyOptions options = new org.rocksdb.ColumnFamilyOptions();
+            readOptimisedWriteBuffers(options);
+            configureSST(options);
+            configureCompression(options);
+            configurePrefixExtractor(options, Key.Partition.TEXT_INDEX.fixedStartBytes().get());
+            options.setTableFormatConfig(tableOptions(true, false));
+            return options;
+        }
+
         private BlockBasedTableConfig tableOptions(boolean enableFilter, boolean enableWholeKeyFilter) {
             assert enableFilter || !enableWholeKeyFilter;
             BlockBasedTableConfig rocksDBTableOptions = new BlockBasedTableConfig();
@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.graph.common.Storage.Key.Partition;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+
+/**
+ * Commits the writes of concurrently committing data transactions in a single RocksDB write.
+ *
+ * Committing transactions enqueue themselves and contend for the write lock. The transaction that obtains the lock
+ * becomes the leader of a group: it waits up to the configured latency for more transactions to enqueue, copies the
+ * writes of up to the maximum batch size of enqueued transactions into one {@code WriteBatch}, writes it, and then
+ * completes every transaction in the group with the resulting sequence number. Transactions whose writes were
+ * committed by another leader return as soon as they obtain the lock.
+ *
+ * Data transactions only write untracked keys, and conflicts are validated by the {@code IsolationManager} before
+ * a transaction is committed, so writing the batches of the RocksDB transactions directly is equivalent to committing
+ * each of them individually.
+ */
+@ThreadSafe
+class RocksGroupCommitter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksGroupCommitter.class);
+    private static final long WAIT_POLL_NANOS = 10_000;
+
+    private final OptimisticTransactionDB rocksDB;
+    private final Map<Integer, ColumnFamilyHandle> handles;
+    private final ColumnFamilyHandle defaultHandle;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ConcurrentLinkedQueue<Request> pending;
+    private final ReentrantLock writeLock;
+    private final WriteOptions writeOptions;
+    private final AtomicLong batchCount;
+    private final AtomicLong commitCount;
+    private final AtomicLong commitLatencyNanos;
+
+    RocksGroupCommitter(OptimisticTransactionDB rocksDB, CorePartitionManager.Data partitionMgr,
+                        int maxBatchSize, long maxWaitMicros) {
+        assert maxBatchSize > 0 && maxWaitMicros >= 0;
+        this.rocksDB = rocksDB;
+        this.handles = new HashMap<>();
+        partitionMgr.partitions().forEach(partition -> {
+            ColumnFamilyHandle handle = partitionMgr.get(partition);
+            handles.put(handle.getID(), handle);
+        });
+        this.defaultHandle = partitionMgr.get(Partition.DEFAULT);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWaitMicros * 1_000;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.writeLock = new ReentrantLock();
+        this.writeOptions = new WriteOptions();
+        this.batchCount = new AtomicLong(0);
+        this.commitCount = new AtomicLong(0);
+        this.commitLatencyNanos = new AtomicLong(0);
+    }
+
+    /**
+     * Commit the writes of a RocksDB transaction as part of a group.
+     *
+     * @param rocksTransaction whose writes should be committed, which must then be closed without being committed
+     * @return the latest sequence number of the database after the writes of the group were committed
+     */
+    long commit(Transaction rocksTransaction) throws RocksDBException {
+        long start = System.nanoTime();
+        Request request = new Request(rocksTransaction);
+        pending.add(request);
+        while (!request.isDone()) {
+            writeLock.lock();
+            try {
+                if (!request.isDone()) writeGroup();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        commitCount.incrementAndGet();
+        commitLatencyNanos.addAndGet(System.nanoTime() - start);
+        return request.sequenceNumber();
+    }
+
+    private void writeGroup() {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (pending.size() < maxBatchSize && System.nanoTime() < deadline) LockSupport.parkNanos(WAIT_POLL_NANOS);
+        List<Request> group = new ArrayList<>(maxBatchSize);
+        Request request;
+        while (group.size() < maxBatchSize && (request = pending.poll()) != null) group.add(request);
+        if (group.isEmpty()) return;
+
+        try (WriteBatch batch = new WriteBatch()) {
+            WriteBatch.Handler copier = new Copier(batch);
+            for (Request r : group) r.rocksTransaction.getWriteBatch().getWriteBatch().iterate(copier);
+            rocksDB.write(writeOptions, batch);
+            long sequenceNumber = rocksDB.getLatestSequenceNumber();
+            group.forEach(r -> r.complete(sequenceNumber));
+        } catch (Throwable e) {
+            // every request in the group has been taken off the queue, so each must be failed or it will never return
+            group.forEach(r -> r.fail(e));
+        }
+        batchCount.incrementAndGet();
+        if (LOG.isTraceEnabled()) LOG.trace("Group committed {} transactions", group.size());
+    }
+
+    long batchCount() {
+        return batchCount.get();
+    }
+
+    long commitCount() {
+        return commitCount.get();
+    }
+
+    double meanBatchSize() {
+        long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) commitCount.get() / batches;
+    }
+
+    double meanCommitLatencyMicros() {
+        long commits = commitCount.get();
+        return commits == 0 ? 0 : (double) commitLatencyNanos.get() / commits / 1_000;
+    }
+
+    void close() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Group committed {} transactions in {} batches (mean batch size {}, mean commit latency {}us)",
+                    commitCount(), batchCount(), meanBatchSize(), meanCommitLatencyMicros());
+        }
+        writeOptions.close();
+    }
+
+    private static class Request {
+
+        private final Transaction rocksTransaction;
+        private volatile boolean isDone;
+        private long sequenceNumber;
+        private Throwable error;
+
+        private Request(Transaction rocksTransaction) {
+            this.rocksTransaction = rocksTransaction;
+            this.isDone = false;
+        }
+
+        private boolean isDone() {
+            return isDone;
+        }
+
+        private void complete(long sequenceNumber) {
+            this.sequenceNumber = sequenceNumber;
+            isDone = true;
+        }
+
+        private void fail(Throwable error) {
+            this.error = error;
+            isDone = true;
+        }
+
+        private long sequenceNumber() throws RocksDBException {
+            assert isDone;
+            if (error instanceof RocksDBException) throw (RocksDBException) error;
+            else if (error instanceof RuntimeException) throw (RuntimeException) error;
+            else if (error instanceof Error) throw (Error) error;
+            else if (error != null) throw TypeDBException.of(error);
+            return sequenceNumber;
+        }
+    }
+
+    /**
+     * Replays the operations of the write batch of a single transaction into the write batch of a group.
+     */
+    private class Copier extends WriteBatch.Handler {
+
+        private final WriteBatch batch;
+
+        private Copier(WriteBatch batch) {
+            this.batch = batch;
+        }
+
+        private ColumnFamilyHandle handle(int columnFamilyId) {
+            ColumnFamilyHandle handle = handles.get(columnFamilyId);
+            assert handle != null;
+            return handle;
+        }
+
+        @Override
+        public void put(int columnFamilyId, byte[] key, byte[] value) throws RocksDBException {
+            batch.put(handle(columnFamilyId), key, value);
+        }
+
+        @Override
+        public void put(byte[] key, byte[] value) {
+            try {
+                batch.put(defaultHandle, key, value);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void merge(int columnFamilyId, byte[] key, byte[] value) throws RocksDBException {
+            batch.merge(handle(columnFamilyId), key, value);
+        }
+
+        @Override
+        public void merge(byte[] key, byte[] value) {
+            try {
+                batch.merge(defaultHandle, key, value);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void delete(int columnFamilyId, byte[] key) throws RocksDBException {
+            batch.delete(handle(columnFamilyId), key);
+        }
+
+        @Override
+        public void delete(byte[] key) {
+            try {
+                batch.delete(defaultHandle, key);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void singleDelete(int columnFamilyId, byte[] key) throws RocksDBException {
+            batch.singleDelete(handle(columnFamilyId), key);
+        }
+
+        @Override
+        public void singleDelete(byte[] key) {
+            try {
+                batch.singleDelete(defaultHandle, key);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void deleteRange(int columnFamilyId, byte[] beginKey, byte[] endKey) throws RocksDBException {
+            batch.deleteRange(handle(columnFamilyId), beginKey, endKey);
+        }
+
+        @Override
+        public void deleteRange(byte[] beginKey, byte[] endKey) {
+            try {
+                batch.deleteRange(defaultHandle, beginKey, endKey);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void logData(byte[] blob) {
+            try {
+                batch.putLogData(blob);
+            } catch (RocksDBException e) {
+                throw TypeDBException.of(e);
+            }
+        }
+
+        @Override
+        public void putBlobIndex(int columnFamilyId, byte[] key, byte[] value) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markBeginPrepare() {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markEndPrepare(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markNoop(boolean emptyBatch) {
+        }
+
+        @Override
+        public void markRollback(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        public void markCommit(byte[] xid) {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+    }
+}
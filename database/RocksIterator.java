@@ -27,6 +27,8 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
 import com.vaticle.typedb.core.graph.common.Storage.Key;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -43,6 +45,7 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
     private KeyValue<T, ByteArray> next;
     private boolean isClosed;
     org.rocksdb.RocksIterator internalRocksIterator;
+    private RocksStorage.UpperBoundedIterator upperBoundedIterator;
 
     private enum State {INIT, OPENED, UNFETCHED, FORWARDED, FETCHED, COMPLETED;}
 
@@ -103,10 +106,40 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
 
     void initialiseInternalIterator() {
         assert state == State.INIT;
-        this.internalRocksIterator = storage.getInternalRocksIterator(prefix.partition(), usePrefixBloom());
+        byte[] upperBoundBytes;
+        if (useUpperBound() && (upperBoundBytes = upperBound(prefix.bytes().getBytes())) != null) {
+            // iterators bounded to their own prefix can only be shared with scans of the same prefix
+            upperBoundedIterator = storage.getUpperBoundedIterator(prefix.partition(), ByteArray.of(upperBoundBytes));
+            internalRocksIterator = upperBoundedIterator.iterator();
+        } else {
+            internalRocksIterator = storage.getInternalRocksIterator(prefix.partition(), usePrefixBloom());
+        }
         state = State.OPENED;
     }
 
+    /**
+     * Iterators that do not use the prefix bloom filter may scan through many keys, so we let RocksDB stop at the
+     * end of the prefix, rather than skip through the deleted keys that follow it before the prefix check fails.
+     */
+    boolean useUpperBound() {
+        return false;
+    }
+
+    /**
+     * @return the smallest key that is greater than every key with the given prefix, or null if there is none
+     */
+    @Nullable
+    static byte[] upperBound(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+                upperBound[i]++;
+                return upperBound;
+            }
+        }
+        return null;
+    }
+
     @Override
     public abstract void forward(KeyValue<T, ByteArray> target);
 
@@ -133,13 +166,21 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
     @Override
     public synchronized void close() {
         if (state != State.COMPLETED) {
-            if (state != State.INIT) storage.recycle(this);
+            if (state != State.INIT) {
+                if (upperBoundedIterator == null) storage.recycle(this);
+                else storage.recycle(prefix.partition(), upperBoundedIterator);
+            }
             state = State.COMPLETED;
             isClosed = true;
             storage.remove(this);
         }
     }
 
+    @Nullable
+    RocksStorage.UpperBoundedIterator upperBoundedIterator() {
+        return upperBoundedIterator;
+    }
+
     Key.Partition partition() {
         return prefix.partition();
     }
@@ -197,6 +238,11 @@ public abstract class RocksIterator<T extends Key, ORDER extends Order>
             super(storage, prefix, ASC);
         }
 
+        @Override
+        boolean useUpperBound() {
+            return !usePrefixBloom();
+        }
+
         synchronized void seekToFirst() {
             assert state == State.OPENED;
             this.internalRocksIterator.seek(prefix.bytes().getBytes());
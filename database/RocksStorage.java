@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
@@ -33,8 +34,10 @@ import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Slice;
 import org.rocksdb.Snapshot;
 import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,15 +45,16 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 
-import static com.vaticle.typedb.common.collection.Collections.hasIntersection;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.RESOURCE_CLOSED;
@@ -62,6 +66,7 @@ import static com.vaticle.typedb.core.graph.common.Encoding.System.TRANSACTION_D
 public abstract class RocksStorage implements Storage {
 
     private static final Logger LOG = LoggerFactory.getLogger(RocksStorage.class);
+    private static final int MAX_RECYCLED_WITH_UPPER_BOUND = 64;
 
     protected final Transaction rocksTransaction;
     // TODO: use a single read options when 'setAutoPrefixMode(true)' is available on ReadOptions API
@@ -74,9 +79,11 @@ public abstract class RocksStorage implements Storage {
     // TODO: use a single set of iterators when 'setAutoPrefixMode(true)' is available on ReadOptions API
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycled;
     protected final ConcurrentMap<Partition, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycledWithPrefixBloom;
+    protected final ConcurrentMap<Partition, ConcurrentMap<ByteArray, ConcurrentLinkedQueue<UpperBoundedIterator>>> recycledWithUpperBound;
+    private final AtomicInteger recycledWithUpperBoundCount;
     protected final boolean isReadOnly;
     private final OptimisticTransactionOptions transactionOptions;
-    private final WriteOptions writeOptions;
+    protected final WriteOptions writeOptions;
     private final AtomicBoolean isOpen;
 
     private RocksStorage(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr, boolean isReadOnly) {
@@ -87,6 +94,9 @@ public abstract class RocksStorage implements Storage {
         recycledWithPrefixBloom = new ConcurrentHashMap<>();
         partitionMgr.partitions().forEach(partition -> recycled.put(partition, new ConcurrentLinkedQueue<>()));
         partitionMgr.partitions().forEach(partition -> recycledWithPrefixBloom.put(partition, new ConcurrentLinkedQueue<>()));
+        recycledWithUpperBound = new ConcurrentHashMap<>();
+        partitionMgr.partitions().forEach(partition -> recycledWithUpperBound.put(partition, new ConcurrentHashMap<>()));
+        recycledWithUpperBoundCount = new AtomicInteger(0);
         writeOptions = new WriteOptions();
         transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
         rocksTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
@@ -138,6 +148,20 @@ public abstract class RocksStorage implements Storage {
         }
     }
 
+    UpperBoundedIterator getUpperBoundedIterator(Partition partition, ByteArray upperBound) {
+        ConcurrentLinkedQueue<UpperBoundedIterator> iterators = recycledWithUpperBound.get(partition).get(upperBound);
+        UpperBoundedIterator iterator;
+        if (iterators != null && (iterator = iterators.poll()) != null) {
+            recycledWithUpperBoundCount.decrementAndGet();
+            return iterator;
+        }
+        Slice slice = new Slice(upperBound.getBytes());
+        ReadOptions readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true).setIterateUpperBound(slice);
+        return new UpperBoundedIterator(
+                upperBound, rocksTransaction.getIterator(readOptions, partitionMgr.get(partition)), readOptions, slice
+        );
+    }
+
     <T extends Key, ORDER extends Order> RocksIterator<T, ORDER> createIterator(Key.Prefix<T> prefix, ORDER order) {
         RocksIterator<T, ORDER> iterator;
         // TODO how else can we convert an enumerated data tag ('order') into the type without casting
@@ -156,6 +180,17 @@ public abstract class RocksStorage implements Storage {
         }
     }
 
+    void recycle(Partition partition, UpperBoundedIterator iterator) {
+        // each upper bound is only reusable by scans of the same prefix, so we only keep a bounded number of them
+        if (recycledWithUpperBoundCount.incrementAndGet() > MAX_RECYCLED_WITH_UPPER_BOUND) {
+            recycledWithUpperBoundCount.decrementAndGet();
+            iterator.close();
+        } else {
+            recycledWithUpperBound.get(partition)
+                    .computeIfAbsent(iterator.upperBound(), bound -> new ConcurrentLinkedQueue<>()).add(iterator);
+        }
+    }
+
     void remove(RocksIterator<?, ?> iterator) {
         iterators.remove(iterator);
     }
@@ -187,6 +222,10 @@ public abstract class RocksStorage implements Storage {
                 recycledWithPrefixBloom.clear();
                 recycled.values().forEach(iters -> iters.forEach(AbstractImmutableNativeReference::close));
                 recycled.clear();
+                recycledWithUpperBound.values().forEach(bounds -> bounds.values().forEach(
+                        iters -> iters.forEach(UpperBoundedIterator::close)
+                ));
+                recycledWithUpperBound.clear();
                 rocksTransaction.close();
                 snapshot.close();
                 transactionOptions.close();
@@ -199,6 +238,44 @@ public abstract class RocksStorage implements Storage {
         }
     }
 
+    /**
+     * A RocksDB iterator that stops at a fixed upper bound, together with the native read options and slice that
+     * hold the bound, which must outlive the iterator.
+     */
+    static class UpperBoundedIterator {
+
+        private final ByteArray upperBound;
+        private final org.rocksdb.RocksIterator iterator;
+        private final ReadOptions readOptions;
+        private final Slice slice;
+
+        private UpperBoundedIterator(ByteArray upperBound, org.rocksdb.RocksIterator iterator,
+                                     ReadOptions readOptions, Slice slice) {
+            this.upperBound = upperBound;
+            this.iterator = iterator;
+            this.readOptions = readOptions;
+            this.slice = slice;
+        }
+
+        ByteArray upperBound() {
+            return upperBound;
+        }
+
+        org.rocksdb.RocksIterator iterator() {
+            return iterator;
+        }
+
+        boolean isOwningHandle() {
+            return iterator.isOwningHandle() || readOptions.isOwningHandle() || slice.isOwningHandle();
+        }
+
+        void close() {
+            iterator.close();
+            readOptions.close();
+            slice.close();
+        }
+    }
+
     static class Cache extends RocksStorage {
 
         Cache(OptimisticTransactionDB rocksDB, CorePartitionManager partitionMgr) {
@@ -376,6 +453,8 @@ public abstract class RocksStorage implements Storage {
     @NotThreadSafe
     public static class Data extends TransactionBounded implements Storage.Data {
 
+        private static final int DIRECT_WRITE_BATCH_SIZE = 10_000;
+
         private final CoreDatabase database;
         private final KeyGenerator.Data dataKeyGenerator;
 
@@ -460,6 +539,39 @@ public abstract class RocksStorage implements Storage {
             this.exclusiveBytes.add(bytes);
         }
 
+        @Override
+        public void putDirect(FunctionalIterator<? extends Key> keys) {
+            writeDirect(keys, false);
+        }
+
+        @Override
+        public void deleteDirect(FunctionalIterator<? extends Key> keys) {
+            writeDirect(keys, true);
+        }
+
+        private void writeDirect(FunctionalIterator<? extends Key> keys, boolean isDelete) {
+            assert isOpen() && !isReadOnly;
+            try {
+                deleteCloseSchemaWriteLock.readLock().lock();
+                if (!isOpen()) throw TypeDBException.of(RESOURCE_CLOSED);
+                while (keys.hasNext()) {
+                    try (WriteBatch batch = new WriteBatch()) {
+                        for (int i = 0; i < DIRECT_WRITE_BATCH_SIZE && keys.hasNext(); i++) {
+                            Key key = keys.next();
+                            if (isDelete) batch.delete(partitionMgr.get(key.partition()), key.bytes().getBytes());
+                            else batch.put(partitionMgr.get(key.partition()), key.bytes().getBytes(), ByteArray.empty().getBytes());
+                        }
+                        database.rocksData.write(writeOptions, batch);
+                    }
+                }
+            } catch (RocksDBException e) {
+                throw exception(e);
+            } finally {
+                keys.recycle();
+                deleteCloseSchemaWriteLock.readLock().unlock();
+            }
+        }
+
         @Override
         public void commit() throws RocksDBException {
             if (!hasWrite) {
@@ -470,8 +582,22 @@ public abstract class RocksStorage implements Storage {
                         ByteArray.empty().getBytes()
                 );
             }
-            super.commit();
-            snapshotEnd = database.rocksData.getLatestSequenceNumber();
+            Optional<RocksGroupCommitter> groupCommitter = database.dataGroupCommitter();
+            if (transaction.context().options().bulkLoad()) {
+                database.dataBulkLoader().ingest(rocksTransaction);
+                // ingested files may not consume a sequence number, so write directly to advance the snapshotEnd
+                database.rocksData.put(
+                        partitionMgr.get(Partition.DEFAULT),
+                        TRANSACTION_DUMMY_WRITE.bytes().getBytes(),
+                        ByteArray.empty().getBytes()
+                );
+                snapshotEnd = database.rocksData.getLatestSequenceNumber();
+            } else if (groupCommitter.isPresent()) {
+                snapshotEnd = groupCommitter.get().commit(rocksTransaction);
+            } else {
+                super.commit();
+                snapshotEnd = database.rocksData.getLatestSequenceNumber();
+            }
         }
 
         @Override
@@ -517,16 +643,16 @@ public abstract class RocksStorage implements Storage {
             return !modifiedKeys.isEmpty() || !deletedKeys.isEmpty() || !exclusiveBytes.isEmpty();
         }
 
-        boolean modifyDeleteConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(modifiedKeys, otherStorage.deletedKeys);
+        Set<ByteArray> modifiedKeys() {
+            return modifiedKeys;
         }
 
-        boolean deleteModifyConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(deletedKeys, otherStorage.modifiedKeys);
+        Set<ByteArray> deletedKeys() {
+            return deletedKeys;
         }
 
-        boolean exclusiveCreateConflict(RocksStorage.Data otherStorage) {
-            return hasIntersection(exclusiveBytes, otherStorage.exclusiveBytes);
+        Set<ByteArray> exclusiveBytes() {
+            return exclusiveBytes;
         }
     }
 }
@@ -30,10 +30,13 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
+import com.vaticle.typedb.core.graph.common.MaterialisationKey;
 import com.vaticle.typedb.core.graph.common.StatisticsKey;
 import com.vaticle.typedb.core.graph.common.Storage;
 import com.vaticle.typedb.core.graph.edge.ThingEdge;
+import com.vaticle.typedb.core.graph.iid.IndexIID;
 import com.vaticle.typedb.core.graph.iid.PartitionedIID;
+import com.vaticle.typedb.core.graph.iid.StructureIID;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
@@ -41,9 +44,12 @@ import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.graph.vertex.impl.AttributeVertexImpl;
 import com.vaticle.typedb.core.graph.vertex.impl.ThingVertexImpl;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -61,6 +67,9 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingWrite.I
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.bounded;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
+import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.intersect;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
 import static com.vaticle.typedb.core.graph.common.Encoding.Status.BUFFERED;
 import static com.vaticle.typedb.core.graph.common.Encoding.Status.PERSISTED;
@@ -70,18 +79,26 @@ import static com.vaticle.typedb.core.graph.iid.VertexIID.Thing.generate;
 
 public class ThingGraph {
 
+    private static final int TEXT_INDEX_MAX_INTERSECTED_GRAMS = 8;
+
     private final Storage.Data storage;
     private final TypeGraph typeGraph;
     private final KeyGenerator.Data.Buffered keyGenerator;
     private final AttributesByIID attributesByIID;
     private final ConcurrentMap<VertexIID.Thing, ThingVertex.Write> thingsByIID;
     private final ConcurrentMap<VertexIID.Type, ConcurrentSkipListSet<ThingVertex.Write>> thingsByTypeIID;
+    private final ConcurrentMap<VertexIID.Thing, ThingVertex.Write> thingsDeleted;
     private final Map<VertexIID.Thing, VertexIID.Thing> committedIIDs;
     private final Statistics statistics;
     private final ConcurrentSet<AttributeVertex.Write<?>> attributesCreated;
     private final ConcurrentSet<AttributeVertex<?>> attributesDeleted;
     private final ConcurrentSet<ThingEdge> hasEdgeCreated;
     private final ConcurrentSet<ThingEdge> hasEdgeDeleted;
+    private final ConcurrentSet<VertexIID.Type> typesDeleted;
+    private final ConcurrentMap<StructureIID.Rule, ConcurrentSet<VertexIID.Thing>> materialisedRelations;
+    private final ConcurrentMap<StructureIID.Rule, ConcurrentSet<Pair<VertexIID.Thing, VertexIID.Attribute<?>>>> materialisedOwnerships;
+    private final ConcurrentSet<VertexIID.Type> textIndexBuilds;
+    private final ConcurrentSet<VertexIID.Type> textIndexDrops;
     private boolean isModified;
 
     public ThingGraph(Storage.Data storage, TypeGraph typeGraph) {
@@ -91,12 +108,18 @@ public class ThingGraph {
         thingsByIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
         thingsByTypeIID = new ConcurrentHashMap<>();
+        thingsDeleted = new ConcurrentHashMap<>();
         statistics = new Statistics(typeGraph, storage);
         committedIIDs = new HashMap<>();
         attributesCreated = new ConcurrentSet<>();
         attributesDeleted = new ConcurrentSet<>();
         hasEdgeCreated = new ConcurrentSet<>();
         hasEdgeDeleted = new ConcurrentSet<>();
+        typesDeleted = new ConcurrentSet<>();
+        materialisedRelations = new ConcurrentHashMap<>();
+        materialisedOwnerships = new ConcurrentHashMap<>();
+        textIndexBuilds = new ConcurrentSet<>();
+        textIndexDrops = new ConcurrentSet<>();
     }
 
     public Storage.Data storage() {
@@ -122,6 +145,15 @@ public class ThingGraph {
         return convertToReadable(iid);
     }
 
+    /**
+     * @return the vertex of a thing deleted in this transaction, which reports itself as deleted, or null if the
+     * thing was not deleted in this transaction
+     */
+    @Nullable
+    public ThingVertex.Write getDeleted(VertexIID.Thing iid) {
+        return thingsDeleted.get(iid);
+    }
+
     public AttributeVertex<?> getReadable(VertexIID.Attribute<?> iid) {
         if (!attributesByIID.forValueType(iid.valueType()).containsKey(iid) && storage.get(iid) == null) {
             return null;
@@ -228,6 +260,177 @@ public class ThingGraph {
         }
     }
 
+    /**
+     * Split the instances of an entity or relation type into disjoint partitions that can be iterated concurrently.
+     *
+     * Persisted instances are keyed by an increasing sorted long (see {@code KeyGenerator.Data.Persisted}), so the
+     * key range up to the last persisted key is divided into equal sub-ranges, each of which seeks to its first key and
+     * terminates after its last key. Buffered instances, which have negative keys, are sorted first and are therefore
+     * iterated by the first partition.
+     *
+     * @param typeVertex of the instances to iterate
+     * @param partitions the number of partitions to split the instances into
+     * @return exactly {@code partitions} sorted iterators, which together cover all instances of the type
+     */
+    public List<Forwardable<ThingVertex, Order.Asc>> getReadable(TypeVertex typeVertex, int partitions) {
+        assert !typeVertex.isAttributeType() && partitions > 0;
+        List<Forwardable<ThingVertex, Order.Asc>> iterators = new ArrayList<>(partitions);
+        VertexIID.Thing lastIID = storage.getLastKey(VertexIID.Thing.prefix(typeVertex.iid()));
+        for (int i = 0; i < partitions; i++) iterators.add(getReadable(typeVertex, lastIID, i, partitions));
+        return iterators;
+    }
+
+    /**
+     * Iterate a single one of the partitions that {@link #getReadable(TypeVertex, int)} splits the instances of an
+     * entity or relation type into, without opening iterators over the other partitions.
+     *
+     * @param typeVertex of the instances to iterate
+     * @param partition  the index of the partition to iterate
+     * @param partitions the number of partitions to split the instances into
+     * @return a sorted iterator over the instances of the type in the given partition
+     */
+    public Forwardable<ThingVertex, Order.Asc> getReadable(TypeVertex typeVertex, int partition, int partitions) {
+        assert !typeVertex.isAttributeType() && partition >= 0 && partition < partitions;
+        VertexIID.Thing lastIID = storage.getLastKey(VertexIID.Thing.prefix(typeVertex.iid()));
+        return getReadable(typeVertex, lastIID, partition, partitions);
+    }
+
+    private Forwardable<ThingVertex, Order.Asc> getReadable(TypeVertex typeVertex, @Nullable VertexIID.Thing lastIID,
+                                                           int partition, int partitions) {
+        if (lastIID == null || partitions == 1) return partition == 0 ? getReadable(typeVertex) : emptySorted();
+        long lastKey = lastIID.keyAsLong();
+        long width = Math.max(1, (lastKey / partitions) + 1);
+        long start = partition * width;
+        if (partition > 0 && start > lastKey) return emptySorted();
+        Forwardable<ThingVertex, Order.Asc> vertices = getReadable(typeVertex);
+        if (partition > 0) vertices.forward(convertToReadable(VertexIID.Thing.of(typeVertex.iid(), start)));
+        if (partition < partitions - 1) {
+            vertices = bounded(vertices, convertToReadable(VertexIID.Thing.of(typeVertex.iid(), start + width - 1)));
+        }
+        return vertices;
+    }
+
+    /**
+     * Iterate the attributes of an attribute type whose IIDs lie within the given inclusive bounds.
+     *
+     * Attribute IIDs of a single type are sorted by their value encoding, so the lower bound is
+     * reached by seeking the underlying iterators, and iteration terminates once the upper bound
+     * is passed, instead of scanning every instance of the type.
+     *
+     * @param attributeType of the attributes to iterate
+     * @param lowerBound    the smallest attribute IID to return, or null to start from the first attribute
+     * @param upperBound    the largest attribute IID to return, or null to continue until the last attribute
+     * @return a sorted iterator of the attributes within the bounds
+     */
+    public Forwardable<ThingVertex, Order.Asc> getReadable(TypeVertex attributeType,
+                                                           @Nullable VertexIID.Attribute<?> lowerBound,
+                                                           @Nullable VertexIID.Attribute<?> upperBound) {
+        assert attributeType.isAttributeType();
+        assert lowerBound == null || lowerBound.type().equals(attributeType.iid());
+        assert upperBound == null || upperBound.type().equals(attributeType.iid());
+        Forwardable<ThingVertex, Order.Asc> vertices = getReadable(attributeType);
+        if (lowerBound != null) vertices.forward(convertToReadable(lowerBound));
+        if (upperBound != null) vertices = bounded(vertices, convertToReadable(upperBound));
+        return vertices;
+    }
+
+    /**
+     * Iterate the attributes of a text indexed attribute type that may contain every one of the given substrings,
+     * ignoring case. Candidates are found by intersecting the index entries of the trigrams of the substrings, so
+     * they are a superset of the matching attributes, and the original predicates must still be applied to them.
+     * Attributes created in this transaction are only indexed on commit, so they are always included, and a text
+     * index that is only built on commit of this transaction is not used at all.
+     *
+     * @param attributeType a text indexed attribute type of string value type
+     * @param substrings    that every returned attribute may contain
+     * @return a sorted iterator of the candidate attributes
+     */
+    public Forwardable<ThingVertex, Order.Asc> getReadableContaining(TypeVertex attributeType, Set<String> substrings) {
+        assert attributeType.isAttributeType() && attributeType.isTextIndexed();
+        if (textIndexBuilds.contains(attributeType.iid())) return getReadable(attributeType);
+        List<Integer> grams = iterate(substrings).flatMap(substring -> iterate(IndexIID.Text.grams(substring)))
+                .distinct().toList();
+        if (grams.isEmpty()) return getReadable(attributeType);
+        if (grams.size() > TEXT_INDEX_MAX_INTERSECTED_GRAMS) {
+            List<Integer> sampled = new ArrayList<>(TEXT_INDEX_MAX_INTERSECTED_GRAMS);
+            for (int i = 0; i < TEXT_INDEX_MAX_INTERSECTED_GRAMS; i++) {
+                sampled.add(grams.get(i * grams.size() / TEXT_INDEX_MAX_INTERSECTED_GRAMS));
+            }
+            grams = sampled;
+        }
+        Forwardable<ThingVertex, Order.Asc> vertices = intersect(
+                iterate(grams).map(gram -> getReadableContaining(attributeType, gram)), ASC
+        ).filter(vertex -> storage.get(vertex.iid()) != null); // the index may lag behind concurrently deleted attributes
+        if (!thingsByTypeIID.containsKey(attributeType.iid())) return vertices;
+        else {
+            Forwardable<ThingVertex, Order.Asc> buffered = iterateSorted(thingsByTypeIID.get(attributeType.iid()), ASC)
+                    .mapSorted(e -> e, ThingVertex::toWrite, ASC);
+            return vertices.merge(buffered).distinct();
+        }
+    }
+
+    private Forwardable<ThingVertex, Order.Asc> getReadableContaining(TypeVertex attributeType, int gram) {
+        return storage.iterate(IndexIID.Text.prefix(attributeType.iid(), gram)).mapSorted(
+                kv -> convertToReadable(kv.key().attribute()),
+                vertex -> KeyValue.of(IndexIID.Text.of(attributeType.iid(), gram, vertex.iid().asAttribute().asString()), empty()),
+                ASC
+        );
+    }
+
+    /**
+     * Record that an attribute type opts into the text index. The index is built by {@link #commitTextIndexBuilds()}.
+     *
+     * @param attributeType the attribute type of string value type to build the text index of
+     */
+    public void indexText(TypeVertex attributeType) {
+        assert attributeType.isAttributeType() && attributeType.valueType().equals(Encoding.ValueType.STRING);
+        textIndexDrops.remove(attributeType.iid());
+        textIndexBuilds.add(attributeType.iid());
+    }
+
+    /**
+     * Record that an attribute type opts out of the text index. The index is deleted by
+     * {@link #commitTextIndexDrops()}.
+     *
+     * @param attributeType the attribute type of string value type to delete the text index of
+     */
+    public void unindexText(TypeVertex attributeType) {
+        assert attributeType.isAttributeType() && attributeType.valueType().equals(Encoding.ValueType.STRING);
+        textIndexBuilds.remove(attributeType.iid());
+        textIndexDrops.add(attributeType.iid());
+    }
+
+    /**
+     * Write the text index entries of every persisted attribute of the attribute types that opted into the text
+     * index, replacing any entries left behind by an earlier build. The index can be too large for one transaction,
+     * so the entries are written straight to storage in bounded batches. This must be called by a schema transaction
+     * before it commits: it holds the schema write lock, so no data transaction can commit attributes that the
+     * build would miss, and the entries are not used until the type is committed as text indexed.
+     */
+    public void commitTextIndexBuilds() {
+        textIndexBuilds.forEach(type -> {
+            storage.deleteDirect(storage.iterate(IndexIID.Text.prefix(type)).map(KeyValue::key));
+            storage.putDirect(storage.iterate(VertexIID.Thing.prefix(type))
+                                      .flatMap(kv -> textIndexEntries(convertToReadable(kv.key().asAttribute()))));
+        });
+    }
+
+    /**
+     * Delete the text index entries of the attribute types that opted out of the text index, in bounded batches.
+     * This must be called by a schema transaction after it commits, so that the entries are no longer used, and
+     * while it still holds the schema write lock. Entries left behind by a failure are ignored and replaced by the
+     * next build.
+     */
+    public void commitTextIndexDrops() {
+        textIndexDrops.forEach(type -> storage.deleteDirect(storage.iterate(IndexIID.Text.prefix(type)).map(KeyValue::key)));
+    }
+
+    private FunctionalIterator<IndexIID.Text> textIndexEntries(AttributeVertex<?> attribute) {
+        VertexIID.Attribute.String attIID = attribute.iid().asString();
+        return iterate(IndexIID.Text.grams(attribute.asString().value()))
+                .map(gram -> IndexIID.Text.of(attIID.type(), gram, attIID));
+    }
+
     public AttributeVertex<Boolean> getReadable(TypeVertex type, boolean value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -368,7 +571,7 @@ public class ThingGraph {
 
         AttributeVertex.Write<String> vertex = attributesByIID.strings.computeIfAbsent(
                 attIID, iid -> {
-                    AttributeVertexImpl.Write.String v = new AttributeVertexImpl.Write.String(this, iid, isInferred);
+                    AttributeVertexImpl.Write.String v = new AttributeVertexImpl.Write.String(this, iid, value, isInferred);
                     thingsByTypeIID.computeIfAbsent(type.iid(), t -> new ConcurrentSkipListSet<>()).add(v);
                     vertexCreated(v);
                     return v;
@@ -410,6 +613,7 @@ public class ThingGraph {
                 thingsByTypeIID.get(vertex.iid().type()).remove(vertex);
             }
         }
+        thingsDeleted.put(vertex.iid(), vertex);
         vertexDeleted(vertex);
     }
 
@@ -429,6 +633,7 @@ public class ThingGraph {
 
     private void vertexDeleted(ThingVertexImpl.Write vertex) {
         statistics.vertexDeleted(vertex.iid().type(), vertex.isInferred());
+        typesDeleted.add(vertex.iid().type());
         if (vertex.isAttribute() && !vertex.isInferred()) {
             if (attributesCreated.contains(vertex.asAttribute())) {
                 // if the vertex has already been created, and we are deleting it, we just reverse the creation
@@ -442,7 +647,10 @@ public class ThingGraph {
     }
 
     public void edgeCreated(ThingEdge edge) {
-        if (edge.encoding() != Encoding.Edge.Thing.Base.HAS || isPersisted(edge)) return;
+        if (edge.encoding() == Encoding.Edge.Thing.Optimised.ROLEPLAYER) {
+            statistics.rolePlayerEdgeCreated(edge, edge.isInferred());
+            return;
+        } else if (edge.encoding() != Encoding.Edge.Thing.Base.HAS || isPersisted(edge)) return;
         statistics.hasEdgeCreated(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.isInferred());
 
         if (hasEdgeDeleted.contains(edge)) {
@@ -460,6 +668,8 @@ public class ThingGraph {
     }
 
     public void edgeDeleted(ThingEdge edge) {
+        typesDeleted.add(edge.fromIID().type());
+        typesDeleted.add(edge.toIID().type());
         if (edge.encoding() == Encoding.Edge.Thing.Base.HAS) {
             statistics.hasEdgeDeleted(edge.from().asWrite(), edge.to().asAttribute().asWrite(), edge.isInferred());
             if (hasEdgeCreated.contains(edge)) {
@@ -468,6 +678,9 @@ public class ThingGraph {
             } else if (edge.from().status() == PERSISTED) {
                 hasEdgeDeleted.add(edge);
             }
+        } else if (edge.encoding() == Encoding.Edge.Thing.Optimised.ROLEPLAYER) {
+            typesDeleted.add(edge.forwardView().iid().infix().asRolePlayer().tail());
+            statistics.rolePlayerEdgeDeleted(edge, edge.isInferred());
         }
     }
 
@@ -488,7 +701,12 @@ public class ThingGraph {
     public void clear() {
         thingsByIID.clear();
         thingsByTypeIID.clear();
+        thingsDeleted.clear();
         attributesByIID.clear();
+        materialisedRelations.clear();
+        materialisedOwnerships.clear();
+        textIndexBuilds.clear();
+        textIndexDrops.clear();
         statistics.clear();
     }
 
@@ -514,6 +732,191 @@ public class ThingGraph {
         return hasEdgeDeleted;
     }
 
+    /**
+     * @return the types of every vertex deleted in this transaction, and of both ends of, and the role of, every
+     * edge deleted in this transaction
+     */
+    public Set<VertexIID.Type> typesDeleted() {
+        return typesDeleted;
+    }
+
+    /**
+     * @return the labels of the types of every thing written or deleted in this transaction
+     */
+    public Set<Label> typesModified() {
+        Set<Label> types = vertices().map(vertex -> vertex.type().properLabel()).toSet();
+        typesDeleted.forEach(type -> types.add(typeGraph.convert(type).properLabel()));
+        return types;
+    }
+
+    public boolean isMaterialised(StructureIID.Rule rule) {
+        return storage.get(MaterialisationKey.rule(rule)) != null;
+    }
+
+    public FunctionalIterator<StructureIID.Rule> materialisedRules() {
+        return storage.iterate(MaterialisationKey.rulePrefix()).map(kv -> kv.key().rule());
+    }
+
+    public void materialise(StructureIID.Rule rule) {
+        storage.putTracked(MaterialisationKey.rule(rule));
+        if (!isModified) isModified = true;
+    }
+
+    /**
+     * Forget that a rule is materialised, along with every fact it was recorded to have written. The facts
+     * themselves must be deleted by the caller.
+     *
+     * @param rule the rule to stop materialising
+     */
+    public void dematerialise(StructureIID.Rule rule) {
+        storage.iterate(MaterialisationKey.factPrefix(rule)).forEachRemaining(kv -> {
+            MaterialisationKey fact = kv.key();
+            if (fact.isRelation()) storage.deleteUntracked(MaterialisationKey.derived(fact.relation()));
+            else storage.deleteUntracked(MaterialisationKey.derived(fact.has().first(), fact.has().second()));
+            storage.deleteUntracked(fact);
+        });
+        materialisedRelations.remove(rule);
+        materialisedOwnerships.remove(rule);
+        storage.deleteUntracked(MaterialisationKey.pending(rule));
+        storage.deleteTracked(MaterialisationKey.rule(rule));
+        if (!isModified) isModified = true;
+    }
+
+    /**
+     * Record that the conclusions of a materialised rule were maintained, so that this transaction conflicts with
+     * any overlapping transaction that dematerialises the rule.
+     */
+    public void materialisationMaintained(StructureIID.Rule rule) {
+        storage.trackModified(MaterialisationKey.rule(rule).bytes());
+    }
+
+    /**
+     * @return the number of commits, concurrent with other commits maintaining the same rule, since the rule's
+     * materialised facts were last recomputed as a whole
+     */
+    public long materialisationsPending(StructureIID.Rule rule) {
+        ByteArray count = storage.get(MaterialisationKey.pending(rule));
+        return count == null ? 0 : count.decodeLong();
+    }
+
+    public FunctionalIterator<StructureIID.Rule> materialisationsPending() {
+        return storage.iterate(MaterialisationKey.pendingPrefix()).filter(kv -> kv.value().decodeLong() > 0)
+                .map(kv -> kv.key().rule());
+    }
+
+    public void materialisationsPending(StructureIID.Rule rule, long delta) {
+        storage.mergeUntracked(MaterialisationKey.pending(rule), encodeLong(delta));
+    }
+
+    /**
+     * Record that a relation was written by a materialised rule. Relations created in this transaction only have
+     * their final IID on commit, so they are recorded on commit.
+     */
+    public void materialised(StructureIID.Rule rule, VertexIID.Thing relation) {
+        if (isBuffered(relation)) {
+            materialisedRelations.computeIfAbsent(rule, r -> new ConcurrentSet<>()).add(relation);
+        } else {
+            storage.putUntracked(MaterialisationKey.relation(rule, relation));
+            storage.putUntracked(MaterialisationKey.derived(relation));
+        }
+    }
+
+    public void materialised(StructureIID.Rule rule, VertexIID.Thing owner, VertexIID.Attribute<?> attribute) {
+        if (isBuffered(owner)) {
+            materialisedOwnerships.computeIfAbsent(rule, r -> new ConcurrentSet<>()).add(pair(owner, attribute));
+        } else {
+            storage.putUntracked(MaterialisationKey.has(rule, owner, attribute));
+            storage.putUntracked(MaterialisationKey.derived(owner, attribute));
+        }
+    }
+
+    /**
+     * Record that an attribute was created by a materialised rule, so that it can be deleted once no fact uses it.
+     */
+    public void materialised(VertexIID.Attribute<?> attribute) {
+        storage.putUntracked(MaterialisationKey.derived(attribute));
+    }
+
+    public void dematerialised(StructureIID.Rule rule, VertexIID.Thing relation) {
+        if (isBuffered(relation)) {
+            if (materialisedRelations.containsKey(rule)) materialisedRelations.get(rule).remove(relation);
+        } else {
+            storage.deleteUntracked(MaterialisationKey.relation(rule, relation));
+            storage.deleteUntracked(MaterialisationKey.derived(relation));
+        }
+    }
+
+    public void dematerialised(StructureIID.Rule rule, VertexIID.Thing owner, VertexIID.Attribute<?> attribute) {
+        if (isBuffered(owner)) {
+            if (materialisedOwnerships.containsKey(rule)) materialisedOwnerships.get(rule).remove(pair(owner, attribute));
+        } else {
+            storage.deleteUntracked(MaterialisationKey.has(rule, owner, attribute));
+            storage.deleteUntracked(MaterialisationKey.derived(owner, attribute));
+        }
+    }
+
+    public void dematerialised(VertexIID.Attribute<?> attribute) {
+        storage.deleteUntracked(MaterialisationKey.derived(attribute));
+    }
+
+    public boolean isMaterialised(StructureIID.Rule rule, VertexIID.Thing relation) {
+        if (isBuffered(relation)) {
+            return materialisedRelations.containsKey(rule) && materialisedRelations.get(rule).contains(relation);
+        } else {
+            return storage.get(MaterialisationKey.relation(rule, relation)) != null;
+        }
+    }
+
+    public boolean isMaterialised(StructureIID.Rule rule, VertexIID.Thing owner, VertexIID.Attribute<?> attribute) {
+        if (isBuffered(owner)) {
+            return materialisedOwnerships.containsKey(rule) && materialisedOwnerships.get(rule).contains(pair(owner, attribute));
+        } else {
+            return storage.get(MaterialisationKey.has(rule, owner, attribute)) != null;
+        }
+    }
+
+    /**
+     * @return true if the thing was created by a materialised rule, whichever rule it was
+     */
+    public boolean isMaterialised(VertexIID.Thing thing) {
+        if (isBuffered(thing)) {
+            return iterate(materialisedRelations.values()).anyMatch(relations -> relations.contains(thing));
+        } else {
+            return storage.get(MaterialisationKey.derived(thing)) != null;
+        }
+    }
+
+    /**
+     * @return true if the ownership was written by a materialised rule, whichever rule it was
+     */
+    public boolean isMaterialised(VertexIID.Thing owner, VertexIID.Attribute<?> attribute) {
+        if (isBuffered(owner)) {
+            return iterate(materialisedOwnerships.values()).anyMatch(ownerships -> ownerships.contains(pair(owner, attribute)));
+        } else {
+            return storage.get(MaterialisationKey.derived(owner, attribute)) != null;
+        }
+    }
+
+    public FunctionalIterator<VertexIID.Thing> materialisedRelations(StructureIID.Rule rule) {
+        FunctionalIterator<VertexIID.Thing> persisted = storage.iterate(MaterialisationKey.factPrefix(rule))
+                .map(KeyValue::key).filter(MaterialisationKey::isRelation).map(MaterialisationKey::relation);
+        if (!materialisedRelations.containsKey(rule)) return persisted;
+        else return link(persisted, iterate(materialisedRelations.get(rule)));
+    }
+
+    public FunctionalIterator<Pair<VertexIID.Thing, VertexIID.Attribute<?>>> materialisedOwnerships(StructureIID.Rule rule) {
+        FunctionalIterator<Pair<VertexIID.Thing, VertexIID.Attribute<?>>> persisted = storage
+                .iterate(MaterialisationKey.factPrefix(rule))
+                .map(KeyValue::key).filter(MaterialisationKey::isHas).map(MaterialisationKey::has);
+        if (!materialisedOwnerships.containsKey(rule)) return persisted;
+        else return link(persisted, iterate(materialisedOwnerships.get(rule)));
+    }
+
+    private boolean isBuffered(VertexIID.Thing iid) {
+        ThingVertex.Write vertex = thingsByIID.get(iid);
+        return vertex != null && vertex.status() == BUFFERED;
+    }
+
 
     /**
      * Commits all the writes captured in
@@ -533,9 +936,36 @@ public class ThingGraph {
         }); // thingsByIID no longer contains valid mapping from IID to TypeVertex
         thingsByIID.values().stream().filter(v -> !v.isInferred()).forEach(ThingVertex.Write::commit);
         attributesByIID.valuesIterator().forEachRemaining(AttributeVertex.Write::commit);
+        commitTextIndex();
+        commitMaterialisations();
         statistics.commit();
     }
 
+    private void commitTextIndex() {
+        iterate(attributesCreated).filter(attribute -> attribute.isString() && attribute.type().isTextIndexed())
+                .flatMap(this::textIndexEntries).forEachRemaining(storage::putUntracked);
+        iterate(attributesDeleted).filter(attribute -> attribute.isString() && attribute.type().isTextIndexed())
+                .flatMap(this::textIndexEntries).forEachRemaining(storage::deleteUntracked);
+    }
+
+    private void commitMaterialisations() {
+        // vertices deleted before commit were not given a committed IID, and are not recorded
+        materialisedRelations.forEach((rule, relations) -> relations.forEach(relation -> {
+            VertexIID.Thing committed = committedIIDs.get(relation);
+            if (committed != null) {
+                storage.putUntracked(MaterialisationKey.relation(rule, committed));
+                storage.putUntracked(MaterialisationKey.derived(committed));
+            }
+        }));
+        materialisedOwnerships.forEach((rule, ownerships) -> ownerships.forEach(ownership -> {
+            VertexIID.Thing committed = committedIIDs.get(ownership.first());
+            if (committed != null) {
+                storage.putUntracked(MaterialisationKey.has(rule, committed, ownership.second()));
+                storage.putUntracked(MaterialisationKey.derived(committed, ownership.second()));
+            }
+        }));
+    }
+
     private static class AttributesByIID {
 
         private final ConcurrentMap<VertexIID.Attribute.Boolean, AttributeVertex.Write<Boolean>> booleans;
@@ -617,6 +1047,9 @@ public class ThingGraph {
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> persistedHasEdgeCount;
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> deltaHasEdgeCount;
         private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> inferredHasEdgeCount;
+        private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> persistedRolePlayerEdgeCount;
+        private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> deltaRolePlayerEdgeCount;
+        private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> inferredRolePlayerEdgeCount;
 
         private final TypeGraph typeGraph;
         private final Storage.Data storage;
@@ -629,6 +1062,9 @@ public class ThingGraph {
             persistedHasEdgeCount = new ConcurrentHashMap<>();
             deltaHasEdgeCount = new ConcurrentHashMap<>();
             inferredHasEdgeCount = new ConcurrentHashMap<>();
+            persistedRolePlayerEdgeCount = new ConcurrentHashMap<>();
+            deltaRolePlayerEdgeCount = new ConcurrentHashMap<>();
+            inferredRolePlayerEdgeCount = new ConcurrentHashMap<>();
 
             snapshot = bytesToLongOrZero(storage.get(StatisticsKey.snapshot()));
             this.typeGraph = typeGraph;
@@ -700,6 +1136,31 @@ public class ThingGraph {
                     inferredHasEdgeCount(fromTypeIID, toTypeIID);
         }
 
+        /**
+         * Sums, over the given role types, the number of role player edges through which instances of the given
+         * player types play those roles. Dividing by the number of players gives the mean role player degree,
+         * which unlike the role instance count alone is not skewed by other player types playing the same roles.
+         */
+        public long rolePlayerEdgeSum(Set<TypeVertex> roleTypes, Set<TypeVertex> playerTypes) {
+            long sum = 0;
+            for (TypeVertex roleType : roleTypes) {
+                for (TypeVertex playerType : playerTypes) {
+                    sum += rolePlayerEdgeCount(roleType.iid(), playerType.iid());
+                }
+            }
+            return sum;
+        }
+
+        public long rolePlayerEdgeCount(Label roleType, Label playerType) {
+            return rolePlayerEdgeCount(typeGraph.getType(roleType).iid(), typeGraph.getType(playerType).iid());
+        }
+
+        private long rolePlayerEdgeCount(VertexIID.Type roleTypeIID, VertexIID.Type playerTypeIID) {
+            return persistedRolePlayerEdgeCount(roleTypeIID, playerTypeIID) +
+                    deltaRolePlayerEdgeCount(roleTypeIID, playerTypeIID) +
+                    inferredRolePlayerEdgeCount(roleTypeIID, playerTypeIID);
+        }
+
         private void vertexCreated(VertexIID.Type type, boolean inferred) {
             if (inferred) inferredVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) + 1);
             else deltaVertexCount.compute(type, (k, v) -> (v == null ? 0 : v) + 1);
@@ -726,6 +1187,23 @@ public class ThingGraph {
             }
         }
 
+        private void rolePlayerEdgeCreated(ThingEdge edge, boolean inferred) {
+            Pair<VertexIID.Type, VertexIID.Type> rolePlayer = rolePlayerTypes(edge);
+            if (inferred) inferredRolePlayerEdgeCount.compute(rolePlayer, (k, v) -> (v == null ? 0 : v) + 1);
+            else deltaRolePlayerEdgeCount.compute(rolePlayer, (k, v) -> (v == null ? 0 : v) + 1);
+        }
+
+        private void rolePlayerEdgeDeleted(ThingEdge edge, boolean inferred) {
+            Pair<VertexIID.Type, VertexIID.Type> rolePlayer = rolePlayerTypes(edge);
+            if (inferred) inferredRolePlayerEdgeCount.compute(rolePlayer, (k, v) -> (v == null ? 0 : v) - 1);
+            else deltaRolePlayerEdgeCount.compute(rolePlayer, (k, v) -> (v == null ? 0 : v) - 1);
+        }
+
+        private Pair<VertexIID.Type, VertexIID.Type> rolePlayerTypes(ThingEdge edge) {
+            // note: the role type is read from the edge infix, since the role vertex may already be deleted
+            return pair(edge.forwardView().iid().infix().asRolePlayer().tail(), edge.toIID().type());
+        }
+
         private long deltaVertexCount(VertexIID.Type typeIID) {
             return deltaVertexCount.getOrDefault(typeIID, 0L);
         }
@@ -752,6 +1230,19 @@ public class ThingGraph {
             return inferredHasEdgeCount.getOrDefault(pair(thingTypeIID, attTypeIID), 0L);
         }
 
+        private long persistedRolePlayerEdgeCount(VertexIID.Type roleTypeIID, VertexIID.Type playerTypeIID) {
+            return persistedRolePlayerEdgeCount.computeIfAbsent(pair(roleTypeIID, playerTypeIID), iid ->
+                    bytesToLongOrZero(storage.get(StatisticsKey.rolePlayerEdgeCount(roleTypeIID, playerTypeIID))));
+        }
+
+        private long deltaRolePlayerEdgeCount(VertexIID.Type roleTypeIID, VertexIID.Type playerTypeIID) {
+            return deltaRolePlayerEdgeCount.getOrDefault(pair(roleTypeIID, playerTypeIID), 0L);
+        }
+
+        private long inferredRolePlayerEdgeCount(VertexIID.Type roleTypeIID, VertexIID.Type playerTypeIID) {
+            return inferredRolePlayerEdgeCount.getOrDefault(pair(roleTypeIID, playerTypeIID), 0L);
+        }
+
         private long bytesToLongOrZero(ByteArray bytes) {
             return bytes != null ? bytes.decodeLong() : 0;
         }
@@ -763,7 +1254,10 @@ public class ThingGraph {
             deltaHasEdgeCount.forEach((ownership, delta) ->
                     storage.mergeUntracked(StatisticsKey.hasEdgeCount(ownership.first(), ownership.second()), encodeLong(delta))
             );
-            if (!deltaVertexCount.isEmpty() || !deltaHasEdgeCount.isEmpty()) {
+            deltaRolePlayerEdgeCount.forEach((rolePlayer, delta) ->
+                    storage.mergeUntracked(StatisticsKey.rolePlayerEdgeCount(rolePlayer.first(), rolePlayer.second()), encodeLong(delta))
+            );
+            if (!deltaVertexCount.isEmpty() || !deltaHasEdgeCount.isEmpty() || !deltaRolePlayerEdgeCount.isEmpty()) {
                 storage.mergeUntracked(StatisticsKey.snapshot(), encodeLong(1));
             }
         }
@@ -775,6 +1269,9 @@ public class ThingGraph {
             persistedHasEdgeCount.clear();
             deltaHasEdgeCount.clear();
             inferredHasEdgeCount.clear();
+            persistedRolePlayerEdgeCount.clear();
+            deltaRolePlayerEdgeCount.clear();
+            inferredRolePlayerEdgeCount.clear();
         }
     }
 }
@@ -43,6 +43,8 @@ import com.vaticle.typeql.lang.pattern.Pattern;
 import com.vaticle.typeql.lang.pattern.variable.ThingVariable;
 
 import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -52,6 +54,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Supplier;
@@ -59,6 +62,7 @@ import java.util.stream.Stream;
 
 import static com.vaticle.typedb.common.collection.Collections.pair;
 import static com.vaticle.typedb.common.collection.Collections.set;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.TRANSACTION_SCHEMA_READ_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.TypeGraph.INVALID_SCHEMA_WRITE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_FOUND;
@@ -99,6 +103,7 @@ public class TypeGraph {
 
     private final Rules rules;
     private final Statistics statistics;
+    private final Lattice lattice;
     private final Cache cache;
     private final Map<VertexIID.Type, VertexIID.Type> committedIIDs;
     private final boolean isReadOnly;
@@ -114,6 +119,7 @@ public class TypeGraph {
         multiLabelLock = newReadWriteLock();
         rules = new Rules();
         statistics = new Statistics();
+        lattice = new Lattice();
         cache = new Cache();
         committedIIDs = new HashMap<>();
         isModified = false;
@@ -180,6 +186,15 @@ public class TypeGraph {
         return statistics;
     }
 
+    /**
+     * A read-only type graph shares a single lattice across all transactions opened on the same schema, while a
+     * writable type graph hands out a fresh lattice per caller, since its closures may change with every write.
+     */
+    public Lattice lattice() {
+        if (isReadOnly) return lattice;
+        else return new Lattice();
+    }
+
     public boolean isReadOnly() {
         return isReadOnly;
     }
@@ -950,6 +965,93 @@ public class TypeGraph {
         }
     }
 
+    /**
+     * Numbers type vertices densely and stores the sub, owns, plays and relates closures of each type as bitsets
+     * over that numbering, so that type inference reduces to bitset unions and intersections. Closures are
+     * computed lazily from the cached schema indexes above, and the bitsets handed out must not be mutated.
+     */
+    public class Lattice {
+
+        public enum Closure {
+            SUPERTYPES, SUPERTYPES_TRANSITIVE, SUBTYPES, SUBTYPES_TRANSITIVE,
+            OWNS, OWNS_KEY, OWNERS, OWNERS_KEY, PLAYS, PLAYERS, RELATES, RELATIONS
+        }
+
+        private final ConcurrentMap<TypeVertex, Integer> numbers;
+        private final ConcurrentMap<Integer, TypeVertex> types;
+        private final AtomicInteger nextNumber;
+        private final Map<Closure, ConcurrentMap<Integer, BitSet>> closures;
+
+        private Lattice() {
+            numbers = new ConcurrentHashMap<>();
+            types = new ConcurrentHashMap<>();
+            nextNumber = new AtomicInteger();
+            closures = new EnumMap<>(Closure.class);
+            for (Closure closure : Closure.values()) closures.put(closure, new ConcurrentHashMap<>());
+        }
+
+        public int number(TypeVertex type) {
+            return numbers.computeIfAbsent(type, t -> {
+                int number = nextNumber.getAndIncrement();
+                types.put(number, t);
+                return number;
+            });
+        }
+
+        public TypeVertex type(int number) {
+            TypeVertex type = types.get(number);
+            assert type != null;
+            return type;
+        }
+
+        public BitSet bits(FunctionalIterator<? extends TypeVertex> types) {
+            BitSet bits = new BitSet();
+            types.forEachRemaining(type -> bits.set(number(type)));
+            return bits;
+        }
+
+        public NavigableSet<TypeVertex> types(BitSet bits) {
+            NavigableSet<TypeVertex> types = new TreeSet<>();
+            bits.stream().forEach(number -> types.add(type(number)));
+            return types;
+        }
+
+        public BitSet closure(Closure closure, int number) {
+            return closures.get(closure).computeIfAbsent(number, n -> bits(compute(closure, type(n))));
+        }
+
+        private FunctionalIterator<TypeVertex> compute(Closure closure, TypeVertex type) {
+            switch (closure) {
+                case SUPERTYPES:
+                    return type.outs().edge(SUB).to();
+                case SUPERTYPES_TRANSITIVE:
+                    return loop(type, Objects::nonNull, v -> v.outs().edge(SUB).to().firstOrNull());
+                case SUBTYPES:
+                    return type.ins().edge(SUB).from();
+                case SUBTYPES_TRANSITIVE:
+                    return iterate(getSubtypes(type));
+                case OWNS:
+                    return iterate(ownedAttributeTypes(type));
+                case OWNS_KEY:
+                    return iterate(ownedKeyAttributeTypes(type));
+                case OWNERS:
+                    return iterate(ownersOfAttributeType(type));
+                case OWNERS_KEY:
+                    return iterate(ownersOfAttributeTypeKey(type));
+                case PLAYS:
+                    return iterate(playedRoleTypes(type));
+                case PLAYERS:
+                    return iterate(playersOfRoleType(type));
+                case RELATES:
+                    return iterate(relatedRoleTypes(type));
+                case RELATIONS:
+                    return iterate(relationsOfRoleType(type));
+                default:
+                    throw TypeDBException.of(UNRECOGNISED_VALUE);
+            }
+        }
+    }
+
     public class Statistics {
 
         private static final int UNSET_COUNT = -1;
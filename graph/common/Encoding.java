@@ -54,14 +54,15 @@ public class Encoding {
 
     public static final String ROCKS_DATA = "data";
     public static final String ROCKS_SCHEMA = "schema";
-    public static final int ENCODING_VERSION = 2;
+    public static final int ENCODING_VERSION = 3;
 
     public enum Partition {
         DEFAULT(0),
         VARIABLE_START_EDGE(1),
         FIXED_START_EDGE(2),
         OPTIMISATION_EDGE(3),
-        METADATA(4);
+        METADATA(4),
+        TEXT_INDEX(5);
 
         private final byte ID;
 
@@ -153,7 +154,10 @@ public class Encoding {
         // leave large open range for future indices
         INDEX_TYPE(20, PrefixType.INDEX),
         INDEX_RULE(21, PrefixType.INDEX),
+        INDEX_TEXT(22, PrefixType.INDEX),
         METADATA_STATISTICS(60, PrefixType.METADATA),
+        METADATA_TRAVERSAL_PLAN(61, PrefixType.METADATA),
+        METADATA_MATERIALISATION(62, PrefixType.METADATA),
         VERTEX_THING_TYPE(100, PrefixType.TYPE),
         VERTEX_ENTITY_TYPE(110, PrefixType.TYPE),
         VERTEX_ATTRIBUTE_TYPE(111, PrefixType.TYPE),
@@ -169,7 +173,10 @@ public class Encoding {
                 pair(SYSTEM.key, SYSTEM),
                 pair(INDEX_TYPE.key, INDEX_TYPE),
                 pair(INDEX_RULE.key, INDEX_RULE),
+                pair(INDEX_TEXT.key, INDEX_TEXT),
                 pair(METADATA_STATISTICS.key, METADATA_STATISTICS),
+                pair(METADATA_TRAVERSAL_PLAN.key, METADATA_TRAVERSAL_PLAN),
+                pair(METADATA_MATERIALISATION.key, METADATA_MATERIALISATION),
                 pair(VERTEX_THING_TYPE.key, VERTEX_THING_TYPE),
                 pair(VERTEX_ENTITY_TYPE.key, VERTEX_ENTITY_TYPE),
                 pair(VERTEX_ATTRIBUTE_TYPE.key, VERTEX_ATTRIBUTE_TYPE),
@@ -256,6 +263,7 @@ public class Encoding {
         PROPERTY_THEN(6),
         PROPERTY_VALUE(7),
         PROPERTY_VALUE_REF(8),
+        PROPERTY_TEXT_INDEXED(9),
         EDGE_ISA_BACKWARD(-40), // EDGE_ISA_FORWARD does not exist by design
         EDGE_SUB_FORWARD(50),
         EDGE_SUB_BACKWARD(-50),
@@ -286,6 +294,7 @@ public class Encoding {
                 pair(PROPERTY_THEN.key, PROPERTY_THEN),
                 pair(PROPERTY_VALUE.key, PROPERTY_VALUE),
                 pair(PROPERTY_VALUE_REF.key, PROPERTY_VALUE_REF),
+                pair(PROPERTY_TEXT_INDEXED.key, PROPERTY_TEXT_INDEXED),
                 pair(EDGE_ISA_BACKWARD.key, EDGE_ISA_BACKWARD),
                 pair(EDGE_SUB_FORWARD.key, EDGE_SUB_FORWARD),
                 pair(EDGE_SUB_BACKWARD.key, EDGE_SUB_BACKWARD),
@@ -352,7 +361,8 @@ public class Encoding {
         VALUE_REF(Infix.PROPERTY_VALUE_REF),
         VALUE(Infix.PROPERTY_VALUE),
         WHEN(Infix.PROPERTY_WHEN),
-        THEN(Infix.PROPERTY_THEN);
+        THEN(Infix.PROPERTY_THEN),
+        TEXT_INDEXED(Infix.PROPERTY_TEXT_INDEXED);
 
         private final Infix infix;
 
@@ -379,6 +389,8 @@ public class Encoding {
         public static final Charset STRING_ENCODING = UTF_8;
         public static final int STRING_SIZE_ENCODING = SHORT_SIZE;
         public static final int STRING_MAX_SIZE = SHORT_UNSIGNED_MAX_VALUE;
+        public static final int STRING_INLINE_MAX_SIZE = 256;
+        public static final int STRING_HASH_SIZE = 16;
         public static final double DOUBLE_PRECISION = 0.0000000000000001;
 
         private static final ByteMap<ValueType> valueTypeByKey = ByteMap.create(
@@ -480,6 +492,14 @@ public class Encoding {
             return COMPARABLES.get(this).contains(valueType);
         }
 
+        /**
+         * Whether attributes of this value type are stored in the order of their values, allowing
+         * value ranges to be scanned by seeking. Strings are excluded as they are prefixed by their length.
+         */
+        public boolean isSortedByValue() {
+            return this == LONG || this == DOUBLE || this == DATETIME;
+        }
+
         public TypeQLArg.ValueType typeQLValueType() {
             return typeQLValueType;
         }
@@ -860,7 +880,8 @@ public class Encoding {
 
         enum Prefix {
             TYPE(Encoding.Prefix.INDEX_TYPE),
-            RULE(Encoding.Prefix.INDEX_RULE);
+            RULE(Encoding.Prefix.INDEX_RULE),
+            TEXT(Encoding.Prefix.INDEX_TEXT);
 
             private final Encoding.Prefix prefix;
 
@@ -916,6 +937,7 @@ public class Encoding {
                 SNAPSHOT(0),
                 VERTEX_COUNT(10),
                 HAS_EDGE_COUNT(20),
+                ROLE_PLAYER_EDGE_COUNT(30),
                 MISCOUNTABLE(50),
                 TXN_COMMITTED_ID(60);
 
@@ -960,6 +982,56 @@ public class Encoding {
                 }
             }
         }
+
+        interface Materialisation {
+
+            enum Prefix {
+
+                RULE(0),
+                PENDING(10),
+                FACT(20),
+                DERIVED(30);
+
+                static final int LENGTH = 2;
+
+                private final ByteArray bytes;
+
+                Prefix(int key) {
+                    this.bytes = ByteArray.join(
+                            Encoding.Prefix.METADATA_MATERIALISATION.bytes(),
+                            ByteArray.of(new byte[]{unsignedByte(key)})
+                    );
+                }
+
+                public ByteArray bytes() {
+                    return this.bytes;
+                }
+            }
+
+            enum Infix {
+                RELATION(0),
+                HAS(1),
+                THING(2);
+
+                public static final int LENGTH = 1;
+
+                private final byte key;
+                private final ByteArray bytes;
+
+                Infix(int key) {
+                    this.key = unsignedByte(key);
+                    this.bytes = ByteArray.of(new byte[]{this.key});
+                }
+
+                public ByteArray bytes() {
+                    return bytes;
+                }
+
+                public byte key() {
+                    return key;
+                }
+            }
+        }
     }
 
     public enum System {
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+
+package com.vaticle.typedb.core.graph.common;
+
+import com.vaticle.typedb.common.collection.Pair;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.graph.common.Encoding.Metadata.Materialisation;
+import com.vaticle.typedb.core.graph.iid.StructureIID;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+
+import static com.vaticle.typedb.core.common.collection.ByteArray.join;
+
+/**
+ * Keys that record which rules have their conclusions materialised as persisted data, which facts each of those
+ * rules has written, and how many concurrent commits may have left those facts out of date. Every fact written by
+ * any rule is also recorded as derived, independently of the rule, so that reads can tell it apart from base data.
+ */
+public class MaterialisationKey implements Storage.Key {
+
+    private static final Partition PARTITION = Partition.METADATA;
+    private static final int FACT_INFIX_INDEX = Materialisation.Prefix.LENGTH + StructureIID.LENGTH;
+
+    private final ByteArray bytes;
+
+    private MaterialisationKey(ByteArray bytes) {
+        assert bytes.hasPrefix(Encoding.Prefix.METADATA_MATERIALISATION.bytes());
+        this.bytes = bytes;
+    }
+
+    @Override
+    public ByteArray bytes() {
+        return bytes;
+    }
+
+    @Override
+    public Partition partition() {
+        return PARTITION;
+    }
+
+    public static MaterialisationKey rule(StructureIID.Rule ruleIID) {
+        return new MaterialisationKey(join(Materialisation.Prefix.RULE.bytes(), ruleIID.bytes()));
+    }
+
+    public static Prefix<MaterialisationKey> rulePrefix() {
+        return new Prefix<>(Materialisation.Prefix.RULE.bytes(), PARTITION, MaterialisationKey::new);
+    }
+
+    public static MaterialisationKey pending(StructureIID.Rule ruleIID) {
+        return new MaterialisationKey(join(Materialisation.Prefix.PENDING.bytes(), ruleIID.bytes()));
+    }
+
+    public static Prefix<MaterialisationKey> pendingPrefix() {
+        return new Prefix<>(Materialisation.Prefix.PENDING.bytes(), PARTITION, MaterialisationKey::new);
+    }
+
+    public static MaterialisationKey relation(StructureIID.Rule ruleIID, VertexIID.Thing relationIID) {
+        return new MaterialisationKey(join(
+                Materialisation.Prefix.FACT.bytes(),
+                ruleIID.bytes(),
+                Materialisation.Infix.RELATION.bytes(),
+                relationIID.bytes()
+        ));
+    }
+
+    public static MaterialisationKey has(StructureIID.Rule ruleIID, VertexIID.Thing ownerIID, VertexIID.Attribute<?> attIID) {
+        return new MaterialisationKey(join(
+                Materialisation.Prefix.FACT.bytes(),
+                ruleIID.bytes(),
+                Materialisation.Infix.HAS.bytes(),
+                ownerIID.bytes(),
+                attIID.bytes()
+        ));
+    }
+
+    public static Prefix<MaterialisationKey> factPrefix(StructureIID.Rule ruleIID) {
+        return new Prefix<>(join(Materialisation.Prefix.FACT.bytes(), ruleIID.bytes()), PARTITION, MaterialisationKey::new);
+    }
+
+    public static MaterialisationKey derived(VertexIID.Thing thingIID) {
+        return new MaterialisationKey(join(
+                Materialisation.Prefix.DERIVED.bytes(),
+                Materialisation.Infix.THING.bytes(),
+                thingIID.bytes()
+        ));
+    }
+
+    public static MaterialisationKey derived(VertexIID.Thing ownerIID, VertexIID.Attribute<?> attIID) {
+        return new MaterialisationKey(join(
+                Materialisation.Prefix.DERIVED.bytes(),
+                Materialisation.Infix.HAS.bytes(),
+                ownerIID.bytes(),
+                attIID.bytes()
+        ));
+    }
+
+    public StructureIID.Rule rule() {
+        return StructureIID.Rule.extract(bytes, Materialisation.Prefix.LENGTH);
+    }
+
+    public boolean isRelation() {
+        return bytes.get(FACT_INFIX_INDEX) == Materialisation.Infix.RELATION.key();
+    }
+
+    public boolean isHas() {
+        return bytes.get(FACT_INFIX_INDEX) == Materialisation.Infix.HAS.key();
+    }
+
+    public VertexIID.Thing relation() {
+        assert isRelation();
+        return VertexIID.Thing.extract(bytes, FACT_INFIX_INDEX + Materialisation.Infix.LENGTH);
+    }
+
+    public Pair<VertexIID.Thing, VertexIID.Attribute<?>> has() {
+        assert isHas();
+        VertexIID.Thing owner = VertexIID.Thing.extract(bytes, FACT_INFIX_INDEX + Materialisation.Infix.LENGTH);
+        return new Pair<>(owner, VertexIID.Attribute.extract(
+                bytes, FACT_INFIX_INDEX + Materialisation.Infix.LENGTH + owner.bytes().length()
+        ));
+    }
+}
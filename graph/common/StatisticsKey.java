@@ -62,6 +62,14 @@ public class StatisticsKey implements Storage.Key {
         ));
     }
 
+    public static StatisticsKey rolePlayerEdgeCount(VertexIID.Type roleTypeIID, VertexIID.Type playerTypeIID) {
+        return new StatisticsKey(join(
+                Statistics.Prefix.ROLE_PLAYER_EDGE_COUNT.bytes(),
+                roleTypeIID.bytes(),
+                playerTypeIID.bytes()
+        ));
+    }
+
     public static StatisticsKey snapshot() {
         return new StatisticsKey(Statistics.Prefix.SNAPSHOT.bytes());
     }
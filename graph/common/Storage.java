@@ -22,8 +22,10 @@ import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.collection.KeyValue;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
+import com.vaticle.typedb.core.graph.iid.IndexIID;
 import com.vaticle.typedb.core.graph.iid.InfixIID;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
 
@@ -96,6 +98,14 @@ public interface Storage {
         void trackModified(ByteArray key);
 
         void trackExclusiveBytes(ByteArray bytes);
+
+        /**
+         * Write keys straight to the database in bounded batches, outside of this transaction's isolation and
+         * atomicity. The caller must guarantee that no concurrent transaction writes the same keys.
+         */
+        void putDirect(FunctionalIterator<? extends Key> keys);
+
+        void deleteDirect(FunctionalIterator<? extends Key> keys);
     }
 
     interface Key extends Comparable<Key> {
@@ -105,7 +115,8 @@ public interface Storage {
             VARIABLE_START_EDGE(Encoding.Partition.VARIABLE_START_EDGE, null),
             FIXED_START_EDGE(Encoding.Partition.FIXED_START_EDGE, VertexIID.Thing.DEFAULT_LENGTH + InfixIID.Thing.DEFAULT_LENGTH + VertexIID.Thing.PREFIX_W_TYPE_LENGTH),
             OPTIMISATION_EDGE(Encoding.Partition.OPTIMISATION_EDGE, VertexIID.Thing.DEFAULT_LENGTH + InfixIID.Thing.RolePlayer.LENGTH + VertexIID.Thing.PREFIX_W_TYPE_LENGTH),
-            METADATA(Encoding.Partition.METADATA, null);
+            METADATA(Encoding.Partition.METADATA, null),
+            TEXT_INDEX(Encoding.Partition.TEXT_INDEX, IndexIID.Text.PREFIX_W_GRAM_LENGTH);
 
             private final Encoding.Partition encoding;
             private final Integer fixedStartBytes;
@@ -121,6 +132,8 @@ public interface Storage {
                     return OPTIMISATION_EDGE;
                 } else if (ID == Encoding.Partition.METADATA.ID()) {
                     return METADATA;
+                } else if (ID == Encoding.Partition.TEXT_INDEX.ID()) {
+                    return TEXT_INDEX;
                 } else {
                     throw TypeDBException.of(UNRECOGNISED_VALUE);
                 }
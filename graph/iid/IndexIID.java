@@ -24,9 +24,13 @@ import com.vaticle.typedb.core.graph.common.Encoding.Index;
 import com.vaticle.typedb.core.graph.common.Storage.Key;
 
 import javax.annotation.Nullable;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeInt;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeString;
 import static com.vaticle.typedb.core.common.collection.ByteArray.join;
+import static com.vaticle.typedb.core.common.collection.Bytes.INTEGER_SIZE;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 
 public abstract class IndexIID extends PartitionedIID {
@@ -188,4 +192,84 @@ public abstract class IndexIID extends PartitionedIID {
             return readableString;
         }
     }
+
+    /**
+     * Text index entries of the string attributes of an attribute type, keyed by the hashes of the trigrams of their
+     * case-folded values. Collisions between trigram hashes only widen the set of candidate attributes, which are
+     * always verified against the original predicate.
+     */
+    public static class Text extends IndexIID {
+
+        public static final int GRAM_LENGTH = INTEGER_SIZE;
+        public static final int PREFIX_W_GRAM_LENGTH = PrefixIID.LENGTH + VertexIID.Type.LENGTH + GRAM_LENGTH;
+        private static final int GRAM_CODE_POINTS = 3;
+
+        private Text(ByteArray bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public Partition partition() {
+            return Partition.TEXT_INDEX;
+        }
+
+        /**
+         * @return the index entry of a trigram of a string attribute of a given type
+         */
+        public static Text of(VertexIID.Type typeIID, int gram, VertexIID.Attribute.String attributeIID) {
+            return new Text(join(Index.Prefix.TEXT.bytes(), typeIID.bytes, encodeInt(gram), attributeIID.bytes));
+        }
+
+        /**
+         * @return the prefix of the index entries of the attributes of a given type that contain a given trigram
+         */
+        public static Key.Prefix<Text> prefix(VertexIID.Type typeIID, int gram) {
+            return new Key.Prefix<>(join(Index.Prefix.TEXT.bytes(), typeIID.bytes, encodeInt(gram)),
+                    Partition.TEXT_INDEX, Text::new);
+        }
+
+        /**
+         * @return the prefix of every index entry of the attributes of a given type
+         */
+        public static Key.Prefix<Text> prefix(VertexIID.Type typeIID) {
+            return new Key.Prefix<>(join(Index.Prefix.TEXT.bytes(), typeIID.bytes), Partition.TEXT_INDEX, Text::new);
+        }
+
+        /**
+         * Returns the hashes of the trigrams of the code points of a string, after case folding them such that any
+         * substring matched case-insensitively shares all of its trigrams with the string.
+         *
+         * @param value the string to split into trigrams
+         * @return the trigram hashes in the order they first occur, which is empty for strings of under 3 code points
+         */
+        public static Set<Integer> grams(String value) {
+            int[] codePoints = value.codePoints().map(c -> Character.toLowerCase(Character.toUpperCase(c))).toArray();
+            Set<Integer> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM_CODE_POINTS <= codePoints.length; i++) {
+                long gram = 0;
+                for (int j = i; j < i + GRAM_CODE_POINTS; j++) gram = gram * (Character.MAX_CODE_POINT + 1) + codePoints[j];
+                gram *= 0x9e3779b97f4a7c15L;
+                grams.add((int) (gram ^ (gram >>> 32)));
+            }
+            return grams;
+        }
+
+        public VertexIID.Attribute.String attribute() {
+            return VertexIID.Attribute.String.extract(bytes, PREFIX_W_GRAM_LENGTH);
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                readableString = "[" + PrefixIID.LENGTH + ": " + Index.Prefix.TEXT.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(bytes.view(PrefixIID.LENGTH,
+                        PrefixIID.LENGTH + VertexIID.Type.LENGTH)).toString() + "]" +
+                        "[" + GRAM_LENGTH + ": " + bytes.view(PrefixIID.LENGTH + VertexIID.Type.LENGTH,
+                        PREFIX_W_GRAM_LENGTH).decodeInt() + "]" +
+                        "[" + (bytes.length() - PREFIX_W_GRAM_LENGTH) + ": " + attribute().toString() + "]" +
+                        "[partition: " + partition() + "]";
+            }
+            return readableString;
+        }
+    }
 }
@@ -26,6 +26,10 @@ import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.common.KeyGenerator;
 import com.vaticle.typedb.core.graph.common.Storage.Key;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeDateTimeAsSorted;
 import static com.vaticle.typedb.core.common.collection.ByteArray.encodeDoubleAsSorted;
@@ -37,10 +41,12 @@ import static com.vaticle.typedb.core.common.collection.Bytes.DOUBLE_SIZE;
 import static com.vaticle.typedb.core.common.collection.Bytes.LONG_SIZE;
 import static com.vaticle.typedb.core.common.collection.Bytes.booleanToByte;
 import static com.vaticle.typedb.core.common.collection.Bytes.byteToBoolean;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_IID_CASTING;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
-import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_MAX_SIZE;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_HASH_SIZE;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_INLINE_MAX_SIZE;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_SIZE_ENCODING;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.TIME_ZONE_ID;
 import static com.vaticle.typedb.core.graph.common.Encoding.Vertex.Thing.ATTRIBUTE;
@@ -156,6 +162,18 @@ public abstract class VertexIID extends PartitionedIID {
                     typeIID.bytes, keyGenerator.forThing(typeIID, typeLabel)));
         }
 
+        /**
+         * Construct the IID of a {@code ThingVertex} of a given {@code TypeVertex} with a given sorted key
+         *
+         * @param typeIID {@code IID} of the {@code TypeVertex} in which this {@code ThingVertex} is an instance of
+         * @param key     the key of the {@code ThingVertex} within its type, as generated by {@code KeyGenerator.Data}
+         * @return the IID of a {@code ThingVertex}
+         */
+        public static VertexIID.Thing of(Type typeIID, long key) {
+            assert !typeIID.encoding().equals(ATTRIBUTE_TYPE);
+            return new Thing(join(typeIID.encoding().instance().prefix().bytes(), typeIID.bytes, encodeLongAsSorted(key)));
+        }
+
         public static VertexIID.Thing of(ByteArray bytes) {
             if (Encoding.Vertex.Type.of(bytes.get(PrefixIID.LENGTH)).equals(ATTRIBUTE_TYPE)) {
                 return VertexIID.Attribute.of(bytes);
@@ -189,6 +207,11 @@ public abstract class VertexIID extends PartitionedIID {
             return bytes.view(PREFIX_W_TYPE_LENGTH);
         }
 
+        public long keyAsLong() {
+            assert !isAttribute();
+            return bytes.view(PREFIX_W_TYPE_LENGTH, DEFAULT_LENGTH).decodeSortedAsLong();
+        }
+
         public boolean isAttribute() {
             return false;
         }
@@ -270,6 +293,10 @@ public abstract class VertexIID extends PartitionedIID {
 
         public abstract VALUE value();
 
+        java.lang.String readableValue() {
+            return value().toString();
+        }
+
         public Encoding.ValueType valueType() {
             return valueType;
         }
@@ -309,7 +336,7 @@ public abstract class VertexIID extends PartitionedIID {
                 readableString = "[" + PrefixIID.LENGTH + ": " + ATTRIBUTE.toString() + "]" +
                         "[" + VertexIID.Type.LENGTH + ": " + type().toString() + "]" +
                         "[" + VALUE_TYPE_LENGTH + ": " + valueType().toString() + "]" +
-                        "[" + (bytes.length() - VALUE_INDEX) + ": " + value().toString() + "]" +
+                        "[" + (bytes.length() - VALUE_INDEX) + ": " + readableValue() + "]" +
                         "[partition: " + partition() + "]";
             }
             return readableString;
@@ -390,29 +417,72 @@ public abstract class VertexIID extends PartitionedIID {
             }
         }
 
+        /**
+         * Strings of up to {@code STRING_INLINE_MAX_SIZE} bytes are encoded inline, sorted by length and then by
+         * value. Longer strings are encoded with a fixed width, as their length followed by a 128-bit digest of their
+         * value, so that the IID remains a function of the value alone and concurrent puts of an equal string do not
+         * conflict. The value of a hashed string is stored once, as the value of its vertex in storage, so that the
+         * keys of edges to it do not grow with the string.
+         */
         public static class String extends Attribute<java.lang.String> {
 
+            private static final int HASHED_VALUE_LENGTH = STRING_SIZE_ENCODING + STRING_HASH_SIZE;
+            private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+                try {
+                    return MessageDigest.getInstance("SHA-256");
+                } catch (NoSuchAlgorithmException e) {
+                    throw TypeDBException.of(e);
+                }
+            });
+
             private String(ByteArray bytes) {
                 super(bytes);
             }
 
             public String(VertexIID.Type typeIID, java.lang.String value) throws TypeDBCheckedException {
-                super(Encoding.ValueType.STRING, typeIID, encodeStringAsSorted(value, STRING_ENCODING));
-                assert bytes.length() <= STRING_MAX_SIZE + STRING_SIZE_ENCODING;
+                super(Encoding.ValueType.STRING, typeIID, encodeValue(value));
+                assert bytes.length() <= VALUE_INDEX + STRING_SIZE_ENCODING + STRING_INLINE_MAX_SIZE;
+            }
+
+            private static ByteArray encodeValue(java.lang.String value) throws TypeDBCheckedException {
+                ByteArray sorted = encodeStringAsSorted(value, STRING_ENCODING);
+                if (sorted.length() - STRING_SIZE_ENCODING <= STRING_INLINE_MAX_SIZE) return sorted;
+                return join(sorted.view(0, STRING_SIZE_ENCODING), digest(sorted.view(STRING_SIZE_ENCODING)));
+            }
+
+            private static ByteArray digest(ByteArray bytes) {
+                // SHA-256 truncated to 128 bits, so that distinct values are not expected to collide
+                byte[] digest = DIGEST.get().digest(bytes.getBytes());
+                return ByteArray.of(Arrays.copyOf(digest, STRING_HASH_SIZE));
             }
 
             public static VertexIID.Attribute.String extract(ByteArray bytes, int from) {
                 int attValIndex = from + VALUE_INDEX;
                 int strValLen = bytes.view(attValIndex, attValIndex + STRING_SIZE_ENCODING).decodeUnsignedShort();
-                int stringEnd = from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + STRING_SIZE_ENCODING + strValLen;
+                int valueLength = strValLen > STRING_INLINE_MAX_SIZE ? HASHED_VALUE_LENGTH : STRING_SIZE_ENCODING + strValLen;
+                int stringEnd = from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + valueLength;
                 return new VertexIID.Attribute.String(bytes.view(from, stringEnd));
             }
 
+            public boolean isHashed() {
+                return bytes.view(VALUE_INDEX, VALUE_INDEX + STRING_SIZE_ENCODING).decodeUnsignedShort() > STRING_INLINE_MAX_SIZE;
+            }
+
+            /**
+             * The value of a hashed string is not contained in its IID, and must be read from its vertex instead.
+             */
             @Override
             public java.lang.String value() {
+                if (isHashed()) throw TypeDBException.of(ILLEGAL_OPERATION);
                 return bytes.view(VALUE_INDEX, bytes.length()).decodeSortedAsString(STRING_ENCODING);
             }
 
+            @Override
+            java.lang.String readableValue() {
+                if (!isHashed()) return value();
+                return "#" + bytes.view(VALUE_INDEX + STRING_SIZE_ENCODING, bytes.length()).toHexString();
+            }
+
             @Override
             public String asString() {
                 return this;
@@ -69,6 +69,10 @@ public interface TypeVertex extends Vertex<VertexIID.Type, Encoding.Vertex.Type>
 
     TypeVertex regex(Pattern regex);
 
+    boolean isTextIndexed();
+
+    TypeVertex isTextIndexed(boolean isTextIndexed);
+
     boolean isEntityType();
 
     boolean isAttributeType();
@@ -18,6 +18,7 @@
 
 package com.vaticle.typedb.core.graph.vertex.impl;
 
+import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.graph.ThingGraph;
 import com.vaticle.typedb.core.graph.adjacency.ThingAdjacency;
@@ -32,6 +33,7 @@ import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_VERTEX_CASTING;
 import static com.vaticle.typedb.core.graph.common.Encoding.Status.BUFFERED;
 import static com.vaticle.typedb.core.graph.common.Encoding.Status.PERSISTED;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 
 public abstract class AttributeVertexImpl {
 
@@ -219,10 +221,19 @@ public abstract class AttributeVertexImpl {
 
         public static class String extends AttributeVertexImpl.Read<java.lang.String> {
 
+            private java.lang.String value;
+
             public String(ThingGraph graph, VertexIID.Attribute.String iid) {
                 super(graph, iid);
             }
 
+            @Override
+            public java.lang.String value() {
+                if (!iid().asString().isHashed()) return super.value();
+                if (value == null) value = graph.storage().get(iid).decodeString(STRING_ENCODING);
+                return value;
+            }
+
             @Override
             public boolean isString() {
                 return true;
@@ -493,6 +504,8 @@ public abstract class AttributeVertexImpl {
 
         public static class String extends AttributeVertexImpl.Write<java.lang.String> {
 
+            private java.lang.String value;
+
             public String(ThingGraph graph, VertexIID.Attribute.String iid) {
                 this(graph, iid, false);
             }
@@ -501,6 +514,35 @@ public abstract class AttributeVertexImpl {
                 super(graph, iid, isInferred);
             }
 
+            public String(ThingGraph graph, VertexIID.Attribute<java.lang.String> iid, java.lang.String value,
+                          boolean isInferred) {
+                this(graph, iid, isInferred);
+                this.value = value;
+            }
+
+            @Override
+            public java.lang.String value() {
+                if (!iid().asString().isHashed()) return super.value();
+                if (value == null) value = graph.storage().get(iid).decodeString(STRING_ENCODING);
+                return value;
+            }
+
+            @Override
+            public void delete() {
+                // the value of a hashed string is read from its vertex in storage, so it is loaded before deleting it
+                if (iid().asString().isHashed()) value();
+                super.delete();
+            }
+
+            @Override
+            void commitVertex() {
+                if (iid().asString().isHashed()) {
+                    graph.storage().putTracked(iid, ByteArray.encodeString(value(), STRING_ENCODING));
+                } else {
+                    super.commitVertex();
+                }
+            }
+
             @Override
             public boolean isString() {
                 return true;
@@ -47,6 +47,7 @@ import static com.vaticle.typedb.core.graph.common.Encoding.Property.ABSTRACT;
 import static com.vaticle.typedb.core.graph.common.Encoding.Property.LABEL;
 import static com.vaticle.typedb.core.graph.common.Encoding.Property.REGEX;
 import static com.vaticle.typedb.core.graph.common.Encoding.Property.SCOPE;
+import static com.vaticle.typedb.core.graph.common.Encoding.Property.TEXT_INDEXED;
 import static com.vaticle.typedb.core.graph.common.Encoding.Property.VALUE_TYPE;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 import static com.vaticle.typedb.core.graph.common.Encoding.Vertex.Type.ATTRIBUTE_TYPE;
@@ -70,6 +71,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
     Boolean isAbstract; // needs to be declared as the Boolean class
     Encoding.ValueType valueType;
     Pattern regex;
+    Boolean isTextIndexed;
 
     private volatile int outOwnsCount;
     private volatile int outPlaysCount;
@@ -345,6 +347,19 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return this;
         }
 
+        @Override
+        public boolean isTextIndexed() {
+            return isTextIndexed != null ? isTextIndexed : false;
+        }
+
+        @Override
+        public TypeVertexImpl isTextIndexed(boolean isTextIndexed) {
+            assert !isDeleted();
+            this.isTextIndexed = isTextIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public void delete() {
             if (isDeleted.compareAndSet(false, true)) {
@@ -373,6 +388,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             if (isAbstract != null && isAbstract) commitPropertyAbstract();
             if (valueType != null) commitPropertyValueType();
             if (regex != null) commitPropertyRegex();
+            if (isTextIndexed != null && isTextIndexed) commitPropertyTextIndexed();
         }
 
         private void commitPropertyScope() {
@@ -394,6 +410,10 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         private void commitPropertyRegex() {
             graph.storage().putUntracked(PropertyIID.Type.of(iid, REGEX), encodeString(regex.pattern(), STRING_ENCODING));
         }
+
+        private void commitPropertyTextIndexed() {
+            graph.storage().putUntracked(PropertyIID.Type.of(iid, TEXT_INDEXED));
+        }
     }
 
     public static class Persisted extends TypeVertexImpl {
@@ -512,6 +532,24 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return this;
         }
 
+        @Override
+        public boolean isTextIndexed() {
+            if (isTextIndexed != null) return isTextIndexed;
+            ByteArray flag = graph.storage().get(PropertyIID.Type.of(iid, TEXT_INDEXED));
+            isTextIndexed = flag != null;
+            return isTextIndexed;
+        }
+
+        @Override
+        public TypeVertexImpl isTextIndexed(boolean isTextIndexed) {
+            assert !isDeleted();
+            if (isTextIndexed) graph.storage().putUntracked(PropertyIID.Type.of(iid, TEXT_INDEXED));
+            else graph.storage().deleteUntracked(PropertyIID.Type.of(iid, TEXT_INDEXED));
+            this.isTextIndexed = isTextIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public void commit() {
             commitEdges();
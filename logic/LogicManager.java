@@ -43,6 +43,7 @@ import java.util.stream.Collectors;
 import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.RuleWrite.CONTRADICTORY_RULE_CYCLE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.RuleWrite.MATERIALISED_RULE_MODIFIED;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.logic.LogicManager.RuleExporter.writeRule;
@@ -54,12 +55,16 @@ public class LogicManager {
     private final ConceptManager conceptMgr;
     private final TypeInference typeInference;
     private final LogicCache logicCache;
+    private final MaterialisedRules materialisedRules;
+    private final Saturation saturation;
 
     public LogicManager(GraphManager graphMgr, ConceptManager conceptMgr, TraversalEngine traversalEng, LogicCache logicCache) {
         this.graphMgr = graphMgr;
         this.conceptMgr = conceptMgr;
         this.logicCache = logicCache;
         this.typeInference = new TypeInference(logicCache, traversalEng, graphMgr);
+        this.materialisedRules = new MaterialisedRules(this, graphMgr, conceptMgr, traversalEng);
+        this.saturation = new Saturation(this, conceptMgr, traversalEng, materialisedRules);
     }
 
     GraphManager graph() { return graphMgr; }
@@ -69,6 +74,7 @@ public class LogicManager {
     }
 
     public void deleteAndInvalidateRule(Rule rule) {
+        if (materialisedRules.isMaterialised(rule)) throw TypeDBException.of(MATERIALISED_RULE_MODIFIED, rule.getLabel());
         rule.delete();
         logicCache.rule().invalidate(rule.getLabel());
     }
@@ -99,6 +105,77 @@ public class LogicManager {
         return graphMgr.schema().rules().conclusions().concludesEdgeTo(graphMgr.schema().getType(attributeType)).map(this::fromStructure);
     }
 
+    /**
+     * Persist the conclusions of a rule as data, maintained on every data commit, so that reading them does not
+     * require reasoning. The conclusions are computed on commit, at which point every rule whose conclusions the
+     * rule reads must be materialised as well.
+     */
+    public void materialise(Rule rule) {
+        materialisedRules.materialise(rule);
+    }
+
+    /**
+     * Retract the persisted conclusions of a materialised rule, and stop maintaining them. On commit, no materialised
+     * rule may still read the rule's conclusions.
+     */
+    public void dematerialise(Rule rule) {
+        materialisedRules.dematerialise(rule);
+    }
+
+    public boolean isMaterialised(Rule rule) {
+        return materialisedRules.isMaterialised(rule);
+    }
+
+    /**
+     * @return true if the rule's conclusions are persisted and known to be up to date, so they need not be reasoned
+     */
+    public boolean isMaterialisationCurrent(Rule rule) {
+        return materialisedRules.isCurrent(rule);
+    }
+
+    public Set<Rule> materialisationsMaintained() {
+        return materialisedRules.maintained();
+    }
+
+    /**
+     * @return the labels of the types that the condition of a rule reads, and so that its conclusions depend on
+     */
+    public Set<Label> materialisationReads(Rule rule) {
+        return MaterialisedRules.reads(rule.when());
+    }
+
+    /**
+     * Called on data commit, before things are validated, to bring the conclusions of materialised rules up to date
+     * with the data written in this transaction
+     */
+    public void maintainMaterialisations() {
+        materialisedRules.maintain();
+    }
+
+    /**
+     * Record that the conclusions of a materialised rule may be out of date, since this transaction maintained them
+     * concurrently with another
+     */
+    public void materialisationStale(Rule rule) {
+        materialisedRules.stale(rule);
+    }
+
+    /**
+     * Recompute the conclusions of materialised rules that may have been left out of date by overlapping commits,
+     * in place of their incremental maintenance on the next data commit
+     */
+    public void correctMaterialisations() {
+        materialisedRules.correct();
+    }
+
+    /**
+     * Infer every conclusion of the given rules, and of the rules they depend on, into this transaction, so that
+     * their conclusions can be read by traversal without reasoning
+     */
+    public void saturate(Set<Rule> rules) {
+        saturation.saturate(rules);
+    }
+
     private FunctionalIterator<Rule> rulesWithNegations() {
         return rules().filter(rule -> !rule.when().negations().isEmpty());
     }
@@ -122,6 +199,9 @@ public class LogicManager {
 
         // using the new index, validate new rules are stratifiable (eg. do not cause cycles through a negation)
         validateCyclesThroughNegations(conceptMgr, this);
+
+        // new rules must not conclude what materialised rules read, unless they are materialised too
+        materialisedRules.validate();
     }
 
     private Rule fromStructure(RuleStructure ruleStructure) {
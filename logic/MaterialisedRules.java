@@ -0,0 +1,450 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.logic;
+
+import com.vaticle.typedb.common.collection.ConcurrentSet;
+import com.vaticle.typedb.common.collection.Pair;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.Iterators;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Relation;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.type.Type;
+import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
+import com.vaticle.typedb.core.logic.Rule.Conclusion;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.pattern.Negation;
+import com.vaticle.typedb.core.traversal.TraversalEngine;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.RuleWrite.MATERIALISED_RULE_DEPENDS_ON_INFERENCE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static com.vaticle.typedb.core.logic.Materialiser.getAttribute;
+import static com.vaticle.typedb.core.logic.Materialiser.insert;
+import static com.vaticle.typedb.core.logic.Materialiser.matchRelation;
+import static com.vaticle.typedb.core.logic.Materialiser.putAttribute;
+
+/**
+ * Keeps the conclusions of materialised rules persisted, so that they can be read by any transaction without
+ * reasoning. Every persisted conclusion is recorded as derived, so that queries that do not reason, and exports,
+ * leave it out just as they leave out inferred facts.
+ *
+ * On each data commit, materialised rules are visited one strongly connected component of the rule dependency graph
+ * at a time, dependencies first, and only those that read a type touched by the transaction are maintained. When
+ * nothing they read was deleted, new conclusions are derived semi-naively, by binding each thing touched in the
+ * transaction, or concluded in the previous round, into the rule's condition. Otherwise, conclusions are recomputed:
+ * non-recursive rules keep the facts that still hold and retract the rest, while recursive components retract all
+ * their facts and rederive them (delete and rederive).
+ *
+ * A recompute evaluates the full condition of every rule in the component, so its cost grows with the data the
+ * rules read rather than with the size of the commit. Every commit that deletes a thing of a type read by a
+ * materialised rule pays it, and so do rules with negations on any write to a type they read. Rules that read
+ * frequently deleted types are better left to reasoning.
+ *
+ * Materialising or dematerialising a rule, and maintaining its conclusions, are tracked writes of the rule's flag:
+ * dematerialising conflicts with overlapping transactions that maintain or materialise the rule. Commits that
+ * overlap with a commit maintaining a rule, and write a type the rule reads, mark the rule stale, so that its
+ * conclusions are recomputed by the materialisation corrector.
+ */
+class MaterialisedRules {
+
+    private final LogicManager logicMgr;
+    private final GraphManager graphMgr;
+    private final ConceptManager conceptMgr;
+    private final TraversalEngine traversalEng;
+    private final Set<Rule> recomputes;
+    private final Set<Rule> maintained;
+    private final ConcurrentMap<Rule, Boolean> isCurrent;
+
+    MaterialisedRules(LogicManager logicMgr, GraphManager graphMgr, ConceptManager conceptMgr,
+                      TraversalEngine traversalEng) {
+        this.logicMgr = logicMgr;
+        this.graphMgr = graphMgr;
+        this.conceptMgr = conceptMgr;
+        this.traversalEng = traversalEng;
+        this.recomputes = new HashSet<>();
+        this.maintained = new ConcurrentSet<>();
+        this.isCurrent = new ConcurrentHashMap<>();
+    }
+
+    boolean isMaterialised(Rule rule) {
+        return graphMgr.data().isMaterialised(rule.iid());
+    }
+
+    boolean isCurrent(Rule rule) {
+        return isCurrent.computeIfAbsent(rule, r -> isMaterialised(r) && graphMgr.data().materialisationsPending(r.iid()) == 0);
+    }
+
+    Set<Rule> maintained() {
+        return maintained;
+    }
+
+    void materialise(Rule rule) {
+        if (isMaterialised(rule)) return;
+        graphMgr.data().materialise(rule.iid());
+        recomputes.add(rule);
+    }
+
+    void dematerialise(Rule rule) {
+        if (!isMaterialised(rule)) return;
+        graphMgr.data().materialisedRelations(rule.iid()).toList().forEach(this::retract);
+        graphMgr.data().materialisedOwnerships(rule.iid()).toList().forEach(this::retract);
+        graphMgr.data().dematerialise(rule.iid());
+        recomputes.remove(rule);
+    }
+
+    void stale(Rule rule) {
+        graphMgr.data().materialisationsPending(rule.iid(), 1);
+    }
+
+    /**
+     * Recompute the conclusions of every materialised rule whose facts may have been left out of date by commits
+     * that overlapped with other commits maintaining the same rules.
+     */
+    void correct() {
+        graphMgr.data().materialisationsPending().toList().forEach(iid -> {
+            long pending = graphMgr.data().materialisationsPending(iid);
+            logicMgr.rules().filter(rule -> rule.iid().equals(iid)).forEachRemaining(recomputes::add);
+            graphMgr.data().materialisationsPending(iid, -pending);
+        });
+    }
+
+    /**
+     * Validate that materialised rules only read the conclusions of other materialised rules. This must hold
+     * whenever the rules, or which of them are materialised, change.
+     */
+    void validate() {
+        materialisedRules().forEach(this::dependencies);
+    }
+
+    void maintain() {
+        List<Rule> rules = materialisedRules();
+        if (rules.isEmpty()) return;
+        Map<Rule, Set<Rule>> dependencies = new HashMap<>();
+        rules.forEach(rule -> dependencies.put(rule, dependencies(rule)));
+        Set<Thing> touched = touched();
+        for (Set<Rule> component : components(dependencies)) {
+            Set<Label> touchedTypes = iterate(touched).map(thing -> thing.getType().getLabel()).toSet();
+            Set<Label> deleted = iterate(graphMgr.data().typesDeleted())
+                    .map(type -> graphMgr.schema().convert(type).properLabel()).toSet();
+            Set<Label> reads = iterate(component).flatMap(rule -> iterate(reads(rule.when()))).toSet();
+            boolean recompute = iterate(component).anyMatch(recomputes::contains);
+            if (!recompute && Collections.disjoint(reads, touchedTypes) && Collections.disjoint(reads, deleted)) continue;
+
+            maintained.addAll(component);
+            component.forEach(rule -> graphMgr.data().materialisationMaintained(rule.iid()));
+            if (recompute || !Collections.disjoint(reads, deleted) ||
+                    iterate(component).anyMatch(rule -> !rule.when().negations().isEmpty())) {
+                touched.addAll(recompute(component, isRecursive(component, dependencies)));
+            } else {
+                touched.addAll(propagate(component, isRecursive(component, dependencies), touched));
+            }
+        }
+    }
+
+    private List<Rule> materialisedRules() {
+        return logicMgr.rules().filter(this::isMaterialised).toList();
+    }
+
+    private Set<Rule> dependencies(Rule rule) {
+        Set<Rule> dependencies = link(
+                iterate(rule.condition().concludablesTriggeringRules(conceptMgr, logicMgr)),
+                iterate(rule.condition().negatedConcludablesTriggeringRules(conceptMgr, logicMgr))
+        ).flatMap(concludable -> concludable.getApplicableRules(conceptMgr, logicMgr)).toSet();
+        iterate(dependencies).filter(dependency -> !isMaterialised(dependency)).first().ifPresent(dependency -> {
+            throw TypeDBException.of(MATERIALISED_RULE_DEPENDS_ON_INFERENCE, rule.getLabel(), dependency.getLabel());
+        });
+        return dependencies;
+    }
+
+    static boolean isRecursive(Set<Rule> component, Map<Rule, Set<Rule>> dependencies) {
+        return component.size() > 1 || dependencies.get(component.iterator().next()).containsAll(component);
+    }
+
+    /**
+     * @return the strongly connected components of the rule dependency graph, such that every component comes after
+     * the components it depends on
+     */
+    static List<Set<Rule>> components(Map<Rule, Set<Rule>> dependencies) {
+        Components components = new Components(dependencies);
+        dependencies.keySet().forEach(rule -> {
+            if (!components.index.containsKey(rule)) components.visit(rule);
+        });
+        return components.components;
+    }
+
+    private static class Components {
+
+        private final Map<Rule, Set<Rule>> dependencies;
+        private final Map<Rule, Integer> index;
+        private final Map<Rule, Integer> lowLink;
+        private final LinkedList<Rule> stack;
+        private final Set<Rule> onStack;
+        private final List<Set<Rule>> components;
+
+        private Components(Map<Rule, Set<Rule>> dependencies) {
+            this.dependencies = dependencies;
+            this.index = new HashMap<>();
+            this.lowLink = new HashMap<>();
+            this.stack = new LinkedList<>();
+            this.onStack = new HashSet<>();
+            this.components = new ArrayList<>();
+        }
+
+        private void visit(Rule rule) {
+            index.put(rule, index.size());
+            lowLink.put(rule, index.get(rule));
+            stack.push(rule);
+            onStack.add(rule);
+            for (Rule dependency : dependencies.get(rule)) {
+                if (!index.containsKey(dependency)) {
+                    visit(dependency);
+                    lowLink.put(rule, Math.min(lowLink.get(rule), lowLink.get(dependency)));
+                } else if (onStack.contains(dependency)) {
+                    lowLink.put(rule, Math.min(lowLink.get(rule), index.get(dependency)));
+                }
+            }
+            if (lowLink.get(rule).equals(index.get(rule))) {
+                Set<Rule> component = new HashSet<>();
+                Rule member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(rule));
+                components.add(component);
+            }
+        }
+    }
+
+    static Set<Label> reads(Conjunction conjunction) {
+        Set<Label> reads = new HashSet<>();
+        conjunction.variables().forEach(variable -> reads.addAll(variable.inferredTypes()));
+        iterate(conjunction.negations()).flatMap(negation -> iterate(negation.disjunction().conjunctions()))
+                .forEachRemaining(negated -> reads.addAll(reads(negated)));
+        return reads;
+    }
+
+    private Set<Thing> touched() {
+        return graphMgr.data().vertices().filter(vertex -> !vertex.isDeleted())
+                .map(vertex -> conceptMgr.getThing(vertex.iid().bytes())).toSet();
+    }
+
+    /**
+     * @return the things in every fact concluded
+     */
+    private Set<Thing> propagate(Set<Rule> component, boolean isRecursive, Set<Thing> touched) {
+        Set<Thing> concludedAll = new HashSet<>();
+        Set<Thing> delta = touched;
+        while (!delta.isEmpty()) {
+            Set<Thing> concluded = new HashSet<>();
+            for (Rule rule : component) {
+                for (ConceptMap answer : answers(rule, delta).toList()) {
+                    conclude(rule, answer, null, concluded);
+                }
+            }
+            concludedAll.addAll(concluded);
+            if (!isRecursive) break;
+            delta = concluded;
+        }
+        return concludedAll;
+    }
+
+    /**
+     * @return the things in every fact concluded
+     */
+    private Set<Thing> recompute(Set<Rule> component, boolean isRecursive) {
+        Set<Thing> concludedAll = new HashSet<>();
+        if (isRecursive) {
+            for (Rule rule : component) {
+                graphMgr.data().materialisedRelations(rule.iid()).toList().forEach(iid -> retract(rule, iid));
+                graphMgr.data().materialisedOwnerships(rule.iid()).toList().forEach(has -> retract(rule, has));
+            }
+            boolean concluding = true;
+            while (concluding) {
+                Set<Thing> concluded = new HashSet<>();
+                for (Rule rule : component) {
+                    for (ConceptMap answer : answers(rule.when(), map()).toList()) {
+                        conclude(rule, answer, null, concluded);
+                    }
+                }
+                concludedAll.addAll(concluded);
+                concluding = !concluded.isEmpty();
+            }
+        } else {
+            Rule rule = component.iterator().next();
+            Kept kept = new Kept();
+            for (ConceptMap answer : answers(rule.when(), map()).toList()) {
+                conclude(rule, answer, kept, concludedAll);
+            }
+            graphMgr.data().materialisedRelations(rule.iid()).filter(iid -> !kept.relations.contains(iid)).toList()
+                    .forEach(iid -> retract(rule, iid));
+            graphMgr.data().materialisedOwnerships(rule.iid()).filter(has -> !kept.ownerships.contains(has)).toList()
+                    .forEach(has -> retract(rule, has));
+        }
+        return concludedAll;
+    }
+
+    FunctionalIterator<ConceptMap> answers(Rule rule, Set<Thing> delta) {
+        return iterate(rule.when().variables()).filter(variable -> variable.isThing() && variable.id().isRetrievable())
+                .flatMap(variable -> iterate(delta)
+                        .filter(thing -> variable.inferredTypes().contains(thing.getType().getLabel()))
+                        .flatMap(thing -> answers(rule.when(), map(pair(variable.id().asRetrievable(), thing))))
+                );
+    }
+
+    FunctionalIterator<ConceptMap> answers(Conjunction conjunction, Map<Retrievable, ? extends Concept> bounds) {
+        Conjunction bounded = conjunction;
+        if (!bounds.isEmpty()) {
+            bounded = conjunction.clone();
+            bounded.bound(new ConceptMap(bounds).toMap(Type::getLabel, Thing::getIID));
+        }
+        if (!bounded.isCoherent()) return Iterators.empty();
+        return traversalEng.iterator(bounded.traversal()).map(conceptMgr::conceptMap)
+                .filter(answer -> iterate(conjunction.negations()).noneMatch(negation -> satisfied(negation, answer)))
+                .map(answer -> {
+                    if (bounds.isEmpty()) return answer;
+                    Map<Retrievable, Concept> concepts = new HashMap<>(answer.concepts());
+                    concepts.putAll(bounds);
+                    return new ConceptMap(concepts);
+                });
+    }
+
+    private boolean satisfied(Negation negation, ConceptMap answer) {
+        Disjunction disjunction = negation.disjunction();
+        return iterate(disjunction.conjunctions()).anyMatch(conjunction -> {
+            Map<Retrievable, Concept> bounds = new HashMap<>();
+            answer.forEach((id, concept) -> {
+                if (conjunction.retrieves().contains(id)) bounds.put(id, concept);
+            });
+            return answers(conjunction, bounds).hasNext();
+        });
+    }
+
+    /**
+     * Persist the conclusion of a rule for one answer of its condition, unless it already holds.
+     *
+     * @param kept      if present, collects the facts previously written by this rule that the answer concludes
+     * @param concluded collects the things in every fact written
+     */
+    private void conclude(Rule rule, ConceptMap answer, @Nullable Kept kept, Set<Thing> concluded) {
+        Conclusion.Materialisable materialisable = rule.conclusion().materialisable(answer, conceptMgr);
+        if (materialisable.isRelation()) {
+            List<Relation> existing = matchRelation(materialisable.asRelation(), traversalEng, conceptMgr).toList();
+            if (existing.isEmpty()) {
+                Relation relation = insert(materialisable.asRelation(), false);
+                graphMgr.data().materialised(rule.iid(), thingIID(relation));
+                concluded.add(relation);
+                materialisable.asRelation().players().keySet().forEach(rolePlayer -> concluded.add(rolePlayer.second()));
+            } else if (kept != null) {
+                iterate(existing).map(MaterialisedRules::thingIID)
+                        .filter(iid -> graphMgr.data().isMaterialised(rule.iid(), iid)).forEachRemaining(kept.relations::add);
+            }
+        } else if (materialisable.isHasExplicit()) {
+            Conclusion.Has.Explicit.Materialisable has = materialisable.asHasExplicit();
+            Attribute attribute = getAttribute(has.attrType(), has.value()).orElseGet(() -> {
+                Attribute created = putAttribute(has.attrType(), has.value(), false);
+                graphMgr.data().materialised(VertexIID.Attribute.of(created.getIID()));
+                return created;
+            });
+            conclude(rule, has.owner(), attribute, kept, concluded);
+        } else if (materialisable.isHasVariable()) {
+            Conclusion.Has.Variable.Materialisable has = materialisable.asHasVariable();
+            conclude(rule, has.owner(), has.attribute(), kept, concluded);
+        } else {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+    }
+
+    private void conclude(Rule rule, Thing owner, Attribute attribute, @Nullable Kept kept,
+                          Set<Thing> concluded) {
+        VertexIID.Thing ownerIID = thingIID(owner);
+        VertexIID.Attribute<?> attributeIID = VertexIID.Attribute.of(attribute.getIID());
+        if (!owner.hasNonInferred(attribute)) {
+            owner.setHas(attribute, false);
+            graphMgr.data().materialised(rule.iid(), ownerIID, attributeIID);
+            concluded.add(owner);
+            concluded.add(attribute);
+        } else if (kept != null && graphMgr.data().isMaterialised(rule.iid(), ownerIID, attributeIID)) {
+            kept.ownerships.add(pair(ownerIID, attributeIID));
+        }
+    }
+
+    private void retract(VertexIID.Thing relationIID) {
+        Thing relation = conceptMgr.getThing(relationIID.bytes());
+        if (relation != null && !relation.isDeleted()) relation.delete();
+    }
+
+    private void retract(Pair<VertexIID.Thing, VertexIID.Attribute<?>> has) {
+        Thing owner = conceptMgr.getThing(has.first().bytes());
+        Thing attribute = conceptMgr.getThing(has.second().bytes());
+        if (owner != null && attribute != null && !owner.isDeleted() && owner.hasNonInferred(attribute.asAttribute())) {
+            owner.unsetHas(attribute.asAttribute());
+        }
+        // an attribute created by a rule is deleted with the last ownership of it, so that it is not left orphaned
+        if (attribute != null && !attribute.isDeleted() && graphMgr.data().isMaterialised(has.second()) &&
+                !attribute.asAttribute().getOwners().first().isPresent()) {
+            attribute.delete();
+            graphMgr.data().dematerialised(has.second());
+        }
+    }
+
+    private void retract(Rule rule, VertexIID.Thing relationIID) {
+        retract(relationIID);
+        graphMgr.data().dematerialised(rule.iid(), relationIID);
+    }
+
+    private void retract(Rule rule, Pair<VertexIID.Thing, VertexIID.Attribute<?>> has) {
+        retract(has);
+        graphMgr.data().dematerialised(rule.iid(), has.first(), has.second());
+    }
+
+    private static class Kept {
+
+        private final Set<VertexIID.Thing> relations = new HashSet<>();
+        private final Set<Pair<VertexIID.Thing, VertexIID.Attribute<?>>> ownerships = new HashSet<>();
+    }
+
+    private static VertexIID.Thing thingIID(Thing thing) {
+        return VertexIID.Thing.of(thing.getIID());
+    }
+}
@@ -69,7 +69,7 @@ public class Materialiser {
 
     private static Optional<Materialisation> materialise(Conclusion.Has.Explicit.Materialisable materialisable) {
         Attribute attribute = getAttribute(materialisable.attrType(), materialisable.value())
-                .orElseGet(() -> putAttribute(materialisable.attrType(), materialisable.value()));
+                .orElseGet(() -> putAttribute(materialisable.attrType(), materialisable.value(), true));
         if (materialisable.owner().hasNonInferred(attribute)) return Optional.empty();
         else {
             materialisable.owner().setHas(attribute, true);
@@ -79,7 +79,7 @@ public class Materialiser {
         }
     }
 
-    private static Optional<Attribute> getAttribute(AttributeType attrType, ValueConstraint<?> value) {
+    static Optional<Attribute> getAttribute(AttributeType attrType, ValueConstraint<?> value) {
         if (attrType.isDateTime()) return Optional.ofNullable(attrType.asDateTime().get(value.asDateTime().value()));
         else if (attrType.isBoolean()) return Optional.ofNullable(attrType.asBoolean().get(value.asBoolean().value()));
         else if (attrType.isDouble()) return Optional.ofNullable(attrType.asDouble().get(value.asDouble().value()));
@@ -88,12 +88,12 @@ public class Materialiser {
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
-    private static Attribute putAttribute(AttributeType attrType, ValueConstraint<?> value) {
-        if (attrType.isDateTime()) return attrType.asDateTime().put(value.asDateTime().value(), true);
-        else if (attrType.isBoolean()) return attrType.asBoolean().put(value.asBoolean().value(), true);
-        else if (attrType.isDouble()) return attrType.asDouble().put(value.asDouble().value(), true);
-        else if (attrType.isLong()) return attrType.asLong().put(value.asLong().value(), true);
-        else if (attrType.isString()) return attrType.asString().put(value.asString().value(), true);
+    static Attribute putAttribute(AttributeType attrType, ValueConstraint<?> value, boolean isInferred) {
+        if (attrType.isDateTime()) return attrType.asDateTime().put(value.asDateTime().value(), isInferred);
+        else if (attrType.isBoolean()) return attrType.asBoolean().put(value.asBoolean().value(), isInferred);
+        else if (attrType.isDouble()) return attrType.asDouble().put(value.asDouble().value(), isInferred);
+        else if (attrType.isLong()) return attrType.asLong().put(value.asLong().value(), isInferred);
+        else if (attrType.isString()) return attrType.asString().put(value.asString().value(), isInferred);
         else throw TypeDBException.of(ILLEGAL_STATE);
     }
 
@@ -110,7 +110,7 @@ public class Materialiser {
     ) {
         FunctionalIterator<Relation> existingRelations = matchRelation(materialisable, traversalEng, conceptMgr);
         if (!existingRelations.hasNext()) {
-            return Optional.of(new Materialisation.Relation(insert(materialisable)));
+            return Optional.of(new Materialisation.Relation(insert(materialisable, true)));
         } else {
             while (existingRelations.hasNext()) {
                 Relation preexisting = existingRelations.next();
@@ -141,7 +141,7 @@ public class Materialiser {
         return relationMap.equals(insertedMap);
     }
 
-    private static FunctionalIterator<Relation> matchRelation(
+    static FunctionalIterator<Relation> matchRelation(
             Conclusion.Relation.Materialisable materialisable, TraversalEngine traversalEng, ConceptManager conceptMgr
     ) {
         AtomicInteger i = new AtomicInteger();
@@ -157,11 +157,11 @@ public class Materialiser {
                 .map(conceptMap -> conceptMap.get(relationId).asRelation());
     }
 
-    private static Relation insert(Conclusion.Relation.Materialisable materialisable) {
-        Relation relation = materialisable.relationType().create(true);
+    static Relation insert(Conclusion.Relation.Materialisable materialisable, boolean isInferred) {
+        Relation relation = materialisable.relationType().create(isInferred);
         materialisable.players().forEach((rp, numOccurrences) -> {
             for (int i = 1; i <= numOccurrences; i++) {
-                relation.addPlayer(rp.first(), rp.second(), true);
+                relation.addPlayer(rp.first(), rp.second(), isInferred);
             }
         });
         return relation;
@@ -31,6 +31,7 @@ import com.vaticle.typedb.core.concept.type.AttributeType;
 import com.vaticle.typedb.core.concept.type.RelationType;
 import com.vaticle.typedb.core.concept.type.RoleType;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.iid.StructureIID;
 import com.vaticle.typedb.core.graph.structure.RuleStructure;
 import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.pattern.Conjunction;
@@ -134,6 +135,10 @@ public class Rule {
         return structure.label();
     }
 
+    StructureIID.Rule iid() {
+        return structure.iid();
+    }
+
     public void setLabel(String label) {
         structure.label(label);
     }
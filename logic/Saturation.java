@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.logic;
+
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Attribute;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.logic.Rule.Conclusion;
+import com.vaticle.typedb.core.traversal.TraversalEngine;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static com.vaticle.typedb.core.logic.Materialiser.getAttribute;
+import static com.vaticle.typedb.core.logic.Materialiser.insert;
+import static com.vaticle.typedb.core.logic.Materialiser.matchRelation;
+import static com.vaticle.typedb.core.logic.Materialiser.putAttribute;
+
+/**
+ * Infers every conclusion of a set of rules, and of the rules they depend on, into a transaction as inferred concepts,
+ * so that queries can then be answered by traversal alone.
+ *
+ * Rules are evaluated a set at a time, one strongly connected component of the rule dependency graph at a time,
+ * dependencies first. Each component is evaluated fully once, and recursive components are then iterated to a
+ * fixpoint semi-naively: each round only binds the things concluded in the previous round into the rules'
+ * conditions. Rules are stratified by negation, so a negation only ever reads components that are already complete.
+ * Rules whose conclusions are materialised and current are already satisfied by the data.
+ */
+class Saturation {
+
+    private final LogicManager logicMgr;
+    private final ConceptManager conceptMgr;
+    private final TraversalEngine traversalEng;
+    private final MaterialisedRules materialisedRules;
+    private final Set<Rule> saturated;
+
+    Saturation(LogicManager logicMgr, ConceptManager conceptMgr, TraversalEngine traversalEng,
+               MaterialisedRules materialisedRules) {
+        this.logicMgr = logicMgr;
+        this.conceptMgr = conceptMgr;
+        this.traversalEng = traversalEng;
+        this.materialisedRules = materialisedRules;
+        this.saturated = new HashSet<>();
+    }
+
+    synchronized void saturate(Set<Rule> rules) {
+        Map<Rule, Set<Rule>> dependencies = new HashMap<>();
+        LinkedList<Rule> frontier = new LinkedList<>(rules);
+        while (!frontier.isEmpty()) {
+            Rule rule = frontier.removeFirst();
+            if (saturated.contains(rule) || dependencies.containsKey(rule)) continue;
+            Set<Rule> ruleDependencies = dependencies(rule);
+            dependencies.put(rule, ruleDependencies);
+            frontier.addAll(ruleDependencies);
+        }
+        for (Set<Rule> component : MaterialisedRules.components(dependencies)) {
+            evaluate(component, MaterialisedRules.isRecursive(component, dependencies));
+            saturated.addAll(component);
+        }
+    }
+
+    private Set<Rule> dependencies(Rule rule) {
+        return link(
+                iterate(rule.condition().concludablesTriggeringRules(conceptMgr, logicMgr)),
+                iterate(rule.condition().negatedConcludablesTriggeringRules(conceptMgr, logicMgr))
+        ).flatMap(concludable -> concludable.getApplicableRules(conceptMgr, logicMgr))
+                .filter(dependency -> !saturated.contains(dependency) && !logicMgr.isMaterialisationCurrent(dependency))
+                .toSet();
+    }
+
+    private void evaluate(Set<Rule> component, boolean isRecursive) {
+        Set<Thing> delta = new HashSet<>();
+        for (Rule rule : component) {
+            for (ConceptMap answer : materialisedRules.answers(rule.when(), map()).toList()) {
+                conclude(rule, answer, delta);
+            }
+        }
+        while (isRecursive && !delta.isEmpty()) {
+            Set<Thing> concluded = new HashSet<>();
+            for (Rule rule : component) {
+                for (ConceptMap answer : materialisedRules.answers(rule, delta).toList()) {
+                    conclude(rule, answer, concluded);
+                }
+            }
+            delta = concluded;
+        }
+    }
+
+    /**
+     * Infer the conclusion of a rule for one answer of its condition, unless it already holds.
+     *
+     * @param concluded collects the things in every fact inferred
+     */
+    private void conclude(Rule rule, ConceptMap answer, Set<Thing> concluded) {
+        Conclusion.Materialisable materialisable = rule.conclusion().materialisable(answer, conceptMgr);
+        if (materialisable.isRelation()) {
+            if (!matchRelation(materialisable.asRelation(), traversalEng, conceptMgr).hasNext()) {
+                concluded.add(insert(materialisable.asRelation(), true));
+                materialisable.asRelation().players().keySet().forEach(rolePlayer -> concluded.add(rolePlayer.second()));
+            }
+        } else if (materialisable.isHasExplicit()) {
+            Conclusion.Has.Explicit.Materialisable has = materialisable.asHasExplicit();
+            Attribute attribute = getAttribute(has.attrType(), has.value())
+                    .orElseGet(() -> putAttribute(has.attrType(), has.value(), true));
+            conclude(has.owner(), attribute, concluded);
+        } else if (materialisable.isHasVariable()) {
+            Conclusion.Has.Variable.Materialisable has = materialisable.asHasVariable();
+            conclude(has.owner(), has.attribute(), concluded);
+        } else {
+            throw TypeDBException.of(ILLEGAL_STATE);
+        }
+    }
+
+    private static void conclude(Thing owner, Attribute attribute, Set<Thing> concluded) {
+        if (!owner.hasNonInferred(attribute) && !owner.hasInferred(attribute)) {
+            owner.setHas(attribute, true);
+            concluded.add(owner);
+            concluded.add(attribute);
+        }
+    }
+}
@@ -27,66 +27,177 @@ import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
 import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.RoleType;
+import com.vaticle.typedb.core.concept.type.ThingType;
 import com.vaticle.typedb.core.migrator.MigratorProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.DATABASE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FILE_NOT_WRITABLE;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
+import static com.vaticle.typedb.core.common.iterator.Iterators.loop;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.ATTRIBUTE;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.ENTITY;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.RELATION;
+import static java.util.stream.Collectors.toList;
 
 public class DataExporter {
     private static final Logger LOG = LoggerFactory.getLogger(DataExporter.class);
 
+    static final String MANIFEST_FILENAME = "manifest";
+    private static final String SHARD_EXTENSION = ".typedb";
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final int SHARD_BUFFER_SIZE = 1 << 20;
+
     private final TypeDB.DatabaseManager databaseMgr;
     private final String database;
     private final Path filename;
     private final String version;
+    private final boolean sharded;
     private final Status status;
     private long totalEntityCount;
     private long totalAttributeCount;
     private long totalRelationCount;
 
     public DataExporter(TypeDB.DatabaseManager databaseMgr, String database, Path filename, String version) {
+        this(databaseMgr, database, filename, version, false);
+    }
+
+    /**
+     * @param sharded whether to export into a directory of shard files, one for each key range of each type, which
+     *                are written without contending for a single output and can be imported concurrently, rather
+     *                than into a single file
+     */
+    public DataExporter(TypeDB.DatabaseManager databaseMgr, String database, Path filename, String version, boolean sharded) {
         if (!databaseMgr.contains(database)) throw TypeDBException.of(DATABASE_NOT_FOUND, database);
         this.databaseMgr = databaseMgr;
         this.database = database;
         this.filename = filename;
         this.version = version;
+        this.sharded = sharded;
         this.status = new Status();
     }
 
     public void run() {
         LOG.info("Exporting {} from TypeDB {}", database, version);
-        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(filename))) {
+        if (sharded) exportDirectory();
+        else exportFile();
+        LOG.info("Exported " + status.toString());
+    }
+
+    private void exportFile() {
+        try (OutputStream outputStream = output()) {
             export(outputStream, header());
             try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
                  TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
-                totalEntityCount = tx.concepts().getRootEntityType().getInstancesCount();
-                totalAttributeCount = tx.concepts().getRootAttributeType().getInstancesCount();
-                totalRelationCount = tx.concepts().getRootRelationType().getInstancesCount();
-
-                List<Runnable> exporters = Arrays.asList(() -> exportEntities(tx, outputStream),
-                        () -> exportRelations(tx, outputStream), () -> exportAttributes(tx, outputStream));
-                exporters.parallelStream().forEach(Runnable::run);
+                countInstances(tx);
+                exportShards(tx, shard -> {
+                    shard.export(outputStream);
+                    return null;
+                });
                 export(outputStream, checksums());
             }
         } catch (IOException e) {
             throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
         }
-        LOG.info("Exported " + status.toString());
+    }
+
+    /**
+     * Export every shard into its own file in the target directory, and describe the shards in a manifest that is
+     * written last, so that a directory without a manifest is recognisable as an incomplete export.
+     */
+    private void exportDirectory() {
+        try {
+            Files.createDirectories(filename);
+            Files.deleteIfExists(filename.resolve(MANIFEST_FILENAME));
+            List<DataProto.Manifest.Shard> shards;
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+                 TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                countInstances(tx);
+                shards = exportShards(tx, Shard::exportFile);
+            }
+            DataProto.Manifest manifest = DataProto.Manifest.newBuilder().setHeader(header().getHeader())
+                    .setChecksums(checksums().getChecksums()).addAllShard(shards).build();
+            try (OutputStream outputStream = Files.newOutputStream(filename.resolve(MANIFEST_FILENAME))) {
+                manifest.writeTo(outputStream);
+            }
+        } catch (IOException e) {
+            throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
+        }
+    }
+
+    private void countInstances(TypeDB.Transaction tx) {
+        totalEntityCount = tx.concepts().getRootEntityType().getInstancesCount();
+        totalAttributeCount = tx.concepts().getRootAttributeType().getInstancesCount();
+        totalRelationCount = tx.concepts().getRootRelationType().getInstancesCount();
+    }
+
+    private OutputStream output() throws IOException {
+        OutputStream outputStream = Files.newOutputStream(filename);
+        if (filename.toString().endsWith(COMPRESSED_EXTENSION)) {
+            return new BufferedOutputStream(new GZIPOutputStream(outputStream, OUTPUT_BUFFER_SIZE), OUTPUT_BUFFER_SIZE);
+        } else {
+            return new BufferedOutputStream(outputStream, OUTPUT_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Export the instances of every concrete thing type as separate shards, splitting the instances of each entity and
+     * relation type into key ranges, so that a type with most of the data is still exported by many threads.
+     * Attribute instances are keyed by their values rather than by ranges of generated keys, so each attribute type
+     * is a single shard.
+     *
+     * @return the non-null results of exporting each shard, in shard order
+     */
+    private <T> List<T> exportShards(TypeDB.Transaction tx, Function<Shard, T> exporter) {
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISATION_FACTOR);
+        try {
+            List<CompletableFuture<T>> shards = link(
+                    shards(tx.concepts().getRootEntityType(), ENTITY, PARALLELISATION_FACTOR,
+                            thing -> entity(thing.asEntity())),
+                    shards(tx.concepts().getRootRelationType(), RELATION, PARALLELISATION_FACTOR,
+                            thing -> relation(thing.asRelation())),
+                    shards(tx.concepts().getRootAttributeType(), ATTRIBUTE, 1,
+                            thing -> attribute(thing.asAttribute()))
+            ).map(shard -> CompletableFuture.supplyAsync(() -> exporter.apply(shard), executor)).toList();
+            CompletableFuture.allOf(shards.toArray(new CompletableFuture[0])).join();
+            return shards.stream().map(CompletableFuture::join).filter(Objects::nonNull).collect(toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TypeDBException) throw (TypeDBException) e.getCause();
+            else throw TypeDBException.of(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FunctionalIterator<Shard> shards(ThingType rootType, DataProto.Manifest.Shard.Kind kind, int partitions,
+                                             Function<Thing, DataProto.Item> serialiser) {
+        return rootType.getSubtypes().filter(type -> !type.isAbstract()).flatMap(
+                type -> loop(0, partition -> partition < partitions, partition -> partition + 1)
+                        .map(partition -> new Shard(type, kind, partition, partitions, serialiser))
+        );
     }
 
     public MigratorProto.Export.Progress getProgress() {
@@ -100,18 +211,6 @@ public class DataExporter {
                 .build();
     }
 
-    private void exportEntities(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootEntityType().getInstances().forEachRemaining(entity -> export(out, entity(entity)));
-    }
-
-    private void exportAttributes(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootAttributeType().getInstances().forEachRemaining(attribute -> export(out, attribute(attribute)));
-    }
-
-    private void exportRelations(TypeDB.Transaction tx, OutputStream out) {
-        tx.concepts().getRootRelationType().getInstances().forEachRemaining(relation -> export(out, relation(relation)));
-    }
-
     private DataProto.Item header() {
         return DataProto.Item.newBuilder().setHeader(
                 DataProto.Item.Header.newBuilder()
@@ -189,8 +288,8 @@ public class DataExporter {
     }
 
     private FunctionalIterator<DataProto.Item.OwnedAttribute.Builder> readOwnerships(Thing thing) {
-        return thing.getHas().map(attribute -> DataProto.Item.OwnedAttribute.newBuilder()
-                .setId(attribute.getIID().toBase64String()));
+        return thing.getHas().filter(attribute -> !thing.hasMaterialised(attribute))
+                .map(attribute -> DataProto.Item.OwnedAttribute.newBuilder().setId(attribute.getIID().toBase64String()));
     }
 
     private static class Status {
@@ -219,11 +318,90 @@ public class DataExporter {
         ).build();
     }
 
-    private synchronized void export(OutputStream outputStream, DataProto.Item item) {
+    private void export(OutputStream outputStream, DataProto.Item item) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            item.writeDelimitedTo(buffer);
+            export(outputStream, buffer);
+        } catch (IOException e) {
+            throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
+        }
+    }
+
+    private synchronized void export(OutputStream outputStream, ByteArrayOutputStream buffer) {
         try {
-            item.writeDelimitedTo(outputStream);
+            buffer.writeTo(outputStream);
         } catch (IOException e) {
             throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
         }
     }
+
+    private class Shard {
+
+        private final ThingType type;
+        private final DataProto.Manifest.Shard.Kind kind;
+        private final int partition;
+        private final int partitions;
+        private final Function<Thing, DataProto.Item> serialiser;
+
+        private Shard(ThingType type, DataProto.Manifest.Shard.Kind kind, int partition, int partitions,
+                      Function<Thing, DataProto.Item> serialiser) {
+            this.type = type;
+            this.kind = kind;
+            this.partition = partition;
+            this.partitions = partitions;
+            this.serialiser = serialiser;
+        }
+
+        private FunctionalIterator<? extends Thing> instances() {
+            // facts written by materialised rules are derived, and are rederived once the rules are materialised again
+            return type.getInstancesExplicit(partition, partitions).filter(thing -> !thing.isMaterialised());
+        }
+
+        /**
+         * Append the items of this shard to the shared output. Items are serialised into a buffer, and each full
+         * buffer is appended as one block, so the output is only locked once per block.
+         */
+        private void export(OutputStream outputStream) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(SHARD_BUFFER_SIZE);
+            try {
+                FunctionalIterator<? extends Thing> instances = instances();
+                while (instances.hasNext()) {
+                    serialiser.apply(instances.next()).writeDelimitedTo(buffer);
+                    if (buffer.size() >= SHARD_BUFFER_SIZE) {
+                        DataExporter.this.export(outputStream, buffer);
+                        buffer.reset();
+                    }
+                }
+                if (buffer.size() > 0) DataExporter.this.export(outputStream, buffer);
+            } catch (IOException e) {
+                throw TypeDBException.of(FILE_NOT_WRITABLE, filename.toString());
+            }
+        }
+
+        /**
+         * Write the items of this shard into a file of its own, which is only created if the shard has any items.
+         *
+         * @return the manifest entry of the shard file, or null if the shard is empty
+         */
+        @Nullable
+        private DataProto.Manifest.Shard exportFile() {
+            FunctionalIterator<? extends Thing> instances = instances();
+            if (!instances.hasNext()) return null;
+            String shardFilename = String.format("%s-%s-%d%s", kind.name().toLowerCase(), type.getLabel().name(),
+                    partition, SHARD_EXTENSION);
+            Path shardFile = filename.resolve(shardFilename);
+            long itemCount = 0;
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(shardFile), OUTPUT_BUFFER_SIZE)) {
+                while (instances.hasNext()) {
+                    serialiser.apply(instances.next()).writeDelimitedTo(outputStream);
+                    itemCount++;
+                }
+            } catch (IOException e) {
+                throw TypeDBException.of(FILE_NOT_WRITABLE, shardFile.toString());
+            }
+            return DataProto.Manifest.Shard.newBuilder().setFilename(shardFilename).setKind(kind)
+                    .setItemCount(itemCount).build();
+        }
+    }
 }
@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.collection.ByteArray;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Entity;
 import com.vaticle.typedb.core.concept.thing.Relation;
@@ -38,6 +39,7 @@ import org.rocksdb.RocksIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -62,7 +64,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.unsignedByte;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.FILE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.IMPORT_CHECKSUM_MISMATCH;
@@ -72,8 +77,14 @@ import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.PLA
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.ROLE_TYPE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Migrator.TYPE_NOT_FOUND;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+import static com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING_ENCODING;
+import static com.vaticle.typedb.core.migrator.data.DataExporter.MANIFEST_FILENAME;
 import static com.vaticle.typedb.core.migrator.data.DataProto.Item.ItemCase.HEADER;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.ATTRIBUTE;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.ENTITY;
+import static com.vaticle.typedb.core.migrator.data.DataProto.Manifest.Shard.Kind.RELATION;
 import static java.util.Comparator.reverseOrder;
 
 public class DataImporter {
@@ -81,12 +92,18 @@ public class DataImporter {
 
     private static final Parser<DataProto.Item> ITEM_PARSER = DataProto.Item.parser();
     private static final int BATCH_SIZE = 1000;
+    private static final int BULK_LOAD_BATCH_SIZE = 50_000;
+    private static final int INPUT_BUFFER_SIZE = 1 << 16;
     private final TypeDB.Session session;
     private final ExecutorService importExecutor;
     private final ExecutorService readerExecutor;
     private final int parallelisation;
+    private final boolean bulkLoad;
+    private final int batchSize;
 
     private final Path dataFile;
+    @Nullable
+    private final DataProto.Manifest manifest;
     private final ConceptTracker conceptTracker;
     private final String version;
     private final Status status;
@@ -94,25 +111,49 @@ public class DataImporter {
     private Checksum checksum;
 
     public DataImporter(TypeDB.DatabaseManager typedb, String database, Path dataFile, String version) {
+        this(typedb, database, dataFile, version, false);
+    }
+
+    /**
+     * Bulk loading only changes how each batch is committed: every item is still written through the transactional
+     * API and tracked by its original IID, so the speed-up is limited to the write-ahead log and memtable that the
+     * commit bypasses. Larger batches amortise the ingestion of each file, and the storage files are spilled in
+     * bounded memory, but the batches themselves are still held by their transactions.
+     *
+     * A directory written by a sharded export is imported by reading its shard files concurrently, and only the
+     * shards of the kinds of items that each stage of the import needs are read.
+     *
+     * @param dataFile a file of exported items, or a directory of shards described by a manifest
+     * @param bulkLoad whether to commit batches by ingesting sorted storage files directly, which is only safe
+     *                 when nothing else is writing to the database while the import runs
+     */
+    public DataImporter(TypeDB.DatabaseManager typedb, String database, Path dataFile, String version, boolean bulkLoad) {
         if (!Files.exists(dataFile)) throw TypeDBException.of(FILE_NOT_FOUND, dataFile);
+        this.manifest = Files.isDirectory(dataFile) ? manifest(dataFile.resolve(MANIFEST_FILENAME)) : null;
         this.session = typedb.session(database, Arguments.Session.Type.DATA);
         this.dataFile = dataFile;
         this.version = version;
-        assert com.vaticle.typedb.core.concurrent.executor.Executors.isInitialised();
-        this.parallelisation = com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
+        this.bulkLoad = bulkLoad;
+        this.batchSize = bulkLoad ? BULK_LOAD_BATCH_SIZE : BATCH_SIZE;
+        assert isInitialised();
+        this.parallelisation = PARALLELISATION_FACTOR;
         this.importExecutor = Executors.newFixedThreadPool(parallelisation * 2);
-        this.readerExecutor = Executors.newSingleThreadExecutor();
+        this.readerExecutor = manifest == null ? Executors.newSingleThreadExecutor() : Executors.newFixedThreadPool(parallelisation);
         this.conceptTracker = new ConceptTracker(database);
         this.skippedRelations = new AtomicBoolean(false);
         this.status = new Status();
     }
 
+    private TypeDB.Transaction writeTransaction() {
+        return session.transaction(Arguments.Transaction.Type.WRITE, new Options.Transaction().bulkLoad(bulkLoad));
+    }
+
     public void run() {
         try {
             Instant start = Instant.now();
             validateHeader();
-            new ParallelImport(AttributesAndChecksum::new).executeImport();
-            new ParallelImport(EntitiesAndOwnerships::new).executeImport();
+            new ParallelImport(AttributesAndChecksum::new, set(ATTRIBUTE)).executeImport();
+            new ParallelImport(EntitiesAndOwnerships::new, set(ENTITY, ATTRIBUTE)).executeImport();
             importRelations();
             if (!checksum.verify(status)) throw TypeDBException.of(IMPORT_CHECKSUM_MISMATCH, checksum.mismatch(status));
             Instant end = Instant.now();
@@ -129,8 +170,47 @@ public class DataImporter {
         conceptTracker.close();
     }
 
+    private static DataProto.Manifest manifest(Path manifestFile) {
+        if (!Files.exists(manifestFile)) throw TypeDBException.of(FILE_NOT_FOUND, manifestFile);
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(manifestFile), INPUT_BUFFER_SIZE)) {
+            return DataProto.Manifest.parseFrom(inputStream);
+        } catch (IOException e) {
+            throw TypeDBException.of(e);
+        }
+    }
+
+    /**
+     * @return the data file, or the shard files that hold items of the given kinds
+     */
+    private List<Path> inputs(Set<DataProto.Manifest.Shard.Kind> kinds) {
+        if (manifest == null) return list(dataFile);
+        else return iterate(manifest.getShardList()).filter(shard -> kinds.contains(shard.getKind()))
+                .map(shard -> dataFile.resolve(shard.getFilename())).toList();
+    }
+
+    private InputStream input(Path file) throws IOException {
+        InputStream inputStream = new BufferedInputStream(Files.newInputStream(file), INPUT_BUFFER_SIZE);
+        inputStream.mark(2);
+        int magic = inputStream.read() | (inputStream.read() << 8);
+        inputStream.reset();
+        if (magic == GZIPInputStream.GZIP_MAGIC) {
+            return new BufferedInputStream(new GZIPInputStream(inputStream, INPUT_BUFFER_SIZE), INPUT_BUFFER_SIZE);
+        } else {
+            return inputStream;
+        }
+    }
+
     private void validateHeader() {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        if (manifest != null) {
+            DataProto.Item.Header header = manifest.getHeader();
+            DataProto.Item.Checksums checksums = manifest.getChecksums();
+            LOG.info("Importing {} from TypeDB {} to {} in TypeDB {}", header.getOriginalDatabase(),
+                    header.getTypedbVersion(), session.database().name(), version);
+            checksum = new Checksum(checksums.getAttributeCount(), checksums.getEntityCount(),
+                    checksums.getRelationCount(), checksums.getOwnershipCount(), checksums.getRoleCount());
+            return;
+        }
+        try (InputStream inputStream = input(dataFile)) {
             DataProto.Item item = ITEM_PARSER.parseDelimitedFrom(inputStream);
             if (!item.getItemCase().equals(HEADER)) throw TypeDBException.of(MISSING_HEADER);
             DataProto.Item.Header header = item.getHeader();
@@ -167,9 +247,15 @@ public class DataImporter {
     private class ParallelImport {
 
         private final Function<BlockingQueue<DataProto.Item>, ImportWorker> workerConstructor;
+        private final Set<DataProto.Manifest.Shard.Kind> kinds;
 
-        ParallelImport(Function<BlockingQueue<DataProto.Item>, ImportWorker> workerConstructor) {
+        /**
+         * @param kinds the kinds of items that the workers import, so that shards of other kinds are not read
+         */
+        ParallelImport(Function<BlockingQueue<DataProto.Item>, ImportWorker> workerConstructor,
+                       Set<DataProto.Manifest.Shard.Kind> kinds) {
             this.workerConstructor = workerConstructor;
+            this.kinds = kinds;
         }
 
         void executeImport() {
@@ -187,16 +273,18 @@ public class DataImporter {
 
         private BlockingQueue<DataProto.Item> asyncItemReader() {
             BlockingQueue<DataProto.Item> queue = new ArrayBlockingQueue<>(4000);
-            CompletableFuture.runAsync(() -> {
-                try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
-                    DataProto.Item item;
-                    while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
-                        queue.put(item);
+            for (Path file : inputs(kinds)) {
+                CompletableFuture.runAsync(() -> {
+                    try (InputStream inputStream = input(file)) {
+                        DataProto.Item item;
+                        while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
+                            queue.put(item);
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        throw TypeDBException.of(e);
                     }
-                } catch (IOException | InterruptedException e) {
-                    throw TypeDBException.of(e);
-                }
-            }, readerExecutor);
+                }, readerExecutor);
+            }
             return queue;
         }
     }
@@ -224,11 +312,11 @@ public class DataImporter {
             int count = 0;
             DataProto.Item item;
             try {
-                transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                transaction = writeTransaction();
                 while ((item = items.poll(1, TimeUnit.SECONDS)) != null) {
-                    if (count >= BATCH_SIZE) {
+                    if (count >= batchSize) {
                         commitBatch();
-                        transaction = session.transaction(Arguments.Transaction.Type.WRITE);
+                        transaction = writeTransaction();
                         count = 0;
                     }
                     count += importItem(item);
@@ -466,7 +554,7 @@ public class DataImporter {
         do {
             skippedRelations.set(false);
             long before = status.relationCount.get() + status.roleCount.get();
-            new ParallelImport(Relations::new).executeImport();
+            new ParallelImport(Relations::new, set(RELATION)).executeImport();
             progressMade = before < (status.relationCount.get() + status.roleCount.get());
         } while (relationsUnfinished() && progressMade);
 
@@ -480,7 +568,7 @@ public class DataImporter {
 
     private void loadCyclicalRelations() {
         // Load all relations that have only relation role players in cycles in one transaction
-        try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+        try (TypeDB.Transaction transaction = writeTransaction()) {
             createCyclicalRelationsAndOwnerships(transaction);
             addRolePlayers(transaction);
             transaction.commit();
@@ -490,7 +578,11 @@ public class DataImporter {
     }
 
     private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : inputs(set(RELATION))) createCyclicalRelationsAndOwnerships(transaction, file);
+    }
+
+    private void createCyclicalRelationsAndOwnerships(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = input(file)) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION) {
@@ -512,7 +604,11 @@ public class DataImporter {
     }
 
     private void addRolePlayers(TypeDB.Transaction transaction) throws IOException {
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(dataFile))) {
+        for (Path file : inputs(set(RELATION))) addRolePlayers(transaction, file);
+    }
+
+    private void addRolePlayers(TypeDB.Transaction transaction, Path file) throws IOException {
+        try (InputStream inputStream = input(file)) {
             DataProto.Item item;
             while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
                 if (item.getItemCase() == DataProto.Item.ItemCase.RELATION && conceptTracker.isIncomplete(item.getRelation().getId())) {
@@ -23,6 +23,7 @@ import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Context;
 import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.thing.Attribute;
 import com.vaticle.typedb.core.concept.thing.Relation;
@@ -34,12 +35,12 @@ import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.TypeVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.Matches;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typeql.lang.pattern.variable.Reference;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -61,24 +62,26 @@ public class Deleter {
     private static final String TRACE_PREFIX = "deleter.";
 
     private final Matcher matcher;
+    private final ConceptManager conceptMgr;
     private final Set<ThingVariable> variables;
     private final Context.Query context;
 
-    public Deleter(Matcher matcher, Set<ThingVariable> variables, Context.Query context) {
+    public Deleter(Matcher matcher, ConceptManager conceptMgr, Set<ThingVariable> variables, Context.Query context) {
         this.matcher = matcher;
+        this.conceptMgr = conceptMgr;
         this.variables = variables;
         this.context = context;
         this.context.producer(Either.first(EXHAUSTIVE));
     }
 
-    public static Deleter create(Reasoner reasoner, TypeQLDelete query, Context.Query context) {
+    public static Deleter create(Reasoner reasoner, ConceptManager conceptMgr, TypeQLDelete query, Context.Query context) {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "create")) {
             VariableRegistry registry = VariableRegistry.createFromThings(query.variables(), false);
             registry.variables().forEach(Deleter::validate);
 
             assert query.match().namedVariablesUnbound().containsAll(query.namedVariablesUnbound());
             Matcher matcher = Matcher.create(reasoner, query.match().get(query.namedVariablesUnbound()));
-            return new Deleter(matcher, registry.things(), context);
+            return new Deleter(matcher, conceptMgr, registry.things(), context);
         }
     }
 
@@ -108,8 +111,8 @@ public class Deleter {
 
     public void execute() {
         try (FactoryTracingThreadStatic.ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "execute")) {
-            List<ConceptMap> matches = matcher.execute(context).toList();
-            matches.forEach(matched -> new Operation(matched, variables).execute());
+            Matches matches = Matches.drain(matcher.execute(context), conceptMgr);
+            matches.iterator().forEachRemaining(matched -> new Operation(matched, variables).execute());
         }
     }
 
@@ -39,6 +39,7 @@ import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.TypeVariable;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.Matches;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
@@ -139,21 +140,22 @@ public class Inserter {
     }
 
     private FunctionalIterator<ConceptMap> executeParallel() {
-        List<List<ConceptMap>> lists = matcher.execute(context).toLists(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
-        assert !lists.isEmpty();
+        List<FunctionalIterator<ConceptMap>> batches = Matches.drain(matcher.execute(context), conceptMgr)
+                .batches(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
+        assert !batches.isEmpty();
         List<ConceptMap> inserts;
-        if (lists.size() == 1) inserts = iterate(lists.get(0)).map(
+        if (batches.size() == 1) inserts = batches.get(0).map(
                 matched -> new Operation(conceptMgr, matched, variables).execute()
         ).toList();
-        else inserts = produce(async(iterate(lists).map(list -> iterate(list).map(
+        else inserts = produce(async(iterate(batches).map(batch -> batch.map(
                 matched -> new Operation(conceptMgr, matched, variables).execute()
         )), PARALLELISATION_FACTOR), Either.first(EXHAUSTIVE), async1()).toList();
         return iterate(inserts);
     }
 
     private FunctionalIterator<ConceptMap> executeSerial() {
-        List<ConceptMap> matches = matcher.execute(context).toList();
-        return iterate(iterate(matches).map(matched -> new Operation(conceptMgr, matched, variables).execute()).toList());
+        Matches matches = Matches.drain(matcher.execute(context), conceptMgr);
+        return iterate(matches.iterator().map(matched -> new Operation(conceptMgr, matched, variables).execute()).toList());
     }
 
     public static class Operation {
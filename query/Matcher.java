@@ -39,7 +39,7 @@ import com.vaticle.typeql.lang.query.builder.Sortable;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -73,6 +73,7 @@ public class Matcher {
     private final Reasoner reasoner;
     private final TypeQLMatch query;
     private final Disjunction disjunction;
+    private final boolean isInferred;
     private final Context.Query context;
 
     public Matcher(Reasoner reasoner, TypeQLMatch query) {
@@ -80,9 +81,15 @@ public class Matcher {
     }
 
     public Matcher(Reasoner reasoner, TypeQLMatch query, @Nullable Context.Query context) {
+        this(reasoner, query, Disjunction.create(query.conjunction().normalise()), false, context);
+    }
+
+    private Matcher(Reasoner reasoner, TypeQLMatch query, Disjunction disjunction, boolean isInferred,
+                    @Nullable Context.Query context) {
         this.reasoner = reasoner;
         this.query = query;
-        this.disjunction = Disjunction.create(query.conjunction().normalise());
+        this.disjunction = disjunction;
+        this.isInferred = isInferred;
         this.context = context;
         if (context != null) {
             Either<Arguments.Query.Producer, Long> prodCtx;
@@ -102,6 +109,13 @@ public class Matcher {
         return new Matcher(reasoner, query, context);
     }
 
+    /**
+     * @param disjunction the pattern of a prepared query, whose types are already inferred
+     */
+    public static Matcher create(Reasoner reasoner, TypeQLMatch query, Disjunction disjunction, Context.Query context) {
+        return new Matcher(reasoner, query, disjunction, true, context);
+    }
+
     public static Matcher.Aggregator create(Reasoner reasoner, TypeQLMatch.Aggregate query, Context.Query context) {
         Matcher matcher = new Matcher(reasoner, query.match());
         return new Aggregator(matcher, query, context);
@@ -123,31 +137,80 @@ public class Matcher {
         return execute(context);
     }
 
+    long count(Context.Query context) {
+        TypeQLMatch.Modifiers modifiers = query.modifiers();
+        if (modifiers.sort().isPresent() || modifiers.offset().isPresent() || modifiers.limit().isPresent()) {
+            return execute(context).count();
+        } else {
+            return reasoner.count(disjunction, modifiers, context);
+        }
+    }
+
     FunctionalIterator<ConceptMap> execute(Context.Query context) {
-        FunctionalIterator<ConceptMap> answers = reasoner.execute(disjunction, query.modifiers(), context);
+        FunctionalIterator<ConceptMap> answers = isInferred
+                ? reasoner.executeInferred(disjunction, query.modifiers(), context)
+                : reasoner.execute(disjunction, query.modifiers(), context);
         // TODO: we should remove these and handle them in the traversal engine or reasoner ONLY. Currently in reasoner already
-        if (query.modifiers().sort().isPresent()) answers = sort(answers, query.modifiers().sort().get());
+        if (query.modifiers().sort().isPresent()) {
+            Optional<Long> bound = query.modifiers().limit().map(limit -> query.modifiers().offset().orElse(0L) + limit);
+            answers = sort(answers, query.modifiers().sort().get(), bound.orElse(null));
+        }
         if (query.modifiers().offset().isPresent()) answers = answers.offset(query.modifiers().offset().get());
         if (query.modifiers().limit().isPresent()) answers = answers.limit(query.modifiers().limit().get());
         return answers;
     }
 
-    private FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers, Sortable.Sorting sorting) {
-        // TODO: Replace this temporary implementation of TypeQL Match Sort query with a native sorting traversal
+    /**
+     * Sort answers by the attributes of the sort variables, which are looked up once per answer. When only the first
+     * {@code bound} answers are needed, they are selected with a heap of that size, rather than sorting all answers.
+     * Answers that compare equal keep the order in which they were produced.
+     */
+    private FunctionalIterator<ConceptMap> sort(FunctionalIterator<ConceptMap> answers, Sortable.Sorting sorting,
+                                                @Nullable Long bound) {
         List<Reference.Name> sortVars = iterate(sorting.vars()).map(var -> var.reference().asName()).toList();
-        Comparator<List<Attribute>> multiComparator = multiComparator(sortVars.size());
-        Comparator<ConceptMap> comparator = (answer1, answer2) -> {
-            List<Attribute> attributes1 = new ArrayList<>(sortVars.size());
-            List<Attribute> attributes2 = new ArrayList<>(sortVars.size());
+        Comparator<List<Attribute>> multiComparator = multiComparator(sortVars);
+        if (sorting.order() == TypeQLArg.Order.DESC) multiComparator = multiComparator.reversed();
+        Comparator<SortKey> comparator = Comparator.comparing((SortKey key) -> key.attributes, multiComparator)
+                .thenComparingLong(key -> key.index);
+
+        long[] index = {0};
+        FunctionalIterator<SortKey> keys = answers.map(answer -> new SortKey(answer, sortVars, index[0]++));
+        List<SortKey> sorted;
+        if (bound != null && bound < Integer.MAX_VALUE) sorted = smallest(keys, comparator, bound.intValue());
+        else sorted = keys.toList();
+        sorted.sort(comparator);
+        return iterate(sorted).map(key -> key.answer);
+    }
+
+    private static List<SortKey> smallest(FunctionalIterator<SortKey> keys, Comparator<SortKey> comparator, int bound) {
+        if (bound == 0) {
+            keys.recycle();
+            return new ArrayList<>();
+        }
+        PriorityQueue<SortKey> largestFirst = new PriorityQueue<>(Math.min(bound, 1024), comparator.reversed());
+        keys.forEachRemaining(key -> {
+            if (largestFirst.size() < bound) largestFirst.add(key);
+            else if (comparator.compare(key, largestFirst.peek()) < 0) {
+                largestFirst.poll();
+                largestFirst.add(key);
+            }
+        });
+        return new ArrayList<>(largestFirst);
+    }
+
+    private static class SortKey {
+
+        private final ConceptMap answer;
+        private final List<Attribute> attributes;
+        private final long index;
+
+        private SortKey(ConceptMap answer, List<Reference.Name> sortVars, long index) {
+            this.answer = answer;
+            this.attributes = new ArrayList<>(sortVars.size());
+            this.index = index;
             for (Reference.Name var : sortVars) {
                 try {
-                    Attribute att1 = answer1.get(var).asAttribute();
-                    Attribute att2 = answer2.get(var).asAttribute();
-                    if (!att1.getType().getValueType().comparables().contains(att2.getType().getValueType())) {
-                        throw TypeDBException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, var);
-                    }
-                    attributes1.add(att1);
-                    attributes2.add(att2);
+                    attributes.add(answer.get(var).asAttribute());
                 } catch (TypeDBException e) {
                     if (e.code().isPresent() || e.code().get().equals(INVALID_THING_CASTING.code())) {
                         throw TypeDBException.of(SORT_VARIABLE_NOT_ATTRIBUTE, var);
@@ -156,15 +219,15 @@ public class Matcher {
                     }
                 }
             }
-            return multiComparator.compare(attributes1, attributes2);
-        };
-        comparator = (sorting.order() == TypeQLArg.Order.DESC) ? comparator.reversed() : comparator;
-        return iterate(answers.stream().sorted(comparator).iterator());
+        }
     }
 
-    private Comparator<List<Attribute>> multiComparator(int n) {
-        Optional<Comparator<List<Attribute>>> multiComparator = IntStream.range(0, n)
+    private Comparator<List<Attribute>> multiComparator(List<Reference.Name> sortVars) {
+        Optional<Comparator<List<Attribute>>> multiComparator = IntStream.range(0, sortVars.size())
                 .mapToObj(i -> Comparator.comparing((List<Attribute> attrs) -> attrs.get(i), (att1, att2) -> {
+                    if (!att1.getType().getValueType().comparables().contains(att2.getType().getValueType())) {
+                        throw TypeDBException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, sortVars.get(i));
+                    }
                     if (att1.isString()) {
                         return att1.asString().getValue().compareToIgnoreCase(att2.asString().getValue());
                     } else if (att1.isBoolean()) {
@@ -199,18 +262,20 @@ public class Matcher {
         }
 
         public Numeric execute() {
-            FunctionalIterator<ConceptMap> answers = matcher.execute(context);
             TypeQLToken.Aggregate.Method method = query.method();
+            if (method == TypeQLToken.Aggregate.Method.COUNT) return Numeric.ofLong(matcher.count(context));
+            FunctionalIterator<ConceptMap> answers = matcher.execute(context);
             UnboundVariable var = query.var();
-            return aggregate(answers, method, var);
+            return aggregate(answers, method, var, context.options().approximateMedian());
         }
 
-        static Numeric aggregate(FunctionalIterator<ConceptMap> answers,
-                                 TypeQLToken.Aggregate.Method method, UnboundVariable var) {
-            return answers.stream().collect(aggregator(method, var));
+        static Numeric aggregate(FunctionalIterator<ConceptMap> answers, TypeQLToken.Aggregate.Method method,
+                                 UnboundVariable var, boolean approximateMedian) {
+            return answers.stream().collect(aggregator(method, var, approximateMedian));
         }
 
-        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var) {
+        static Collector<ConceptMap, ?, Numeric> aggregator(TypeQLToken.Aggregate.Method method, UnboundVariable var,
+                                                            boolean approximateMedian) {
             Collector<ConceptMap, ?, Numeric> aggregator;
             switch (method) {
                 case COUNT:
@@ -223,7 +288,8 @@ public class Matcher {
                     aggregator = mean(var);
                     break;
                 case MEDIAN:
-                    aggregator = median(var);
+                    if (approximateMedian) aggregator = median(var, MedianSketch::new);
+                    else aggregator = median(var, MedianCalculator::new);
                     break;
                 case MIN:
                     aggregator = min(var);
@@ -349,29 +415,28 @@ public class Matcher {
             };
         }
 
-        static Collector<ConceptMap, ?, Numeric> median(UnboundVariable var) {
-            return new Collector<ConceptMap, MedianCalculator, Numeric>() {
+        static <MEDIAN extends MedianFinder<MEDIAN>> Collector<ConceptMap, ?, Numeric> median(
+                UnboundVariable var, Supplier<MEDIAN> newMedianFinder) {
+            return new Collector<ConceptMap, MEDIAN, Numeric>() {
 
                 @Override
-                public Supplier<MedianCalculator> supplier() {
-                    return MedianCalculator::new;
+                public Supplier<MEDIAN> supplier() {
+                    return newMedianFinder;
                 }
 
                 @Override
-                public BiConsumer<MedianCalculator, ConceptMap> accumulator() {
+                public BiConsumer<MEDIAN, ConceptMap> accumulator() {
                     return (medianFinder, answer) -> medianFinder.accumulate(numeric(answer, var));
                 }
 
                 @Override
-                public BinaryOperator<MedianCalculator> combiner() {
-                    return (t, u) -> {
-                        throw TypeDBException.of(ILLEGAL_OPERATION);
-                    };
+                public BinaryOperator<MEDIAN> combiner() {
+                    return MEDIAN::merge;
                 }
 
                 @Override
-                public Function<MedianCalculator, Numeric> finisher() {
-                    return MedianCalculator::median;
+                public Function<MEDIAN, Numeric> finisher() {
+                    return MEDIAN::median;
                 }
 
                 @Override
@@ -500,35 +565,186 @@ public class Matcher {
             else return Numeric.ofDouble(x.asDouble() + y.asDouble());
         }
 
-        private static class MedianCalculator {
+        interface MedianFinder<MEDIAN extends MedianFinder<MEDIAN>> {
+
+            void accumulate(Numeric numeric);
+
+            MEDIAN merge(MEDIAN other);
+
+            Numeric median();
+        }
+
+        /**
+         * Collects values in primitive arrays, which are only sorted once the median is requested
+         */
+        static class MedianCalculator implements MedianFinder<MedianCalculator> {
 
-            PriorityQueue<Numeric> maxHeap; //lower half
-            PriorityQueue<Numeric> minHeap; //higher half
+            long[] longs;
+            double[] doubles;
+            int longCount;
+            int doubleCount;
 
             MedianCalculator() {
-                maxHeap = new PriorityQueue<>(Collections.reverseOrder());
-                minHeap = new PriorityQueue<>();
+                longs = new long[16];
+                doubles = new double[0];
+                longCount = 0;
+                doubleCount = 0;
+            }
+
+            @Override
+            public void accumulate(Numeric numeric) {
+                if (numeric.isLong()) {
+                    if (longCount == longs.length) longs = Arrays.copyOf(longs, longCount * 2);
+                    longs[longCount++] = numeric.asLong();
+                } else {
+                    if (doubleCount == doubles.length) doubles = Arrays.copyOf(doubles, Math.max(16, doubleCount * 2));
+                    doubles[doubleCount++] = numeric.asDouble();
+                }
             }
 
-            void accumulate(Numeric numeric) {
-                maxHeap.offer(numeric);
-                minHeap.offer(maxHeap.poll());
+            @Override
+            public MedianCalculator merge(MedianCalculator other) {
+                for (int i = 0; i < other.longCount; i++) accumulate(Numeric.ofLong(other.longs[i]));
+                for (int i = 0; i < other.doubleCount; i++) accumulate(Numeric.ofDouble(other.doubles[i]));
+                return this;
+            }
+
+            @Override
+            public Numeric median() {
+                int count = longCount + doubleCount;
+                if (count == 0) return Numeric.ofNaN();
+                Arrays.sort(longs, 0, longCount);
+                Arrays.sort(doubles, 0, doubleCount);
+                if (count % 2 == 1) return valueAt(count / 2);
+                else return Numeric.ofDouble(sum(valueAt(count / 2 - 1), valueAt(count / 2)).asNumber().doubleValue() / 2);
+            }
 
-                if (maxHeap.size() < minHeap.size()) {
-                    maxHeap.offer(minHeap.poll());
+            private Numeric valueAt(int rank) {
+                int l = 0, d = 0;
+                while (true) {
+                    boolean nextIsLong = d == doubleCount || (l < longCount && longs[l] <= doubles[d]);
+                    if (l + d == rank) return nextIsLong ? Numeric.ofLong(longs[l]) : Numeric.ofDouble(doubles[d]);
+                    if (nextIsLong) l++;
+                    else d++;
                 }
             }
+        }
 
-            Numeric median() {
-                if (maxHeap.isEmpty() && minHeap.isEmpty()) {
-                    return Numeric.ofNaN();
-                } else if (maxHeap.size() == minHeap.size()) {
-                    return Numeric.ofDouble(sum(maxHeap.peek(), minHeap.peek()).asNumber().doubleValue() / 2);
-                } else if (maxHeap.peek() == null) {
-                    return Numeric.ofNaN();
-                } else {
-                    return maxHeap.peek();
+        /**
+         * Approximates quantiles in memory that grows only with the logarithm of the number of values. Values are
+         * buffered in levels of weighted values: a level that fills up is sorted and compacted by promoting every
+         * other value, at twice the weight, to the level above. A quantile is found by walking all levels in value
+         * order until the accumulated weight passes its rank, which is off by a fraction of about
+         * {@code levels / capacity} of the values. Until the first level fills up, the median is exact. Values are
+         * kept as doubles, so longs beyond 2^53 lose precision.
+         */
+        static class MedianSketch implements MedianFinder<MedianSketch> {
+
+            static final int DEFAULT_CAPACITY = 256;
+
+            private final int capacity;
+            private final List<double[]> levels;
+            private int[] sizes;
+            private long count;
+            private boolean longsOnly;
+            private boolean promoteOdd;
+
+            MedianSketch() {
+                this(DEFAULT_CAPACITY);
+            }
+
+            MedianSketch(int capacity) {
+                assert capacity >= 2;
+                this.capacity = capacity;
+                this.levels = new ArrayList<>();
+                this.sizes = new int[4];
+                this.count = 0;
+                this.longsOnly = true;
+                this.promoteOdd = false;
+            }
+
+            @Override
+            public void accumulate(Numeric numeric) {
+                if (numeric.isLong()) add(0, numeric.asLong());
+                else {
+                    add(0, numeric.asDouble());
+                    longsOnly = false;
                 }
+                count++;
+            }
+
+            @Override
+            public MedianSketch merge(MedianSketch other) {
+                for (int level = 0; level < other.levels.size(); level++) {
+                    double[] values = other.levels.get(level);
+                    for (int i = 0; i < other.sizes[level]; i++) add(level, values[i]);
+                }
+                count += other.count;
+                longsOnly &= other.longsOnly;
+                return this;
+            }
+
+            @Override
+            public Numeric median() {
+                if (count == 0) return Numeric.ofNaN();
+                else if (levels.size() > 1) return numeric(quantile(0.5));
+                double[] values = levels.get(0);
+                int middle = (int) (count / 2);
+                Arrays.sort(values, 0, sizes[0]);
+                if (count % 2 == 1) return numeric(values[middle]);
+                else return Numeric.ofDouble((values[middle - 1] + values[middle]) / 2);
+            }
+
+            double quantile(double fraction) {
+                assert count > 0 && fraction >= 0 && fraction <= 1;
+                long rank = (long) (fraction * (count - 1));
+                int[] next = new int[levels.size()];
+                for (int level = 0; level < levels.size(); level++) Arrays.sort(levels.get(level), 0, sizes[level]);
+                long weight = 0;
+                while (true) {
+                    int lowest = -1;
+                    for (int level = 0; level < levels.size(); level++) {
+                        if (next[level] < sizes[level] && (lowest == -1 ||
+                                levels.get(level)[next[level]] < levels.get(lowest)[next[lowest]])) {
+                            lowest = level;
+                        }
+                    }
+                    assert lowest != -1;
+                    double value = levels.get(lowest)[next[lowest]++];
+                    weight += 1L << lowest;
+                    if (weight > rank) return value;
+                }
+            }
+
+            int retained() {
+                return Arrays.stream(sizes, 0, levels.size()).sum();
+            }
+
+            private Numeric numeric(double value) {
+                return longsOnly ? Numeric.ofLong((long) value) : Numeric.ofDouble(value);
+            }
+
+            private void add(int level, double value) {
+                if (level == levels.size()) {
+                    levels.add(new double[capacity]);
+                    if (level == sizes.length) sizes = Arrays.copyOf(sizes, level * 2);
+                }
+                levels.get(level)[sizes[level]++] = value;
+                if (sizes[level] == capacity) compact(level);
+            }
+
+            private void compact(int level) {
+                double[] values = levels.get(level);
+                int size = sizes[level];
+                int pairs = size / 2;
+                Arrays.sort(values, 0, size);
+                double[] promoted = new double[pairs];
+                for (int i = 0; i < pairs; i++) promoted[i] = values[2 * i + (promoteOdd ? 1 : 0)];
+                promoteOdd = !promoteOdd;
+                // an odd value out keeps its weight at this level, so that the total weight still equals the count
+                if (size % 2 == 1) values[0] = values[size - 1];
+                sizes[level] = size % 2;
+                for (double value : promoted) add(level + 1, value);
             }
         }
 
@@ -641,7 +857,9 @@ public class Matcher {
                 // TODO: Replace this temporary implementation of TypeQL Match Group query with a native grouping traversal
                 List<NumericGroup> numericGroups = new ArrayList<>();
                 group.matcher.execute(group.context).stream()
-                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(query.method(), query.var())))
+                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(
+                                query.method(), query.var(), group.context.options().approximateMedian()
+                        )))
                         .forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
                 return iterate(numericGroups);
             }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typeql.lang.query.TypeQLMatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.PREPARED_QUERY_PARAMETER_INVALID;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.PREPARED_QUERY_PARAMETER_UNBOUND;
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * A match query that has been parsed and had its types inferred once, to be executed any number of times. Its
+ * parameters are named thing variables, which are bound to a concept on each execution by IID, so executions only
+ * differ in the parameters of their traversals and share their traversal plans.
+ *
+ * A prepared query is only valid against the schema its types were inferred from.
+ */
+public class PreparedMatch {
+
+    private final TypeQLMatch query;
+    private final Disjunction disjunction;
+    private final Set<Identifier.Variable.Retrievable> parameters;
+
+    PreparedMatch(TypeQLMatch query, Disjunction disjunction, Set<Identifier.Variable.Retrievable> parameters) {
+        this.query = query;
+        this.disjunction = disjunction;
+        this.parameters = parameters;
+        parameters.forEach(parameter -> {
+            if (iterate(disjunction.conjunctions()).anyMatch(conjunction -> conjunction.variable(parameter) == null ||
+                    !conjunction.variable(parameter).isThing())) {
+                throw TypeDBException.of(PREPARED_QUERY_PARAMETER_INVALID, parameter);
+            }
+        });
+    }
+
+    public TypeQLMatch query() {
+        return query;
+    }
+
+    public Set<Identifier.Variable.Retrievable> parameters() {
+        return parameters;
+    }
+
+    /**
+     * @return a copy of the query's pattern, with every parameter bound to the IID of the given thing
+     */
+    Disjunction bind(Map<Identifier.Variable.Retrievable, ? extends Thing> bindings) {
+        Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> bounds = new HashMap<>();
+        parameters.forEach(parameter -> {
+            if (!bindings.containsKey(parameter)) throw TypeDBException.of(PREPARED_QUERY_PARAMETER_UNBOUND, parameter);
+            bounds.put(parameter, Either.second(bindings.get(parameter).getIID()));
+        });
+        Disjunction bound = disjunction.clone();
+        for (Conjunction conjunction : bound.conjunctions()) conjunction.bound(bounds);
+        return bound;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Prepared match queries, keyed by their query string and parameters. The cache is shared by the transactions that
+ * read the same schema, and is discarded with it.
+ */
+public class PreparedQueries {
+
+    private final CommonCache<String, PreparedMatch> matches;
+
+    public PreparedQueries() {
+        this.matches = new CommonCache<>();
+    }
+
+    PreparedMatch match(String query, Set<Identifier.Variable.Retrievable> parameters, Supplier<PreparedMatch> prepare) {
+        String key = parameters.stream().map(Object::toString).sorted().collect(joining(",", query + "\n", ""));
+        return matches.get(key, k -> prepare.get());
+    }
+}
@@ -27,9 +27,13 @@ import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.Numeric;
 import com.vaticle.typedb.core.concept.answer.NumericGroup;
+import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.query.TypeQLDefine;
 import com.vaticle.typeql.lang.query.TypeQLDelete;
 import com.vaticle.typeql.lang.query.TypeQLInsert;
@@ -39,6 +43,11 @@ import com.vaticle.typeql.lang.query.TypeQLUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.traceOnThread;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
@@ -54,10 +63,13 @@ public class QueryManager {
     private final LogicManager logicMgr;
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
+    private final PreparedQueries preparedQueries;
     private final Context.Query defaultContext;
 
-    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction context) {
+    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner,
+                        PreparedQueries preparedQueries, Context.Transaction context) {
         this.conceptMgr = conceptMgr;
+        this.preparedQueries = preparedQueries;
         this.logicMgr = logicMgr;
         this.reasoner = reasoner;
         this.defaultContext = new Context.Query(context, new Options.Query());
@@ -75,6 +87,43 @@ public class QueryManager {
         }
     }
 
+    /**
+     * Parse a match query and infer its types, or reuse the result of doing so for the same query string and
+     * parameters since the schema last changed
+     *
+     * @param parameters the names of thing variables to be bound to a concept on each execution
+     */
+    public PreparedMatch prepare(String query, Set<String> parameters) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "prepare")) {
+            Set<Identifier.Variable.Retrievable> ids = new HashSet<>();
+            parameters.forEach(parameter -> ids.add(Identifier.Variable.name(parameter)));
+            return preparedQueries.match(query, ids, () -> {
+                TypeQLMatch match = TypeQL.parseQuery(query).asMatch();
+                Disjunction disjunction = Disjunction.create(match.conjunction().normalise());
+                reasoner.inferAndValidateTypes(disjunction);
+                return new PreparedMatch(match, disjunction, ids);
+            });
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    public FunctionalIterator<ConceptMap> match(PreparedMatch query, Map<String, ? extends Thing> bindings) {
+        return match(query, bindings, defaultContext);
+    }
+
+    public FunctionalIterator<ConceptMap> match(PreparedMatch query, Map<String, ? extends Thing> bindings,
+                                                Context.Query context) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_prepared")) {
+            Map<Identifier.Variable.Retrievable, Thing> ids = new HashMap<>();
+            bindings.forEach((name, thing) -> ids.put(Identifier.Variable.name(name), thing));
+            return Matcher.create(reasoner, query.query(), query.bind(ids), context).execute()
+                    .onError(conceptMgr::exception);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
     public FunctionalIterator<Explanation> explain(long explainableId) {
         return reasoner.explain(explainableId, defaultContext);
     }
@@ -137,7 +186,7 @@ public class QueryManager {
         if (context.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         if (context.transactionType().isRead()) throw conceptMgr.exception(TRANSACTION_DATA_READ_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "delete")) {
-            Deleter.create(reasoner, query, context).execute();
+            Deleter.create(reasoner, conceptMgr, query, context).execute();
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.concept.ConceptManager;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.pattern.variable.ThingVariable;
 import com.vaticle.typedb.core.pattern.variable.VariableRegistry;
+import com.vaticle.typedb.core.query.common.Matches;
 import com.vaticle.typedb.core.reasoner.Reasoner;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLUpdate;
@@ -86,23 +87,24 @@ public class Updater {
     }
 
     private FunctionalIterator<ConceptMap> executeParallel() {
-        List<List<ConceptMap>> lists = matcher.execute(context).toLists(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
-        assert !lists.isEmpty();
+        List<FunctionalIterator<ConceptMap>> batches = Matches.drain(matcher.execute(context), conceptMgr)
+                .batches(PARALLELISATION_SPLIT_MIN, PARALLELISATION_FACTOR);
+        assert !batches.isEmpty();
         List<ConceptMap> updates;
         Function<ConceptMap, ConceptMap> updateFn = (matched) -> {
             new Deleter.Operation(matched, deleteVariables).execute();
             return new Inserter.Operation(conceptMgr, matched, insertVariables).execute();
         };
-        if (lists.size() == 1) updates = iterate(lists.get(0)).map(updateFn).toList();
+        if (batches.size() == 1) updates = batches.get(0).map(updateFn).toList();
         else updates = produce(async(
-                iterate(lists).map(list -> iterate(list).map(updateFn)), PARALLELISATION_FACTOR
+                iterate(batches).map(batch -> batch.map(updateFn)), PARALLELISATION_FACTOR
         ), Either.first(EXHAUSTIVE), async1()).toList();
         return iterate(updates);
     }
 
     private FunctionalIterator<ConceptMap> executeSerial() {
-        List<ConceptMap> matches = matcher.execute(context).onError(conceptMgr::exception).toList();
-        List<ConceptMap> answers = iterate(matches).map(matched -> {
+        Matches matches = Matches.drain(matcher.execute(context).onError(conceptMgr::exception), conceptMgr);
+        List<ConceptMap> answers = matches.iterator().map(matched -> {
             new Deleter.Operation(matched, deleteVariables).execute();
             return new Inserter.Operation(conceptMgr, matched, insertVariables).execute();
         }).toList();
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query.common;
+
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+
+/**
+ * The answers of the match clause of a write query, retained compactly until the writes are applied.
+ *
+ * The match reads the same transaction buffers that the writes modify, so it must be drained before the first write
+ * to keep the snapshot semantics of the query. Rather than retaining every answer's map, concepts and vertices, each
+ * answer is kept as a flat row holding thing IIDs and shared type concepts, and is rebuilt just before it is written.
+ * Rows are released as soon as they are rebuilt, so memory drains back while the writes progress.
+ *
+ * Things are rebuilt from the transaction's buffered vertices where present, so they see the writes of earlier rows.
+ * A thing deleted by the writes of an earlier row is rebuilt from its deleted vertex, so that it reports itself as
+ * deleted and the writes of the row can skip it.
+ */
+public class Matches {
+
+    private final ConceptManager conceptMgr;
+    private final List<Object[]> rows;
+    private Retrievable[] ids;
+
+    private Matches(ConceptManager conceptMgr) {
+        this.conceptMgr = conceptMgr;
+        this.rows = new ArrayList<>();
+    }
+
+    public static Matches drain(FunctionalIterator<ConceptMap> answers, ConceptManager conceptMgr) {
+        Matches matches = new Matches(conceptMgr);
+        answers.forEachRemaining(matches::add);
+        return matches;
+    }
+
+    private void add(ConceptMap answer) {
+        if (ids == null) ids = answer.concepts().keySet().toArray(new Retrievable[0]);
+        assert answer.concepts().size() == ids.length;
+        Object[] row = new Object[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Concept concept = answer.get(ids[i]);
+            row[i] = concept.isThing() ? concept.asThing().getIID() : concept;
+        }
+        rows.add(row);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public FunctionalIterator<ConceptMap> iterator() {
+        return iterator(0, rows.size());
+    }
+
+    /**
+     * Splits the rows into at most {@code maxSplit} disjoint batches of at least {@code minSize} rows each, which
+     * may be written concurrently.
+     */
+    public List<FunctionalIterator<ConceptMap>> batches(int minSize, int maxSplit) {
+        int split = Math.max(1, Math.min(maxSplit, rows.size() / Math.max(1, minSize)));
+        int batchSize = (rows.size() + split - 1) / split;
+        List<FunctionalIterator<ConceptMap>> batches = new ArrayList<>(split);
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            batches.add(iterator(start, Math.min(start + batchSize, rows.size())));
+        }
+        if (batches.isEmpty()) batches.add(iterator());
+        return batches;
+    }
+
+    private FunctionalIterator<ConceptMap> iterator(int start, int end) {
+        return iterate(new Iterator<ConceptMap>() {
+
+            private int next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public ConceptMap next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Object[] row = rows.set(next++, null);
+                return answer(row);
+            }
+        });
+    }
+
+    private ConceptMap answer(Object[] row) {
+        Map<Retrievable, Concept> concepts = new HashMap<>(ids.length * 4 / 3 + 1);
+        for (int i = 0; i < ids.length; i++) {
+            if (row[i] instanceof ByteArray) {
+                Thing thing = conceptMgr.getThingOrDeleted((ByteArray) row[i]);
+                assert thing != null;
+                concepts.put(ids[i], thing);
+            } else {
+                concepts.put(ids[i], (Concept) row[i]);
+            }
+        }
+        return new ConceptMap(concepts);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaticle.typedb.common.collection.Either;
+import com.vaticle.typedb.core.common.collection.ByteArray;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.Concept;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concept.thing.Thing;
+import com.vaticle.typedb.core.concept.type.RelationType;
+import com.vaticle.typedb.core.concept.type.Type;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.Disjunction;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Answers to reasoning queries, shared by all transactions of a database, so that a query repeated over data that
+ * has not changed since it was last answered is served without reasoning.
+ *
+ * Every data commit is numbered once it is written, and the types it modified are stamped with its number. A
+ * transaction takes the number of the latest commit before it takes its snapshot, so every commit numbered up to
+ * then is in its snapshot. An answer set is stored and served only if none of the types it reads were modified after
+ * both the transaction that computed it, and the transaction reading it, were opened, and none are being committed.
+ * Commits also evict the answer sets that read the types they modified, to free their memory early.
+ *
+ * Only complete answer sets are stored, whose concepts are all persisted, as inferred concepts only exist within the
+ * transaction that inferred them.
+ */
+public class AnswerCache {
+
+    static final int MAX_ENTRY_ANSWERS = 10_000;
+
+    private final Cache<String, Entry> entries;
+    private final ConcurrentMap<Label, Long> modifiedAt;
+    private final ConcurrentMap<Label, AtomicInteger> committing;
+    private final AtomicLong commits;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private volatile long schemaModifiedAt;
+
+    public AnswerCache() {
+        this(Options.DEFAULT_REASONER_ANSWER_CACHE_SIZE);
+    }
+
+    /**
+     * @param maxAnswers the total number of answers held across all answer sets, each of which also counts as one
+     */
+    public AnswerCache(long maxAnswers) {
+        this.entries = Caffeine.newBuilder().maximumWeight(maxAnswers)
+                .weigher((String key, Entry entry) -> entry.answers.size() + 1).recordStats().build();
+        this.modifiedAt = new ConcurrentHashMap<>();
+        this.committing = new ConcurrentHashMap<>();
+        this.commits = new AtomicLong(0);
+        this.hits = new AtomicLong(0);
+        this.misses = new AtomicLong(0);
+        this.schemaModifiedAt = 0;
+    }
+
+    /**
+     * @return the number of the latest data commit, to be taken before a transaction takes its snapshot
+     */
+    public long commits() {
+        return commits.get();
+    }
+
+    public void committing(Set<Label> types) {
+        types.forEach(type -> committing.computeIfAbsent(type, t -> new AtomicInteger()).incrementAndGet());
+    }
+
+    /**
+     * Called once the data written by a commit is readable, or the commit has failed, after {@code committing}
+     */
+    public void committed(Set<Label> types) {
+        long commit = commits.incrementAndGet();
+        types.forEach(type -> modifiedAt.merge(type, commit, Math::max));
+        types.forEach(type -> committing.get(type).decrementAndGet());
+        if (!types.isEmpty()) entries.asMap().values().removeIf(entry -> !Collections.disjoint(entry.reads, types));
+    }
+
+    public void schemaModified() {
+        schemaModifiedAt = commits.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    Optional<List<ConceptMap>> get(String key, long snapshot, ConceptManager conceptMgr) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || !isCurrent(entry.reads, Math.min(entry.snapshot, snapshot))) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        List<ConceptMap> answers = new ArrayList<>(entry.answers.size());
+        for (Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> encoded : entry.answers) {
+            ConceptMap answer = decode(encoded, conceptMgr);
+            if (answer == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            answers.add(answer);
+        }
+        hits.incrementAndGet();
+        return Optional.of(answers);
+    }
+
+    void put(String key, Set<Label> reads, long snapshot, List<ConceptMap> answers) {
+        if (answers.size() > MAX_ENTRY_ANSWERS || !isCurrent(reads, snapshot)) return;
+        if (iterate(answers).flatMap(answer -> iterate(answer.concepts().values()))
+                .anyMatch(concept -> concept.isThing() && concept.asThing().isInferred())) {
+            return;
+        }
+        List<Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>>> encoded = new ArrayList<>(answers.size());
+        answers.forEach(answer -> encoded.add(answer.toMap(Type::getLabel, Thing::getIID)));
+        entries.put(key, new Entry(reads, snapshot, encoded));
+    }
+
+    private boolean isCurrent(Set<Label> reads, long snapshot) {
+        return schemaModifiedAt <= snapshot && iterate(reads).noneMatch(type ->
+                modifiedAt.getOrDefault(type, 0L) > snapshot ||
+                        (committing.containsKey(type) && committing.get(type).get() > 0)
+        );
+    }
+
+    @Nullable
+    private static ConceptMap decode(Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>> encoded,
+                                     ConceptManager conceptMgr) {
+        Map<Identifier.Variable.Retrievable, Concept> concepts = new HashMap<>();
+        for (Map.Entry<Identifier.Variable.Retrievable, Either<Label, ByteArray>> entry : encoded.entrySet()) {
+            Concept concept;
+            if (entry.getValue().isSecond()) concept = conceptMgr.getThing(entry.getValue().second());
+            else if (entry.getValue().first().scope().isPresent()) {
+                Label label = entry.getValue().first();
+                RelationType relationType = conceptMgr.getRelationType(label.scope().get());
+                concept = relationType == null ? null : relationType.getRelates(label.name());
+            } else concept = conceptMgr.getThingType(entry.getValue().first().name());
+            if (concept == null) return null;
+            concepts.put(entry.getKey(), concept);
+        }
+        return new ConceptMap(concepts);
+    }
+
+    /**
+     * @return a key that is equal for queries that are written the same, up to the order of their constraints
+     */
+    static String key(Disjunction disjunction, Set<Identifier.Variable.Retrievable> filter) {
+        return key(disjunction) + " get " + filter.stream().map(Object::toString).sorted().collect(joining(", "));
+    }
+
+    private static String key(Disjunction disjunction) {
+        return disjunction.conjunctions().stream().map(AnswerCache::key).sorted().collect(joining(" or "));
+    }
+
+    private static String key(Conjunction conjunction) {
+        return Stream.concat(
+                conjunction.variables().stream().flatMap(variable -> variable.constraints().stream()).map(Object::toString),
+                conjunction.negations().stream().map(negation -> "not " + key(negation.disjunction()))
+        ).sorted().collect(joining("; ", "{ ", " }"));
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public double hitRate() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0 : (double) hits.get() / requests;
+    }
+
+    public long evictions() {
+        return entries.stats().evictionCount();
+    }
+
+    private static class Entry {
+
+        private final Set<Label> reads;
+        private final long snapshot;
+        private final List<Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>>> answers;
+
+        private Entry(Set<Label> reads, long snapshot,
+                      List<Map<Identifier.Variable.Retrievable, Either<Label, ByteArray>>> answers) {
+            this.reads = reads;
+            this.snapshot = snapshot;
+            this.answers = answers;
+        }
+    }
+}
@@ -37,6 +37,7 @@ import com.vaticle.typedb.core.logic.resolvable.Concludable;
 import com.vaticle.typedb.core.pattern.Conjunction;
 import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.pattern.Negation;
+import com.vaticle.typedb.core.pattern.constraint.thing.HasConstraint;
 import com.vaticle.typedb.core.pattern.variable.Variable;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.reasoner.controller.ControllerRegistry;
@@ -45,15 +46,20 @@ import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typeql.lang.pattern.variable.UnboundVariable;
 import com.vaticle.typeql.lang.query.TypeQLMatch;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_PATTERN;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_SUB_PATTERN;
+import static com.vaticle.typedb.core.common.exception.ErrorMessage.Reasoner.BATCH_INFERENCE_CANNOT_EXPLAIN;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
+import static com.vaticle.typedb.core.common.iterator.Iterators.link;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.PARALLELISATION_FACTOR;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.actor;
@@ -67,12 +73,16 @@ public class Reasoner {
     private final LogicManager logicMgr;
     private final ControllerRegistry controllerRegistry;
     private final ExplainablesManager explainablesManager;
+    private final AnswerCache answerCache;
+    private final long answerCacheSnapshot;
 
-    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr,
-                    TraversalEngine traversalEng, Context.Transaction context) {
+    public Reasoner(ConceptManager conceptMgr, LogicManager logicMgr, TraversalEngine traversalEng,
+                    Context.Transaction context, AnswerCache answerCache, long answerCacheSnapshot) {
         this.conceptMgr = conceptMgr;
         this.traversalEng = traversalEng;
         this.logicMgr = logicMgr;
+        this.answerCache = answerCache;
+        this.answerCacheSnapshot = answerCacheSnapshot;
         Context.Query defaultContext = new Context.Query(context, new Options.Query());
         defaultContext.producer(Either.first(EXHAUSTIVE));
         this.controllerRegistry = new ControllerRegistry(actor(), traversalEng, conceptMgr, logicMgr, defaultContext);
@@ -83,6 +93,10 @@ public class Reasoner {
         return controllerRegistry;
     }
 
+    public AnswerCache answerCache() {
+        return answerCache;
+    }
+
     private boolean mayReason(Disjunction disjunction, Context.Query context) {
         if (!context.options().infer() || context.transactionType().isWrite() || !logicMgr.rules().hasNext()) {
             return false;
@@ -101,16 +115,44 @@ public class Reasoner {
     }
 
     private boolean hasRule(Label type) {
-        return logicMgr.rulesConcluding(type).hasNext() || logicMgr.rulesConcludingHas(type).hasNext();
+        return link(logicMgr.rulesConcluding(type), logicMgr.rulesConcludingHas(type))
+                .anyMatch(rule -> !logicMgr.isMaterialisationCurrent(rule));
     }
 
     public FunctionalIterator<ConceptMap> execute(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, Context.Query context) {
         inferAndValidateTypes(disjunction);
+        return executeInferred(disjunction, modifiers, context);
+    }
+
+    /**
+     * Execute a query whose types have already been inferred and validated, such as a prepared query
+     */
+    public FunctionalIterator<ConceptMap> executeInferred(Disjunction disjunction, TypeQLMatch.Modifiers modifiers,
+                                                          Context.Query context) {
         if (mayReason(disjunction, context)) return executeReasoner(disjunction, filter(modifiers.filter()), context);
         else return executeTraversal(disjunction, context, filter(modifiers.filter()));
     }
 
-    private void inferAndValidateTypes(Disjunction disjunction) {
+    /**
+     * Count the answers of a query without building the concepts of each answer, when the answers are exactly
+     * the answers of a single traversal.
+     */
+    public long count(Disjunction disjunction, TypeQLMatch.Modifiers modifiers, Context.Query context) {
+        inferAndValidateTypes(disjunction);
+        Set<Identifier.Variable.Retrievable> filter = filter(modifiers.filter());
+        if (mayReason(disjunction, context)) return executeReasoner(disjunction, filter, context).count();
+        else if (disjunction.conjunctions().size() > 1 || !disjunction.conjunctions().get(0).negations().isEmpty()) {
+            return executeTraversal(disjunction, context, filter).count();
+        }
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        if (!conjunction.isCoherent()) return 0;
+        else if (excludesMaterialised(context)) return executeTraversal(disjunction, context, filter).count();
+        else if (!context.options().parallel()) return traversalEng.iterator(conjunction.traversal(filter)).count();
+        else return produce(traversalEng.producer(conjunction.traversal(filter), parallelisation()),
+                            context.producer(), async1()).count();
+    }
+
+    public void inferAndValidateTypes(Disjunction disjunction) {
         logicMgr.typeInference().applyCombination(disjunction);
         if (!disjunction.isCoherent()) {
             Set<Conjunction> causes = incoherentConjunctions(disjunction);
@@ -142,6 +184,58 @@ public class Reasoner {
 
     public FunctionalIterator<ConceptMap> executeReasoner(Disjunction disjunction, Set<Identifier.Variable.Retrievable> filter,
                                                           Context.Query context) {
+        if (context.options().batchInference()) {
+            if (context.options().explain()) throw TypeDBException.of(BATCH_INFERENCE_CANNOT_EXPLAIN);
+            logicMgr.saturate(iterate(types(disjunction))
+                                      .flatMap(type -> link(logicMgr.rulesConcluding(type), logicMgr.rulesConcludingHas(type)))
+                                      .filter(rule -> !logicMgr.isMaterialisationCurrent(rule)).toSet());
+            return executeTraversal(disjunction, context, filter);
+        }
+        if (context.options().explain()) return reason(disjunction, filter, context);
+        String key = AnswerCache.key(disjunction, filter);
+        Optional<List<ConceptMap>> cached = answerCache.get(key, answerCacheSnapshot, conceptMgr);
+        if (cached.isPresent()) return iterate(cached.get());
+
+        Set<Label> reads = reads(disjunction);
+        List<ConceptMap> answers = new ArrayList<>();
+        return reason(disjunction, filter, context).map(answer -> {
+            if (answers.size() <= AnswerCache.MAX_ENTRY_ANSWERS) answers.add(answer);
+            return answer;
+        }).onConsumed(() -> answerCache.put(key, reads, answerCacheSnapshot, answers));
+    }
+
+    /**
+     * @return the types that the answers of a query may depend on: those of its variables, and those read by any rule
+     * that may conclude them, transitively
+     */
+    private Set<Label> reads(Disjunction disjunction) {
+        Set<Label> reads = new HashSet<>();
+        LinkedList<Label> frontier = new LinkedList<>(types(disjunction));
+        while (!frontier.isEmpty()) {
+            Label type = frontier.removeFirst();
+            if (reads.add(type)) {
+                link(logicMgr.rulesConcluding(type), logicMgr.rulesConcludingHas(type))
+                        .forEachRemaining(rule -> frontier.addAll(types(rule.when())));
+            }
+        }
+        return reads;
+    }
+
+    private static Set<Label> types(Disjunction disjunction) {
+        Set<Label> types = new HashSet<>();
+        disjunction.conjunctions().forEach(conj -> types.addAll(types(conj)));
+        return types;
+    }
+
+    private static Set<Label> types(Conjunction conjunction) {
+        Set<Label> types = new HashSet<>();
+        conjunction.variables().forEach(v -> types.addAll(v.inferredTypes()));
+        conjunction.negations().forEach(n -> types.addAll(types(n.disjunction())));
+        return types;
+    }
+
+    private FunctionalIterator<ConceptMap> reason(Disjunction disjunction, Set<Identifier.Variable.Retrievable> filter,
+                                                  Context.Query context) {
         ReasonerProducer.Match producer = disjunction.conjunctions().size() == 1
                 ? new ReasonerProducer.Match.Conjunction(disjunction.conjunctions().get(0), filter, context.options(), controllerRegistry, explainablesManager)
                 : new ReasonerProducer.Match.Disjunction(disjunction, filter, context.options(), controllerRegistry, explainablesManager);
@@ -152,41 +246,83 @@ public class Reasoner {
                                                            Set<Identifier.Variable.Retrievable> filter) {
         FunctionalIterator<ConceptMap> answers;
         FunctionalIterator<Conjunction> conjs = iterate(disjunction.conjunctions());
-        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter));
-        else answers = produce(conjs.map(c -> producer(c, filter)).toList(), context.producer(), async1());
+        boolean excludeMaterialised = excludesMaterialised(context);
+        if (!context.options().parallel()) answers = conjs.flatMap(conj -> iterator(conj, filter, excludeMaterialised));
+        else answers = produce(conjs.map(c -> producer(c, filter, parallelisation(), excludeMaterialised)).toList(),
+                               context.producer(), async1());
         if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
         return answers;
     }
 
-    private Producer<ConceptMap> producer(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter) {
-        if (conjunction.negations().isEmpty()) {
-            return traversalEng.producer(conjunction.traversal(filter), PARALLELISATION_FACTOR)
+    /**
+     * The facts written by materialised rules are derived, so, like inferred facts, they are only read by queries
+     * that reason: queries without inference, and queries in write transactions, leave them out.
+     */
+    private boolean excludesMaterialised(Context.Query context) {
+        return (!context.options().infer() || context.transactionType().isWrite()) &&
+                logicMgr.rules().anyMatch(logicMgr::isMaterialised);
+    }
+
+    /**
+     * @return true if the answer reads a fact written by a materialised rule: a thing the rule created, or an
+     * ownership it wrote between two things of the answer
+     */
+    private static boolean readsMaterialised(Conjunction conjunction, ConceptMap answer) {
+        for (Variable variable : conjunction.variables()) {
+            if (!variable.isThing() || !answer.contains(variable.id().asRetrievable())) continue;
+            Thing thing = answer.get(variable.id().asRetrievable()).asThing();
+            if (thing.isMaterialised()) return true;
+            for (HasConstraint has : variable.asThing().has()) {
+                Identifier.Variable.Retrievable attribute = has.attribute().id().asRetrievable();
+                if (answer.contains(attribute) && thing.hasMaterialised(answer.get(attribute).asAttribute())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int parallelisation() {
+        return context.options().parallelisation().orElse(PARALLELISATION_FACTOR);
+    }
+
+    private Producer<ConceptMap> producer(Conjunction conjunction, Set<Identifier.Variable.Retrievable> filter,
+                                          int parallelisation, boolean excludeMaterialised) {
+        if (conjunction.negations().isEmpty() && !excludeMaterialised) {
+            return traversalEng.producer(conjunction.traversal(filter), parallelisation)
                     .map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.producer(conjunction.traversal(), PARALLELISATION_FACTOR)
-                    .map(conceptMgr::conceptMap).filter(answer -> !iterate(conjunction.negations()).flatMap(
-                            negation -> iterator(negation.disjunction(), answer)).hasNext()
+            return traversalEng.producer(conjunction.traversal(), parallelisation)
+                    .map(conceptMgr::conceptMap)
+                    .filter(answer -> !excludeMaterialised || !readsMaterialised(conjunction, answer))
+                    .filter(answer -> !iterate(conjunction.negations()).flatMap(
+                            negation -> iterator(negation.disjunction(), answer, excludeMaterialised)).hasNext()
                     ).map(answer -> answer.filter(filter)).distinct();
         }
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds) {
-        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds));
+    private FunctionalIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds,
+                                                    boolean excludeMaterialised) {
+        return iterate(disjunction.conjunctions()).flatMap(c -> iterator(c, bounds, excludeMaterialised));
     }
 
-    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds) {
-        return iterator(bound(conjunction, bounds), set());
+    private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction, ConceptMap bounds,
+                                                    boolean excludeMaterialised) {
+        return iterator(bound(conjunction, bounds), set(), excludeMaterialised);
     }
 
     private FunctionalIterator<ConceptMap> iterator(Conjunction conjunction,
-                                                    Set<Identifier.Variable.Retrievable> filter) {
+                                                    Set<Identifier.Variable.Retrievable> filter,
+                                                    boolean excludeMaterialised) {
         if (!conjunction.isCoherent()) return Iterators.empty();
-        if (conjunction.negations().isEmpty()) {
+        if (conjunction.negations().isEmpty() && !excludeMaterialised) {
             return traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
         } else {
-            return traversalEng.iterator(conjunction.traversal()).map(conceptMgr::conceptMap).filter(
-                    ans -> !iterate(conjunction.negations()).flatMap(n -> iterator(n.disjunction(), ans)).hasNext()
-            ).map(conceptMap -> conceptMap.filter(filter)).distinct();
+            return traversalEng.iterator(conjunction.traversal()).map(conceptMgr::conceptMap)
+                    .filter(ans -> !excludeMaterialised || !readsMaterialised(conjunction, ans))
+                    .filter(ans -> !iterate(conjunction.negations()).flatMap(
+                            n -> iterator(n.disjunction(), ans, excludeMaterialised)).hasNext()
+                    ).map(conceptMap -> conceptMap.filter(filter)).distinct();
         }
     }
 
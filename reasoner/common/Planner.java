@@ -18,10 +18,18 @@
 
 package com.vaticle.typedb.core.reasoner.common;
 
+import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
-import com.vaticle.typedb.core.logic.resolvable.Concludable;
+import com.vaticle.typedb.core.concept.ConceptManager;
+import com.vaticle.typedb.core.graph.ThingGraph;
+import com.vaticle.typedb.core.logic.LogicManager;
+import com.vaticle.typedb.core.logic.Rule;
 import com.vaticle.typedb.core.logic.resolvable.Resolvable;
+import com.vaticle.typedb.core.pattern.Conjunction;
+import com.vaticle.typedb.core.pattern.constraint.thing.ValueConstraint;
 import com.vaticle.typedb.core.pattern.variable.ThingVariable;
+import com.vaticle.typedb.core.pattern.variable.Variable;
+import com.vaticle.typedb.core.traversal.TraversalEngine;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 
 import java.util.ArrayList;
@@ -33,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static com.vaticle.typedb.common.collection.Collections.set;
@@ -44,7 +53,83 @@ public class Planner {
     public static List<Resolvable<?>> plan(Set<Resolvable<?>> resolvables,
                                            Map<Resolvable<?>, Integer> visitCounts,
                                            Set<Retrievable> boundVariables) {
-        return new Plan(resolvables, visitCounts, boundVariables).plan;
+        return plan(resolvables, visitCounts, boundVariables, Cost.UNIFORM);
+    }
+
+    public static List<Resolvable<?>> plan(Set<Resolvable<?>> resolvables,
+                                           Map<Resolvable<?>, Integer> visitCounts,
+                                           Set<Retrievable> boundVariables, Cost cost) {
+        return new Plan(resolvables, visitCounts, boundVariables, cost).plan;
+    }
+
+    /**
+     * Estimates the number of answers a resolvable produces for each answer it is given, using the data statistics
+     * and, for a concludable, the answers its rules may infer. Estimates depend only on which of a resolvable's
+     * variables are bound, and are cached for the lifetime of the cost model, which is that of a transaction.
+     */
+    public static class Cost {
+
+        static final Cost UNIFORM = new Cost(null, null, null) {
+            @Override
+            public double estimate(Resolvable<?> resolvable, Set<Retrievable> bounds) {
+                return 0;
+            }
+        };
+
+        private final ThingGraph.Statistics statistics;
+        private final ConceptManager conceptMgr;
+        private final LogicManager logicMgr;
+        private final Map<Pair<Resolvable<?>, Set<Retrievable>>, Double> estimates;
+        private final Map<Rule, Double> ruleOutputs;
+
+        public Cost(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr) {
+            this.statistics = traversalEng == null ? null : traversalEng.graph().data().stats();
+            this.conceptMgr = conceptMgr;
+            this.logicMgr = logicMgr;
+            this.estimates = new ConcurrentHashMap<>();
+            this.ruleOutputs = new ConcurrentHashMap<>();
+        }
+
+        public double estimate(Resolvable<?> resolvable, Set<Retrievable> bounds) {
+            Set<Retrievable> bound = new HashSet<>(resolvable.retrieves());
+            bound.retainAll(bounds);
+            return estimates.computeIfAbsent(new Pair<>(resolvable, bound), k -> compute(resolvable, bound));
+        }
+
+        private double compute(Resolvable<?> resolvable, Set<Retrievable> bound) {
+            double retrieved = retrieval(resolvable.pattern(), bound);
+            if (!resolvable.isConcludable()) return retrieved;
+            double inferred = resolvable.asConcludable().getApplicableRules(conceptMgr, logicMgr)
+                    .filter(rule -> !logicMgr.isMaterialisationCurrent(rule))
+                    .map(rule -> ruleOutputs.computeIfAbsent(rule, r -> retrieval(r.when(), set())))
+                    .reduce(0.0, Double::sum);
+            // the rules' answers are narrowed by the bound variables in the same proportion as the stored answers
+            return retrieved + inferred * retrieved / retrieval(resolvable.pattern(), set());
+        }
+
+        /**
+         * A connected pattern produces about as many answers as the largest population among its unbound variables,
+         * divided by the smallest population among its bound variables, which is the average fan-out from a bound
+         * concept.
+         */
+        private double retrieval(Conjunction conjunction, Set<Retrievable> bound) {
+            double boundMin = Double.MAX_VALUE;
+            double unboundMax = 0;
+            for (Variable variable : conjunction.variables()) {
+                if (!variable.isThing()) continue;
+                double count = population(variable.asThing());
+                if (bound.contains(variable.id())) boundMin = Math.min(boundMin, count);
+                else unboundMax = Math.max(unboundMax, count);
+            }
+            if (unboundMax == 0) return 1;
+            else if (boundMin == Double.MAX_VALUE) return unboundMax;
+            else return Math.max(1, unboundMax / boundMin);
+        }
+
+        private double population(ThingVariable variable) {
+            if (variable.iid().isPresent() || iterate(variable.value()).anyMatch(ValueConstraint::isValueIdentity)) return 1;
+            else return Math.max(1, statistics.thingVertexSum(variable.inferredTypes()));
+        }
     }
 
     private static class Plan {
@@ -53,12 +138,14 @@ public class Planner {
         private final Set<Retrievable> boundVariables;
         private final Set<Resolvable<?>> unplanned;
         private final Map<Resolvable<?>, Integer> visitCounts;
+        private final Cost cost;
 
         private Plan(Set<Resolvable<?>> resolvables, Map<Resolvable<?>, Integer> visitCounts,
-                     Set<Retrievable> boundVariables) {
+                     Set<Retrievable> boundVariables, Cost cost) {
             assert resolvables.size() > 0;
             this.unplanned = new HashSet<>(resolvables);
             this.visitCounts = visitCounts;
+            this.cost = cost;
             this.boundVariables = new HashSet<>(boundVariables);
             this.dependencies = dependencies(resolvables);
             this.plan = new ArrayList<>();
@@ -75,57 +162,32 @@ public class Planner {
 
         private void computePlan() {
             while (!unplanned.isEmpty()) {
-                Optional<Concludable> concludable;
-                Optional<com.vaticle.typedb.core.logic.resolvable.Retrievable> retrievable;
-
-                // Retrievable where:
-                // it is connected
-                // all of it's dependencies are already satisfied,
-                retrievable = sortedByVisitCount(dependenciesSatisfied(hasAnsweredVar(unplanned.stream().filter(Resolvable::isRetrievable))))
-                        .map(Resolvable::asRetrievable);
-                if (retrievable.isPresent()) {
-                    add(retrievable.get());
-                    continue;
-                }
+                Optional<Resolvable<?>> resolvable;
 
-                // Concludable where:
+                // Cheapest resolvable where:
                 // it is connected
                 // all of it's dependencies are already satisfied,
-                concludable = sortedByVisitCount(dependenciesSatisfied(hasAnsweredVar(unplanned.stream().filter(Resolvable::isConcludable))))
-                        .map(Resolvable::asConcludable);
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                resolvable = cheapest(dependenciesSatisfied(hasAnsweredVar(unplanned.stream())));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
 
-                // Retrievable where:
-                // it can be disconnected
-                // all of it's dependencies are already satisfied (should be moot),
-                // it can be disconnected
-                retrievable = sortedByVisitCount(dependenciesSatisfied(unplanned.stream().filter(Resolvable::isRetrievable)))
-                        .map(Resolvable::asRetrievable);
-                if (retrievable.isPresent()) {
-                    add(retrievable.get());
-                    continue;
-                }
-
-                // Concludable where:
+                // Cheapest resolvable where:
                 // it can be disconnected
                 // all of it's dependencies are already satisfied
-                concludable = sortedByVisitCount(dependenciesSatisfied(unplanned.stream().filter(Resolvable::isConcludable)))
-                        .map(Resolvable::asConcludable);
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                resolvable = cheapest(dependenciesSatisfied(unplanned.stream()));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
 
                 // Concludable where:
                 // it can be disconnected
                 // all of it's dependencies are NOT already satisfied
-                concludable = sortedByVisitCount(unplanned.stream().filter(Resolvable::isConcludable))
-                        .map(Resolvable::asConcludable);
-                if (concludable.isPresent()) {
-                    add(concludable.get());
+                resolvable = cheapest(unplanned.stream().filter(Resolvable::isConcludable));
+                if (resolvable.isPresent()) {
+                    add(resolvable.get());
                     continue;
                 }
                 throw TypeDBException.of(ILLEGAL_STATE);
@@ -140,8 +202,14 @@ public class Planner {
             return resolvableStream.filter(r -> !Collections.disjoint(r.retrieves(), boundVariables));
         }
 
-        private Optional<Resolvable<?>> sortedByVisitCount(Stream<Resolvable<?>> resolvables) {
-            return resolvables.max(Comparator.comparingInt(r -> visitCounts.getOrDefault(r, 0)));
+        /**
+         * Prefer the resolvable with the fewest estimated answers given the variables bound so far, then retrievables
+         * over concludables, then the most visited
+         */
+        private Optional<Resolvable<?>> cheapest(Stream<Resolvable<?>> resolvables) {
+            return resolvables.min(Comparator.<Resolvable<?>>comparingDouble(r -> cost.estimate(r, boundVariables))
+                                           .thenComparing(Resolvable::isConcludable)
+                                           .thenComparing(r -> -visitCounts.getOrDefault(r, 0)));
         }
 
         /**
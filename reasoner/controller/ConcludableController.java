@@ -73,6 +73,7 @@ public abstract class ConcludableController<INPUT, OUTPUT,
     @Override
     public void setUpUpstreamControllers() {
         concludable.getApplicableRules(registry().conceptManager(), registry().logicManager())
+                .filter(rule -> !registry().logicManager().isMaterialisationCurrent(rule))
                 .forEachRemaining(rule -> {
                     Driver<? extends ConclusionController<INPUT, ?, ?>> controller = registerConclusionController(rule);
                     conclusionControllers.put(rule.conclusion(), controller);
@@ -111,7 +111,7 @@ public abstract class ConjunctionController<
 
     List<Resolvable<?>> plan(Set<Variable.Retrievable> boundVariables) {
         if (!plans.containsKey(boundVariables)) {
-            List<Resolvable<?>> plan = Planner.plan(resolvables, new HashMap<>(), boundVariables);
+            List<Resolvable<?>> plan = Planner.plan(resolvables, new HashMap<>(), boundVariables, registry().plannerCost());
             plan.addAll(negateds);
             plans.put(boundVariables, plan);
         }
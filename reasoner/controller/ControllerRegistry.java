@@ -36,6 +36,7 @@ import com.vaticle.typedb.core.pattern.Disjunction;
 import com.vaticle.typedb.core.pattern.equivalence.AlphaEquivalence;
 import com.vaticle.typedb.core.reasoner.ReasonerConsumer;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
+import com.vaticle.typedb.core.reasoner.common.Planner;
 import com.vaticle.typedb.core.reasoner.common.Tracer;
 import com.vaticle.typedb.core.reasoner.processor.reactive.Monitor;
 import com.vaticle.typedb.core.traversal.TraversalEngine;
@@ -68,6 +69,7 @@ public class ControllerRegistry {
     private final Map<Rule, Driver<ConclusionController.Explain>> explainConclusions;
     private final Set<Driver<? extends AbstractController<?, ?, ?, ?, ?, ?>>> controllers;
     private final TraversalEngine traversalEngine;
+    private final Planner.Cost plannerCost;
     private final AbstractController.Context controllerContext;
     private final Driver<MaterialisationController> materialisationController;
     private final AtomicBoolean terminated;
@@ -78,6 +80,7 @@ public class ControllerRegistry {
         this.traversalEngine = traversalEngine;
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
+        this.plannerCost = new Planner.Cost(traversalEngine, conceptMgr, logicMgr);
         this.concludableControllers = new ConcurrentHashMap<>();
         this.controllerConcludables = new ConcurrentHashMap<>();
         this.conditions = new ConcurrentHashMap<>();
@@ -110,6 +113,10 @@ public class ControllerRegistry {
         return logicMgr;
     }
 
+    public Planner.Cost plannerCost() {
+        return plannerCost;
+    }
+
     public void terminate(Throwable e) {
         if (terminated.compareAndSet(false, true)) {
             terminationCause = TypeDBException.of(REASONING_TERMINATED_WITH_CAUSE, e);
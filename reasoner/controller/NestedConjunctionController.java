@@ -42,7 +42,8 @@ public class NestedConjunctionController extends ConjunctionController<
     @Override
     Set<Concludable> concludablesTriggeringRules() {
         return Iterators.iterate(Concludable.create(conjunction))
-                .filter(c -> c.getApplicableRules(registry().conceptManager(), registry().logicManager()).hasNext())
+                .filter(c -> c.getApplicableRules(registry().conceptManager(), registry().logicManager())
+                        .anyMatch(rule -> !registry().logicManager().isMaterialisationCurrent(rule)))
                 .toSet();
     }
 
@@ -66,7 +66,8 @@ public class RootConjunctionController
     @Override
     Set<Concludable> concludablesTriggeringRules() {
         return Iterators.iterate(Concludable.create(conjunction))
-                .filter(c -> c.getApplicableRules(registry().conceptManager(), registry().logicManager()).hasNext())
+                .filter(c -> c.getApplicableRules(registry().conceptManager(), registry().logicManager())
+                        .anyMatch(rule -> !registry().logicManager().isMaterialisationCurrent(rule)))
                 .toSet();
     }
 
@@ -18,6 +18,7 @@
 package com.vaticle.typedb.core.server.common;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import com.vaticle.typedb.common.collection.Pair;
 import com.vaticle.typedb.core.common.exception.ErrorMessage;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
@@ -52,6 +53,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static com.google.protobuf.ByteString.copyFrom;
@@ -185,10 +188,11 @@ public class ResponseBuilder {
             ));
         }
 
-        public static TransactionProto.Transaction.ResPart matchResPart(UUID reqID, List<ConceptMap> answers) {
+        public static TransactionProto.Transaction.ResPart matchResPart(UUID reqID, List<ConceptMap> answers,
+                                                                        Type.Dictionary types) {
             return queryMgrResPart(reqID, QueryProto.QueryManager.ResPart.newBuilder().setMatchResPart(
                     QueryProto.QueryManager.Match.ResPart.newBuilder().addAllAnswers(
-                            iterate(answers).map(Answer::conceptMap).toList()
+                            iterate(answers).map(answer -> conceptMap(answer, types)).toList()
                     )));
         }
 
@@ -212,10 +216,11 @@ public class ResponseBuilder {
             );
         }
 
-        public static TransactionProto.Transaction.ResPart insertResPart(UUID reqID, List<ConceptMap> answers) {
+        public static TransactionProto.Transaction.ResPart insertResPart(UUID reqID, List<ConceptMap> answers,
+                                                                         Type.Dictionary types) {
             return queryMgrResPart(reqID, QueryProto.QueryManager.ResPart.newBuilder().setInsertResPart(
                     QueryProto.QueryManager.Insert.ResPart.newBuilder().addAllAnswers(
-                            iterate(answers).map(Answer::conceptMap).toList()))
+                            iterate(answers).map(answer -> conceptMap(answer, types)).toList()))
             );
         }
 
@@ -225,10 +230,11 @@ public class ResponseBuilder {
             ));
         }
 
-        public static TransactionProto.Transaction.ResPart updateResPart(UUID reqID, List<ConceptMap> answers) {
+        public static TransactionProto.Transaction.ResPart updateResPart(UUID reqID, List<ConceptMap> answers,
+                                                                         Type.Dictionary types) {
             return queryMgrResPart(reqID, QueryProto.QueryManager.ResPart.newBuilder().setUpdateResPart(
                     QueryProto.QueryManager.Update.ResPart.newBuilder().addAllAnswers(
-                            iterate(answers).map(Answer::conceptMap).toList()))
+                            iterate(answers).map(answer -> conceptMap(answer, types)).toList()))
             );
         }
 
@@ -313,18 +319,31 @@ public class ResponseBuilder {
     public static class Concept {
 
         public static ConceptProto.Concept protoConcept(com.vaticle.typedb.core.concept.Concept concept) {
+            return protoConcept(concept, Type::protoType);
+        }
+
+        private static ConceptProto.Concept protoConcept(
+                com.vaticle.typedb.core.concept.Concept concept,
+                Function<com.vaticle.typedb.core.concept.type.Type, ConceptProto.Type> protoType) {
             if (concept == null) return null;
             if (concept.isThing()) {
-                return ConceptProto.Concept.newBuilder().setThing(protoThing(concept.asThing())).build();
+                return ConceptProto.Concept.newBuilder().setThing(protoThing(concept.asThing(), protoType)).build();
             } else {
-                return ConceptProto.Concept.newBuilder().setType(protoType(concept.asType())).build();
+                return ConceptProto.Concept.newBuilder().setType(protoType.apply(concept.asType())).build();
             }
         }
 
         public static ConceptProto.Thing protoThing(com.vaticle.typedb.core.concept.thing.Thing thing) {
+            return protoThing(thing, Type::protoType);
+        }
+
+        private static ConceptProto.Thing protoThing(
+                com.vaticle.typedb.core.concept.thing.Thing thing,
+                Function<com.vaticle.typedb.core.concept.type.Type, ConceptProto.Type> protoType) {
+            // IIDs are immutable once read, so their bytes can be shared with the message instead of copied
             ConceptProto.Thing.Builder protoThing = ConceptProto.Thing.newBuilder()
-                    .setIid(ByteString.copyFrom(thing.getIID().getBytes()))
-                    .setType(protoType(thing.getType()))
+                    .setIid(UnsafeByteOperations.unsafeWrap(thing.getIID().getBytes()))
+                    .setType(protoType.apply(thing.getType()))
                     .setInferred(thing.isInferred());
             if (thing.isAttribute()) protoThing.setValue(attributeValue(thing.asAttribute()));
             return protoThing.build();
@@ -379,6 +398,23 @@ public class ResponseBuilder {
             return protoType.build();
         }
 
+        /**
+         * The messages of the types seen in one stream of answers, each built once and shared by every concept of
+         * that type in the stream, rather than rebuilt for each of them.
+         */
+        public static class Dictionary {
+
+            private final Map<com.vaticle.typedb.core.concept.type.Type, ConceptProto.Type> types;
+
+            public Dictionary() {
+                this.types = new ConcurrentHashMap<>();
+            }
+
+            public ConceptProto.Type protoType(com.vaticle.typedb.core.concept.type.Type type) {
+                return types.computeIfAbsent(type, Type::protoType);
+            }
+        }
+
         private static TransactionProto.Transaction.Res typeRes(UUID reqID, ConceptProto.Type.Res.Builder res) {
             return TransactionProto.Transaction.Res.newBuilder().setReqId(UUIDAsByteString(reqID)).setTypeRes(res).build();
         }
@@ -839,13 +875,23 @@ public class ResponseBuilder {
     public static class Answer {
 
         public static AnswerProto.ConceptMap conceptMap(ConceptMap answer) {
+            return conceptMap(answer, Type::protoType);
+        }
+
+        public static AnswerProto.ConceptMap conceptMap(ConceptMap answer, Type.Dictionary types) {
+            return conceptMap(answer, types::protoType);
+        }
+
+        private static AnswerProto.ConceptMap conceptMap(
+                ConceptMap answer, Function<com.vaticle.typedb.core.concept.type.Type, ConceptProto.Type> protoType) {
             AnswerProto.ConceptMap.Builder conceptMapProto = AnswerProto.ConceptMap.newBuilder();
             // TODO: needs testing
             answer.concepts().forEach((id, concept) -> {
-                ConceptProto.Concept conceptProto = ResponseBuilder.Concept.protoConcept(concept);
+                ConceptProto.Concept conceptProto = ResponseBuilder.Concept.protoConcept(concept, protoType);
                 conceptMapProto.putMap(id.name(), conceptProto);
             });
-            conceptMapProto.setExplainables(explainables(answer.explainables()));
+            if (answer.explainables().isEmpty()) conceptMapProto.setExplainables(AnswerProto.Explainables.getDefaultInstance());
+            else conceptMapProto.setExplainables(explainables(answer.explainables()));
             return conceptMapProto.build();
         }
 
@@ -25,9 +25,11 @@ import com.vaticle.typedb.core.common.parameters.Options;
 import com.vaticle.typedb.core.concept.answer.ConceptMap;
 import com.vaticle.typedb.core.concept.answer.ConceptMapGroup;
 import com.vaticle.typedb.core.concept.answer.NumericGroup;
+import com.vaticle.typedb.core.query.PreparedMatch;
 import com.vaticle.typedb.core.query.QueryManager;
 import com.vaticle.typedb.core.reasoner.answer.Explanation;
 import com.vaticle.typedb.core.server.TransactionService;
+import com.vaticle.typedb.core.server.common.ResponseBuilder;
 import com.vaticle.typedb.protocol.QueryProto;
 import com.vaticle.typedb.protocol.TransactionProto;
 import com.vaticle.typeql.lang.TypeQL;
@@ -41,6 +43,8 @@ import com.vaticle.typeql.lang.query.TypeQLUpdate;
 import java.util.UUID;
 
 import static com.vaticle.factory.tracing.client.FactoryTracingThreadStatic.traceOnThread;
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Server.UNKNOWN_REQUEST_TYPE;
 import static com.vaticle.typedb.core.server.common.RequestReader.applyDefaultOptions;
 import static com.vaticle.typedb.core.server.common.RequestReader.applyQueryOptions;
@@ -126,10 +130,12 @@ public class QueryService {
     }
 
     private void match(String queryStr, Options.Query options, UUID reqID) {
-        TypeQLMatch query = TypeQL.parseQuery(queryStr).asMatch();
+        PreparedMatch prepared = queryMgr.prepare(queryStr, set());
+        TypeQLMatch query = prepared.query();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
-        FunctionalIterator<ConceptMap> answers = queryMgr.match(query, context);
-        transactionSvc.stream(answers, reqID, context.options(), a -> matchResPart(reqID, a));
+        FunctionalIterator<ConceptMap> answers = queryMgr.match(prepared, map(), context);
+        ResponseBuilder.Type.Dictionary types = new ResponseBuilder.Type.Dictionary();
+        transactionSvc.stream(answers, reqID, context.options(), a -> matchResPart(reqID, a, types));
     }
 
     private void matchAggregate(String queryStr, Options.Query options, UUID reqID) {
@@ -156,7 +162,8 @@ public class QueryService {
         TypeQLInsert query = TypeQL.parseQuery(queryStr).asInsert();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<ConceptMap> answers = queryMgr.insert(query, context);
-        transactionSvc.stream(answers, reqID, context.options(), a -> insertResPart(reqID, a));
+        ResponseBuilder.Type.Dictionary types = new ResponseBuilder.Type.Dictionary();
+        transactionSvc.stream(answers, reqID, context.options(), a -> insertResPart(reqID, a, types));
     }
 
     private void delete(String queryStr, Options.Query options, UUID reqID) {
@@ -170,7 +177,8 @@ public class QueryService {
         TypeQLUpdate query = TypeQL.parseQuery(queryStr).asUpdate();
         Context.Query context = new Context.Query(transactionSvc.context(), options.query(query), query);
         FunctionalIterator<ConceptMap> answers = queryMgr.update(query, context);
-        transactionSvc.stream(answers, reqID, context.options(), a -> updateResPart(reqID, a));
+        ResponseBuilder.Type.Dictionary types = new ResponseBuilder.Type.Dictionary();
+        transactionSvc.stream(answers, reqID, context.options(), a -> updateResPart(reqID, a, types));
     }
 
     private void explain(long explainableId, UUID reqID) {
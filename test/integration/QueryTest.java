@@ -30,6 +30,7 @@ import com.vaticle.typedb.core.concept.type.EntityType;
 import com.vaticle.typedb.core.concept.type.RelationType;
 import com.vaticle.typedb.core.concept.type.RoleType;
 import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.query.PreparedMatch;
 import com.vaticle.typedb.core.test.integration.util.Util;
 import com.vaticle.typeql.lang.TypeQL;
 import com.vaticle.typeql.lang.query.TypeQLDefine;
@@ -45,6 +46,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
+import static com.vaticle.typedb.common.collection.Collections.map;
+import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.test.integration.util.Util.assertNotNulls;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -52,6 +56,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class QueryTest {
@@ -308,4 +313,172 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_prepared_match() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery("insert " +
+                            "$a isa user, has name 'alice', has email 'alice@vaticle.com'; " +
+                            "$b isa user, has name 'bob', has email 'bob@vaticle.com';");
+                    transaction.query().insert(insertQuery);
+                    transaction.commit();
+                }
+
+                String matchString = "match $u isa user, has email $e;";
+                PreparedMatch prepared;
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    prepared = transaction.query().prepare(matchString, set("u"));
+                    List<ConceptMap> users = transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).toList();
+                    assertEquals(2, users.size());
+                    for (ConceptMap user : users) {
+                        List<ConceptMap> answers = transaction.query().match(prepared, map(pair("u", user.get("u").asThing()))).toList();
+                        assertEquals(1, answers.size());
+                        assertEquals(user.get("u"), answers.get(0).get("u"));
+                    }
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertSame(prepared, transaction.query().prepare(matchString, set("u")));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_insert_and_delete_many_answers() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            int users = 500;
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    for (int i = 0; i < users; i++) {
+                        TypeQLInsert insertQuery = TypeQL.parseQuery("insert $u isa user, has name 'user-" + i + "';");
+                        transaction.query().insert(insertQuery);
+                    }
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery("match $u isa user; insert $u has email 'user@vaticle.com';");
+                    assertEquals(users, transaction.query().insert(insertQuery).toList().size());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    TypeQLMatch matchQuery = TypeQL.parseQuery("match $u isa user, has email 'user@vaticle.com';").asMatch();
+                    assertEquals(users, transaction.query().match(matchQuery).toList().size());
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDelete deleteQuery = TypeQL.parseQuery("match $u isa user, has email $e; delete $u has $e;");
+                    transaction.query().delete(deleteQuery);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $u isa user, has email $e;").asMatch()).hasNext());
+                    assertEquals(users, transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).toList().size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_query_match_delete_thing_matched_in_many_answers() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLDefine query = TypeQL.parseQuery(new String(Files.readAllBytes(Paths.get("test/integration/schema.tql")), UTF_8));
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            String insert = "insert $u isa user, has name 'user-%d', has email 'first@vaticle.com', has email 'second@vaticle.com';";
+            TypeQLDelete deleteQuery = TypeQL.parseQuery("match $u isa user, has email $e; delete $u isa user;");
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery(String.format(insert, 0));
+                    transaction.query().insert(insertQuery);
+                    transaction.query().delete(deleteQuery);
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).hasNext());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery(String.format(insert, 1));
+                    transaction.query().insert(insertQuery);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().delete(deleteQuery);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).hasNext());
+                    assertEquals(0, transaction.concepts().getEntityType("user").getInstancesCount());
+                }
+
+                // the rows after the first still delete their other things once the user they share is deleted
+                TypeQLDelete deleteAllQuery = TypeQL.parseQuery("match $u isa user, has email $e; delete $u isa user; $e isa email;");
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery(String.format(insert, 2));
+                    transaction.query().insert(insertQuery);
+                    transaction.query().delete(deleteAllQuery);
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).hasNext());
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $e isa email;").asMatch()).hasNext());
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    TypeQLInsert insertQuery = TypeQL.parseQuery(String.format(insert, 3));
+                    transaction.query().insert(insertQuery);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().delete(deleteAllQuery);
+                    transaction.commit();
+                }
+
+                try (TypeDB.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $u isa user;").asMatch()).hasNext());
+                    assertFalse(transaction.query().match(TypeQL.parseQuery("match $e isa email;").asMatch()).hasNext());
+                    assertEquals(0, transaction.concepts().getEntityType("user").getInstancesCount());
+                    assertEquals(0, transaction.concepts().getAttributeType("email").getInstancesCount());
+                }
+            }
+        }
+    }
 }
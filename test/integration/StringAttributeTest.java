@@ -41,6 +41,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -152,6 +153,160 @@ public class StringAttributeTest {
         }
     }
 
+    @Test
+    public void long_strings_are_stored_and_retrieved() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String attrType = txn.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING).asString();
+                    txn.concepts().putEntityType("person").setOwns(attrType);
+                    txn.commit();
+                }
+            }
+
+            // strings longer than the inline encoding limit, which differ only in their last character
+            List<String> longStrings = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                longStrings.add("x".repeat(1_000 * (i % 2 + 1)) + i);
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    for (String string : longStrings) {
+                        txn.concepts().getEntityType("person").create().setHas(attrType.put(string));
+                        assertEquals(string, attrType.put(string).getValue());
+                    }
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    AttributeType.String attrType = txn.concepts().getAttributeType("string-value").asString();
+                    for (String string : longStrings) {
+                        assertEquals(string, attrType.get(string).getValue());
+                        assertEquals(1, attrType.get(string).getOwners().count());
+                    }
+                    Set<String> strings = attrType.getInstances().map(a -> a.asString().getValue()).toSet();
+                    assertEquals(longStrings.size(), strings.size());
+                    assertTrue(strings.containsAll(longStrings));
+                    assertTrue(txn.query().match(TypeQL.parseQuery(
+                            "match $p isa person, has string-value $a; $a contains \"x1\";").asMatch()).first().isPresent());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void text_indexed_attributes_are_matched_by_substring() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putAttributeType("name", AttributeType.ValueType.STRING);
+                    txn.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String name = txn.concepts().getAttributeType("name").asString();
+                    name.put("Alice Smith");
+                    name.put("Bob Smithson");
+                    name.put("Carol Jones");
+                    txn.commit();
+                }
+            }
+
+            // attributes that exist before the index is enabled are indexed by the schema transaction
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().getAttributeType("name").asString().setTextIndexed();
+                    txn.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String name = txn.concepts().getAttributeType("name").asString();
+                    assertTrue(name.isTextIndexed());
+                    name.put("Dave Smith");
+                    name.get("Carol Jones").delete();
+                    // attributes created in the transaction are matched before they are indexed on commit
+                    assertEquals(set("Alice Smith", "Bob Smithson", "Dave Smith"), matchNames(txn, "contains \"SMITH\""));
+                    txn.commit();
+                }
+
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(set("Alice Smith", "Bob Smithson", "Dave Smith"), matchNames(txn, "contains \"smith\""));
+                    assertEquals(set("Bob Smithson"), matchNames(txn, "contains \"smithson\""));
+                    assertEquals(set(), matchNames(txn, "contains \"jones\""));
+                    assertEquals(set("Alice Smith", "Dave Smith"), matchNames(txn, "like \"^[A-Z][a-z]+ Smith$\""));
+                    assertEquals(set("Alice Smith", "Bob Smithson", "Dave Smith"), matchNames(txn, "like \".*(Smith).*\""));
+                    assertEquals(set("Bob Smithson"), matchNames(txn, "contains \"b\""));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void text_index_is_rebuilt_across_many_batches() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (TypeDB.DatabaseManager typedb = CoreDatabaseManager.open(options)) {
+            typedb.create(database);
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().putAttributeType("name", AttributeType.ValueType.STRING);
+                    txn.commit();
+                }
+            }
+
+            // enough attributes for the index build to span several write batches
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    AttributeType.String name = txn.concepts().getAttributeType("name").asString();
+                    for (int i = 0; i < 2000; i++) name.put(String.format("person number %04d", i));
+                    txn.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().getAttributeType("name").asString().setTextIndexed();
+                    // the index is only built on commit, so it is not used before then
+                    assertEquals(set("person number 1999"), matchNames(txn, "contains \"1999\""));
+                    txn.commit();
+                }
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().getAttributeType("name").asString().unsetTextIndexed();
+                    txn.commit();
+                }
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.concepts().getAttributeType("name").asString().setTextIndexed();
+                    txn.commit();
+                }
+            }
+
+            try (TypeDB.Session session = typedb.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(10, matchNames(txn, "contains \"NUMBER 199\"").size());
+                    assertEquals(set("person number 0000"), matchNames(txn, "contains \"0000\""));
+                    assertEquals(2000, matchNames(txn, "contains \"person\"").size());
+                }
+            }
+        }
+    }
+
+    private static Set<String> matchNames(TypeDB.Transaction txn, String predicate) {
+        return txn.query().match(TypeQL.parseQuery("match $n isa name; $n " + predicate + ";").asMatch())
+                .map(answer -> answer.get("n").asAttribute().asString().getValue()).toSet();
+    }
+
     private boolean isInRange(int value, Pair<Integer, Integer> range) {
         return value >= range.first() && value <= range.second();
     }
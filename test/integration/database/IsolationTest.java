@@ -23,16 +23,23 @@ import com.vaticle.typedb.core.TypeDB;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.graph.common.Storage;
 import com.vaticle.typedb.core.test.integration.util.Util;
 import com.vaticle.typeql.lang.TypeQL;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Transaction;
+import org.rocksdb.WriteOptions;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
@@ -41,6 +48,7 @@ import java.util.concurrent.ExecutionException;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static junit.framework.TestCase.fail;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class IsolationTest {
 
@@ -172,6 +180,32 @@ public class IsolationTest {
         }
     }
 
+    @Test
+    public void failed_conflicting_commit_does_not_conflict_with_later_transactions() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            TypeDB.Transaction setupTxn = session.transaction(Arguments.Transaction.Type.WRITE);
+            setupTxn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Bob';"));
+            setupTxn.commit();
+            TypeDB.Transaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.query().delete(TypeQL.parseQuery("match $a 'Bob' isa name; delete $a isa name;"));
+            txn2.query().insert(TypeQL.parseQuery("insert $a 'Bob' isa name;"));
+            txn1.commit();
+            try {
+                txn2.commit();
+                fail();
+            } catch (TypeDBException e) {
+                // success
+            }
+            TypeDB.Transaction txn3 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn4 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn3.query().insert(TypeQL.parseQuery("insert $a 'Bob' isa name;"));
+            txn4.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'Alice';"));
+            txn3.commit();
+            txn4.commit();
+        }
+    }
+
     @Test
     public void sequential_insert_delete_attribute_does_not_conflict_in_any_order() {
         try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
@@ -367,6 +401,92 @@ public class IsolationTest {
         }
     }
 
+    @Test
+    public void group_committed_transactions_are_persisted_and_validated() throws ExecutionException, InterruptedException {
+        databaseMgr.close();
+        databaseMgr = CoreDatabaseManager.open(new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+                .storageIndexCacheSize(MB).storageDataCacheSize(MB).storageGroupCommit(true)
+                .storageGroupCommitMaxBatchSize(4).storageGroupCommitMaxWaitMicros(1000));
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int worker = i;
+                workers.add(CompletableFuture.runAsync(() -> {
+                    try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                        txn.query().insert(TypeQL.parseQuery("insert $x isa person, has name 'person-" + worker + "';"));
+                        txn.commit();
+                    }
+                }));
+            }
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).get();
+            assertTrue(session.database().dataGroupCommitter().get().commitCount() >= 8);
+
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(8, txn.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+            }
+
+            TypeDB.Transaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.query().insert(TypeQL.parseQuery("insert $x isa company, has address 'abc-key-1';"));
+            txn2.query().insert(TypeQL.parseQuery("insert $x isa company, has address 'abc-key-1';"));
+            txn1.commit();
+            try {
+                txn2.commit();
+                fail();
+            } catch (TypeDBException e) {
+                // success
+            }
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void failed_group_commit_fails_every_transaction_in_the_group() throws RocksDBException {
+        CoreDatabase db = databaseMgr.get(database);
+        RocksGroupCommitter groupCommitter = new RocksGroupCommitter(db.rocksData, db.rocksDataPartitionMgr, 4, 1000);
+        // writes to a column family that is not a partition cannot be copied into a group batch
+        ColumnFamilyHandle unknown = db.rocksData.createColumnFamily(new ColumnFamilyDescriptor("unknown".getBytes()));
+        try (WriteOptions writeOptions = new WriteOptions()) {
+            try (Transaction failing = db.rocksData.beginTransaction(writeOptions)) {
+                failing.putUntracked(unknown, new byte[]{1}, new byte[]{1});
+                boolean failed = false;
+                try {
+                    groupCommitter.commit(failing);
+                } catch (RuntimeException | Error | RocksDBException e) {
+                    failed = true;
+                }
+                assertTrue(failed);
+            }
+            try (Transaction succeeding = db.rocksData.beginTransaction(writeOptions)) {
+                succeeding.putUntracked(db.rocksDataPartitionMgr.get(Storage.Key.Partition.DEFAULT), new byte[]{2}, new byte[]{2});
+                assertTrue(groupCommitter.commit(succeeding) > 0);
+            }
+        } finally {
+            groupCommitter.close();
+            db.rocksData.dropColumnFamily(unknown);
+            unknown.close();
+        }
+    }
+
+    @Test
+    public void concurrent_write_same_hashed_string_attribute_does_not_conflict() {
+        // strings longer than the inline size are stored under a digest of their value
+        String value = String.join("", Collections.nCopies(300, "a"));
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            TypeDB.Transaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            TypeDB.Transaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.query().insert(TypeQL.parseQuery("insert $a '" + value + "' isa name;"));
+            txn2.query().insert(TypeQL.parseQuery("insert $a '" + value + "' isa name;"));
+            txn1.commit();
+            txn2.commit();
+        }
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(1, txn.concepts().getAttributeType("name").getInstances().count());
+                assertEquals(value, txn.concepts().getAttributeType("name").asString().get(value).getValue());
+            }
+        }
+    }
+
     @Test
     public void concurrent_key_insertion_conflicts() {
 
@@ -387,4 +507,77 @@ public class IsolationTest {
             fail();
         }
     }
+
+    @Test
+    public void write_committed_after_concurrent_materialise_is_concluded() throws ExecutionException, InterruptedException {
+        defineMarriageIsFriendship();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            CoreTransaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            CoreTransaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.logic().materialise(txn1.logic().getRule("marriage-is-friendship"));
+            txn2.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+            txn1.commit();
+            // the snapshot of txn2 predates the rule being materialised, so it does not maintain the rule
+            txn2.commit();
+            assertMaterialisationCorrected(session, 1);
+        }
+    }
+
+    @Test
+    public void write_committed_before_concurrent_materialise_is_concluded() throws ExecutionException, InterruptedException {
+        defineMarriageIsFriendship();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            CoreTransaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            CoreTransaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.logic().materialise(txn1.logic().getRule("marriage-is-friendship"));
+            txn2.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+            txn2.commit();
+            // the recompute of the rule by txn1 cannot see the marriage committed by txn2
+            txn1.commit();
+            assertMaterialisationCorrected(session, 1);
+        }
+    }
+
+    @Test
+    public void concurrent_dematerialise_and_maintain_conflicts() {
+        defineMarriageIsFriendship();
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.logic().materialise(txn.logic().getRule("marriage-is-friendship"));
+                txn.commit();
+            }
+            CoreTransaction txn1 = session.transaction(Arguments.Transaction.Type.WRITE);
+            CoreTransaction txn2 = session.transaction(Arguments.Transaction.Type.WRITE);
+            txn1.logic().dematerialise(txn1.logic().getRule("marriage-is-friendship"));
+            txn2.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+            txn1.commit();
+            try {
+                txn2.commit();
+                fail();
+            } catch (TypeDBException e) {
+                // success
+            }
+        }
+    }
+
+    private void defineMarriageIsFriendship() {
+        try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (TypeDB.Transaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "marriage sub relation, relates spouse;" +
+                        "person plays marriage:spouse;" +
+                        "rule marriage-is-friendship: when { $x isa person; $y isa person; " +
+                        "(spouse: $x, spouse: $y) isa marriage; } then { (friend: $x, friend: $y) isa friendship; };").asDefine());
+                txn.commit();
+            }
+        }
+    }
+
+    private void assertMaterialisationCorrected(CoreSession session, long friendships) throws ExecutionException, InterruptedException {
+        session.database().materialisationCorrector().submitCorrection().get(); // guarantee background work has finished
+        try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+            assertTrue(txn.logic().isMaterialisationCurrent(txn.logic().getRule("marriage-is-friendship")));
+            assertEquals(friendships, txn.concepts().getRelationType("friendship").getInstances().count());
+        }
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.Transaction;
+import org.rocksdb.WriteOptions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.vaticle.typedb.core.common.collection.ByteArray.encodeLong;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.DEFAULT;
+import static com.vaticle.typedb.core.graph.common.Storage.Key.Partition.METADATA;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+public class RocksBulkLoaderTest {
+
+    private static final String database = "bulk-loader-test";
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve(database);
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+
+    private CoreDatabaseManager databaseMgr;
+    private CoreDatabase db;
+    private ColumnFamilyHandle defaultHandle;
+    private ColumnFamilyHandle metadataHandle;
+
+    @Before
+    public void setup() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        db = databaseMgr.get(database);
+        defaultHandle = db.rocksDataPartitionMgr.get(DEFAULT);
+        metadataHandle = db.rocksDataPartitionMgr.get(METADATA);
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    private static byte[] key(int key) {
+        return new byte[]{(byte) 0xff, (byte) key};
+    }
+
+    private static byte[] count(long count) {
+        return encodeLong(count).getBytes();
+    }
+
+    private void ingest(Writes writes) throws RocksDBException {
+        ingest(db.dataBulkLoader(), writes);
+    }
+
+    private void ingest(RocksBulkLoader loader, Writes writes) throws RocksDBException {
+        try (WriteOptions writeOptions = new WriteOptions();
+             Transaction rocksTransaction = db.rocksData.beginTransaction(writeOptions)) {
+            writes.apply(rocksTransaction);
+            loader.ingest(rocksTransaction);
+        }
+    }
+
+    @Test
+    public void latest_put_or_delete_of_a_key_is_ingested() throws RocksDBException {
+        db.rocksData.put(defaultHandle, key(1), new byte[]{0});
+        ingest(tx -> {
+            tx.putUntracked(defaultHandle, key(1), new byte[]{1});
+            tx.deleteUntracked(defaultHandle, key(1));
+            tx.putUntracked(defaultHandle, key(2), new byte[]{1});
+            tx.putUntracked(defaultHandle, key(2), new byte[]{2});
+            tx.deleteUntracked(defaultHandle, key(3));
+            tx.putUntracked(defaultHandle, key(3), new byte[]{3});
+        });
+        assertNull(db.rocksData.get(defaultHandle, key(1)));
+        assertArrayEquals(new byte[]{2}, db.rocksData.get(defaultHandle, key(2)));
+        assertArrayEquals(new byte[]{3}, db.rocksData.get(defaultHandle, key(3)));
+    }
+
+    @Test
+    public void merges_of_a_key_are_summed_on_top_of_its_latest_value() throws RocksDBException {
+        db.rocksData.put(metadataHandle, key(2), count(10));
+        db.rocksData.put(metadataHandle, key(3), count(7));
+        ingest(tx -> {
+            tx.putUntracked(metadataHandle, key(1), count(5));
+            tx.mergeUntracked(metadataHandle, key(1), count(3));
+            tx.mergeUntracked(metadataHandle, key(2), count(2));
+            tx.mergeUntracked(metadataHandle, key(2), count(4));
+            tx.deleteUntracked(metadataHandle, key(3));
+            tx.mergeUntracked(metadataHandle, key(3), count(1));
+        });
+        assertArrayEquals(count(8), db.rocksData.get(metadataHandle, key(1)));
+        assertArrayEquals(count(16), db.rocksData.get(metadataHandle, key(2)));
+        assertArrayEquals(count(1), db.rocksData.get(metadataHandle, key(3)));
+    }
+
+    @Test
+    public void ingested_writes_take_precedence_over_earlier_writes() throws RocksDBException {
+        db.rocksData.put(defaultHandle, key(1), new byte[]{0});
+        ingest(tx -> tx.putUntracked(defaultHandle, key(1), new byte[]{1}));
+        assertArrayEquals(new byte[]{1}, db.rocksData.get(defaultHandle, key(1)));
+        ingest(tx -> tx.putUntracked(defaultHandle, key(1), new byte[]{2}));
+        assertArrayEquals(new byte[]{2}, db.rocksData.get(defaultHandle, key(1)));
+    }
+
+    @Test
+    public void writes_spilled_past_the_sort_bound_are_ingested_in_order() throws RocksDBException {
+        // a bound of one byte spills the sorted writes after every operation
+        RocksBulkLoader loader = new RocksBulkLoader(db.rocksData, db.rocksDataPartitionMgr, dataDir.resolve("spill"), 1);
+        db.rocksData.put(metadataHandle, key(2), count(10));
+        ingest(loader, tx -> {
+            tx.putUntracked(defaultHandle, key(1), new byte[]{1});
+            tx.putUntracked(defaultHandle, key(1), new byte[]{2});
+            tx.putUntracked(defaultHandle, key(3), new byte[]{3});
+            tx.deleteUntracked(defaultHandle, key(3));
+            tx.putUntracked(metadataHandle, key(1), count(5));
+            tx.mergeUntracked(metadataHandle, key(1), count(3));
+            tx.mergeUntracked(metadataHandle, key(2), count(2));
+            tx.mergeUntracked(metadataHandle, key(2), count(4));
+        });
+        assertArrayEquals(new byte[]{2}, db.rocksData.get(defaultHandle, key(1)));
+        assertNull(db.rocksData.get(defaultHandle, key(3)));
+        assertArrayEquals(count(8), db.rocksData.get(metadataHandle, key(1)));
+        assertArrayEquals(count(16), db.rocksData.get(metadataHandle, key(2)));
+    }
+
+    private interface Writes {
+
+        void apply(Transaction rocksTransaction) throws RocksDBException;
+    }
+}
@@ -19,8 +19,11 @@
 package com.vaticle.typedb.core.database;
 
 import com.vaticle.typedb.core.TypeDB;
+import com.vaticle.typedb.core.common.exception.TypeDBCheckedException;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.parameters.Arguments;
 import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.thing.Thing;
 import com.vaticle.typedb.core.concept.type.AttributeType;
 import com.vaticle.typedb.core.concept.type.impl.AttributeTypeImpl;
 import com.vaticle.typedb.core.graph.common.Storage;
@@ -37,15 +40,22 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.DESC;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class RocksIteratorTest {
 
@@ -67,6 +77,12 @@ public class RocksIteratorTest {
         TypeDB.Session session = dbMgr.session(database, Arguments.Session.Type.SCHEMA);
         try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
             transaction.concepts().putAttributeType("string-value", AttributeType.ValueType.STRING);
+            // each pair of types is defined consecutively, so that the instances of the second follow the first's
+            transaction.concepts().putAttributeType("tombstoned-before", AttributeType.ValueType.STRING);
+            transaction.concepts().putAttributeType("tombstoned-after", AttributeType.ValueType.STRING);
+            transaction.concepts().putAttributeType("buffered-before", AttributeType.ValueType.STRING);
+            transaction.concepts().putAttributeType("buffered-after", AttributeType.ValueType.STRING);
+            transaction.concepts().putAttributeType("bounded", AttributeType.ValueType.STRING);
             transaction.commit();
         }
         session.close();
@@ -126,4 +142,87 @@ public class RocksIteratorTest {
             assertEquals(strings, values);
         }
     }
+
+    @Test
+    public void upperBoundedScanStopsBeforeTombstonesPastPrefix() {
+        List<String> strings = putStrings("tombstoned-before", 1_000);
+        putStrings("tombstoned-after", 1_000);
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().getAttributeType("tombstoned-after").getInstances().toList().forEach(Thing::delete);
+            transaction.commit();
+        }
+
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            RocksIterator<VertexIID.Thing, Order.Asc> iterator = iterate(transaction, "tombstoned-before");
+            assertNotNull(iterator.upperBoundedIterator());
+            List<String> values = iterator.map(kv -> kv.key().asAttribute().asString().value()).toList();
+            assertEquals(strings, values);
+        }
+    }
+
+    @Test
+    public void upperBoundedScanExcludesBufferedKeysPastPrefix() throws TypeDBCheckedException {
+        List<String> strings = putStrings("buffered-before", 100);
+
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            Storage.Data storage = transaction.graphMgr.data().storage();
+            VertexIID.Type afterIID = typeIID(transaction, "buffered-after");
+            storage.putUntracked(new VertexIID.Attribute.String(afterIID, "buffered"));
+            storage.putUntracked(new VertexIID.Attribute.String(typeIID(transaction, "buffered-before"), "~buffered"));
+
+            Set<String> expected = new HashSet<>(strings);
+            expected.add("~buffered");
+            Set<String> values = iterate(transaction, "buffered-before")
+                    .map(kv -> kv.key().asAttribute().asString().value()).toSet();
+            assertEquals(expected, values);
+            List<String> after = iterate(transaction, "buffered-after")
+                    .map(kv -> kv.key().asAttribute().asString().value()).toList();
+            assertEquals(list("buffered"), after);
+        }
+    }
+
+    @Test
+    public void upperBoundedIteratorsAreRecycledAndClosedWithStorage() {
+        putStrings("bounded", 10);
+
+        RocksStorage.UpperBoundedIterator upperBounded;
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            RocksIterator<VertexIID.Thing, Order.Asc> first = iterate(transaction, "bounded");
+            assertEquals(10, first.count());
+            upperBounded = first.upperBoundedIterator();
+            assertNotNull(upperBounded);
+            assertTrue(upperBounded.isOwningHandle());
+
+            RocksIterator<VertexIID.Thing, Order.Asc> second = iterate(transaction, "bounded");
+            assertEquals(10, second.count());
+            assertSame(upperBounded, second.upperBoundedIterator());
+            assertTrue(upperBounded.isOwningHandle());
+        }
+        assertFalse(upperBounded.isOwningHandle());
+    }
+
+    private List<String> putStrings(String type, int count) {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            strings.add(UUID.randomUUID().toString());
+        }
+        try (TypeDB.Transaction transaction = session.transaction(WRITE)) {
+            AttributeType.String attributeType = transaction.concepts().getAttributeType(type).asString();
+            for (String string : strings) {
+                attributeType.put(string);
+            }
+            transaction.commit();
+        }
+        strings.sort(Comparator.naturalOrder());
+        return strings;
+    }
+
+    private static VertexIID.Type typeIID(CoreTransaction transaction, String type) {
+        return ((AttributeTypeImpl) transaction.concepts().getAttributeType(type)).vertex.iid();
+    }
+
+    private static RocksIterator<VertexIID.Thing, Order.Asc> iterate(CoreTransaction transaction, String type) {
+        Storage.Key.Prefix<VertexIID.Thing> prefix = VertexIID.Thing.Attribute.String.prefix(typeIID(transaction, type));
+        return (RocksIterator<VertexIID.Thing, Order.Asc>) transaction.graphMgr.data().storage().iterate(prefix, ASC);
+    }
 }
@@ -108,6 +108,9 @@ public class StatisticsTest {
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employment")));
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employer", "employment")));
                 assertEquals(batches, statistics.thingVertexCount(Label.of("employee", "employment")));
+                assertEquals(batches * 2, statistics.rolePlayerEdgeCount(Label.of("friend", "friendship"), Label.of("person")));
+                assertEquals(batches, statistics.rolePlayerEdgeCount(Label.of("employee", "employment"), Label.of("person")));
+                assertEquals(batches, statistics.rolePlayerEdgeCount(Label.of("employer", "employment"), Label.of("company")));
                 assertEquals(batches * 11, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("thing"))));
                 assertEquals(batches * 4, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("role", "relation"))));
             }
@@ -140,6 +143,9 @@ public class StatisticsTest {
                 // deleted one role explicitly, and another by deleting a person
                 assertEquals(batches - 1, statistics.thingVertexCount(Label.of("employer", "employment")));
                 assertEquals(batches - 1, statistics.thingVertexCount(Label.of("employee", "employment")));
+                assertEquals(batches * 2 - 1, statistics.rolePlayerEdgeCount(Label.of("friend", "friendship"), Label.of("person")));
+                assertEquals(batches - 1, statistics.rolePlayerEdgeCount(Label.of("employee", "employment"), Label.of("person")));
+                assertEquals(batches - 1, statistics.rolePlayerEdgeCount(Label.of("employer", "employment"), Label.of("company")));
                 assertEquals(batches * 11 - 2, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("thing"))));
                 // deleted one friendship:friend, one employment:employee, one employment:employer
                 assertEquals(batches * 4 - 3, statistics.thingVertexTransitiveCount(txn.graphMgr.schema().getType(Label.of("role", "relation"))));
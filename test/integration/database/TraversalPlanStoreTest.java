@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.database;
+
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.concept.type.Type;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typedb.core.traversal.GraphTraversal;
+import com.vaticle.typedb.core.traversal.common.Identifier;
+import com.vaticle.typedb.core.traversal.planner.GraphPlanner;
+import com.vaticle.typedb.core.traversal.planner.Planner;
+import com.vaticle.typedb.core.traversal.structure.Structure;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.vaticle.typedb.common.collection.Collections.set;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
+import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static com.vaticle.typedb.core.database.CoreDatabase.TraversalPlanStore.MAX_STORED_PLANS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalPlanStoreTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("traversal-plan-store-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Options.Database options = new Options.Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageIndexCacheSize(MB).storageDataCacheSize(MB);
+    private static final String database = "traversal-plan-store-test";
+    private static final int CHAIN_LENGTH = 7;
+
+    private CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setup() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, plays friendship:friend;" +
+                        "friendship sub relation, relates friend;").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(WRITE)) {
+                StringBuilder insert = new StringBuilder("insert ");
+                for (int i = 0; i < 20; i++) insert.append("$p").append(i).append(" isa person;");
+                for (int i = 0; i < 19; i++) {
+                    insert.append("(friend: $p").append(i).append(", friend: $p").append(i + 1).append(") isa friendship;");
+                }
+                txn.query().insert(TypeQL.parseQuery(insert.toString()).asInsert());
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void stored_plan_survives_reopen_and_warm_starts_planner() {
+        String structureKey;
+        Map<String, Integer> vertexOrder;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction txn = session.transaction(READ)) {
+            GraphPlanner planner = optimisedPlanner(txn, friendshipChain(txn));
+            assertFalse(planner.isWarmStarted());
+            structureKey = planner.structureKey();
+            assertNotNull(structureKey);
+            vertexOrder = planner.vertexOrder();
+            new CoreDatabase.TraversalPlanStore(databaseMgr.get(database)).put(structureKey, vertexOrder);
+        }
+
+        databaseMgr.close();
+        databaseMgr = CoreDatabaseManager.open(options);
+
+        assertEquals(vertexOrder, new CoreDatabase.TraversalPlanStore(databaseMgr.get(database)).get(structureKey));
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction txn = session.transaction(READ)) {
+            GraphPlanner planner = optimisedPlanner(txn, friendshipChain(txn));
+            assertEquals(structureKey, planner.structureKey());
+            assertTrue(planner.isWarmStarted());
+        }
+    }
+
+    @Test
+    public void schema_change_invalidates_stored_plan() {
+        String structureKey;
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction txn = session.transaction(READ)) {
+            GraphPlanner planner = optimisedPlanner(txn, friendshipChain(txn));
+            structureKey = planner.structureKey();
+            new CoreDatabase.TraversalPlanStore(databaseMgr.get(database)).put(structureKey, planner.vertexOrder());
+        }
+
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define employee sub person;").asDefine());
+                txn.commit();
+            }
+        }
+
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+             CoreTransaction txn = session.transaction(READ)) {
+            Structure structure = friendshipChain(txn);
+            String changedKey = structure.canonicalKey();
+            assertNotEquals(structureKey, changedKey);
+            assertNull(new CoreDatabase.TraversalPlanStore(databaseMgr.get(database)).get(changedKey));
+            GraphPlanner planner = optimisedPlanner(txn, structure);
+            assertEquals(changedKey, planner.structureKey());
+            assertFalse(planner.isWarmStarted());
+        }
+    }
+
+    @Test
+    public void store_evicts_least_recently_stored_plan_when_full() {
+        CoreDatabase.TraversalPlanStore store = new CoreDatabase.TraversalPlanStore(databaseMgr.get(database));
+        Map<String, Integer> vertexOrder = new HashMap<>();
+        vertexOrder.put("$x", 0);
+        for (int i = 0; i < MAX_STORED_PLANS; i++) store.put("plan-" + i, vertexOrder);
+        store.put("plan-0", vertexOrder);
+        store.put("plan-" + MAX_STORED_PLANS, vertexOrder);
+
+        assertNull(store.get("plan-1"));
+        assertEquals(vertexOrder, store.get("plan-0"));
+        assertEquals(vertexOrder, store.get("plan-2"));
+        assertEquals(vertexOrder, store.get("plan-" + MAX_STORED_PLANS));
+    }
+
+    private GraphPlanner optimisedPlanner(CoreTransaction txn, Structure structure) {
+        CoreDatabase.Cache cache = txn.session.database().cacheBorrow();
+        try {
+            Planner planner = cache.traversal().getPlanner(structure);
+            planner.tryOptimise(txn.traversal().graph(), true);
+            return planner.graphPlanners().next();
+        } finally {
+            txn.session.database().cacheUnborrow(cache);
+        }
+    }
+
+    /**
+     * A chain of persons connected by friendships, with the types that type inference would give its persons
+     * in the current schema, which is large enough to be planned by the optimiser rather than exhaustively.
+     */
+    private static Structure friendshipChain(CoreTransaction txn) {
+        Set<Label> personTypes = txn.concepts().getThingType("person").getSubtypes().map(Type::getLabel).toSet();
+        GraphTraversal.Thing traversal = new GraphTraversal.Thing();
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            traversal.types(Identifier.Variable.name("p" + i), personTypes);
+        }
+        for (int i = 0; i < CHAIN_LENGTH - 1; i++) {
+            Identifier.Variable friendship = Identifier.Variable.name("f" + i);
+            traversal.types(friendship, set(Label.of("friendship")));
+            traversal.rolePlayer(friendship, Identifier.Variable.name("p" + i), set(Label.of("friend", "friendship")), 0);
+            traversal.rolePlayer(friendship, Identifier.Variable.name("p" + (i + 1)), set(Label.of("friend", "friendship")), 1);
+        }
+        return traversal.structure();
+    }
+}
@@ -128,6 +128,131 @@ public class RuleTest {
         }
     }
 
+    @Test
+    public void materialised_rule_conclusions_are_maintained_on_commit() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    ConceptManager conceptMgr = txn.concepts();
+                    LogicManager logicMgr = txn.logic();
+
+                    EntityType person = conceptMgr.putEntityType("person");
+                    RelationType friendship = conceptMgr.putRelationType("friendship");
+                    friendship.setRelates("friend");
+                    RelationType marriage = conceptMgr.putRelationType("marriage");
+                    marriage.setRelates("spouse");
+                    person.setPlays(friendship.getRelates("friend"));
+                    person.setPlays(marriage.getRelates("spouse"));
+                    logicMgr.putRule(
+                            "marriage-is-friendship",
+                            TypeQL.parsePattern("{ $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage; }").asConjunction(),
+                            TypeQL.parseVariable("(friend: $x, friend: $y) isa friendship").asThing());
+                    txn.commit();
+                }
+            }
+            try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+                    txn.logic().materialise(txn.logic().getRule("marriage-is-friendship"));
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertTrue(txn.logic().isMaterialisationCurrent(txn.logic().getRule("marriage-is-friendship")));
+                    assertEquals(1, txn.concepts().getRelationType("friendship").getInstances().count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, txn.concepts().getRelationType("friendship").getInstances().count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().delete(TypeQL.parseQuery("match $m isa marriage; delete $m isa marriage;").asDelete());
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(0, txn.concepts().getRelationType("friendship").getInstances().count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+                    txn.logic().dematerialise(txn.logic().getRule("marriage-is-friendship"));
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertFalse(txn.logic().isMaterialised(txn.logic().getRule("marriage-is-friendship")));
+                    assertEquals(0, txn.concepts().getRelationType("friendship").getInstances().count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void materialised_rule_conclusions_are_only_read_with_inference() throws IOException {
+        Util.resetDirectory(dataDir);
+
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().define(TypeQL.parseQuery("define " +
+                            "status sub attribute, value string; " +
+                            "person sub entity, owns status, plays friendship:friend, plays marriage:spouse; " +
+                            "friendship sub relation, relates friend; " +
+                            "marriage sub relation, relates spouse; " +
+                            "rule marriage-is-friendship: when { " +
+                            "  $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage; " +
+                            "} then { (friend: $x, friend: $y) isa friendship; }; " +
+                            "rule spouse-is-married: when { " +
+                            "  $x isa person; (spouse: $x) isa marriage; " +
+                            "} then { $x has status \"married\"; };").asDefine());
+                    txn.commit();
+                }
+            }
+            try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().insert(TypeQL.parseQuery("insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+                    txn.logic().materialise(txn.logic().getRule("marriage-is-friendship"));
+                    txn.logic().materialise(txn.logic().getRule("spouse-is-married"));
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(false))) {
+                    assertEquals(0, txn.query().match(TypeQL.parseQuery("match $f isa friendship;").asMatch()).count());
+                    assertEquals(0, txn.query().match(TypeQL.parseQuery("match $x has status $s;").asMatch()).count());
+                    assertEquals(0, txn.query().match(TypeQL.parseQuery("match $s isa status;").asMatch()).count());
+                    assertEquals(2, txn.query().match(TypeQL.parseQuery(
+                            "match $x isa person; not { $x has status \"married\"; };").asMatch()).count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ, new Options.Transaction().infer(true))) {
+                    assertEquals(1, txn.query().match(TypeQL.parseQuery("match $f isa friendship;").asMatch()).count());
+                    assertEquals(2, txn.query().match(TypeQL.parseQuery("match $x has status \"married\";").asMatch()).count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    // derived facts are not matched in write transactions, so they cannot be deleted as base facts
+                    txn.query().delete(TypeQL.parseQuery("match $f isa friendship; delete $f isa friendship;").asDelete());
+                    txn.query().delete(TypeQL.parseQuery("match $x has status $s; delete $x has $s;").asDelete());
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(1, txn.concepts().getRelationType("friendship").getInstances().count());
+                    assertEquals(1, txn.concepts().getAttributeType("status").getInstances().count());
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    txn.query().delete(TypeQL.parseQuery("match $m isa marriage; delete $m isa marriage;").asDelete());
+                    txn.commit();
+                }
+                try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(0, txn.concepts().getRelationType("friendship").getInstances().count());
+                    // the attribute created by the rule is deleted with its last ownership
+                    assertEquals(0, txn.concepts().getAttributeType("status").getInstances().count());
+                }
+            }
+        }
+    }
+
     @Test
     public void rule_relation_does_not_materialise_when_present() throws IOException {
         Util.resetDirectory(dataDir);
@@ -54,6 +54,8 @@ public class MigratorTest {
     private static final Path schemaPath = Paths.get("test/integration/migrator/schema.tql");
     private final Path dataPath = Paths.get("test/integration/migrator/data.typedb");
     private final Path exportDataPath = Paths.get("test/integration/migrator/exported-data.typedb");
+    private final Path compressedExportDataPath = Paths.get("test/integration/migrator/exported-data.typedb.gz");
+    private final Path shardedExportDataPath = Paths.get("test/integration/migrator/exported-data");
 
     @Test
     public void test_import_export_schema() throws IOException {
@@ -80,7 +82,121 @@ public class MigratorTest {
         }
     }
 
+    @Test
+    public void test_import_export_bulk_loaded_data() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            String schema = new String(Files.readAllBytes(schemaPath), UTF_8);
+            runSchema(databaseMgr, schema);
+            new DataImporter(databaseMgr, database, dataPath, Version.VERSION, true).run();
+            DataProto.Item.Checksums checksums = getChecksums(dataPath);
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+                 TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(checksums.getEntityCount(), tx.concepts().getRootEntityType().getInstances().count());
+                assertEquals(checksums.getRelationCount(), tx.concepts().getRootRelationType().getInstances().count());
+                assertEquals(checksums.getAttributeCount(), tx.concepts().getRootAttributeType().getInstances().count());
+                assertEquals(checksums.getEntityCount(), tx.concepts().getRootEntityType().getInstancesCount());
+                assertEquals(checksums.getRelationCount(), tx.concepts().getRootRelationType().getInstancesCount());
+            }
+            new DataExporter(databaseMgr, database, exportDataPath, Version.VERSION).run();
+            assertEquals(checksums, getChecksums(exportDataPath));
+        }
+    }
+
+    @Test
+    public void test_import_export_compressed_data() throws IOException {
+        Util.resetDirectory(dataDir);
+        String reimported = database + "-reimported";
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            String schema = new String(Files.readAllBytes(schemaPath), UTF_8);
+            databaseMgr.create(database);
+            runSchema(databaseMgr, database, schema);
+            new DataImporter(databaseMgr, database, dataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, database, compressedExportDataPath, Version.VERSION).run();
+
+            databaseMgr.create(reimported);
+            runSchema(databaseMgr, reimported, schema);
+            new DataImporter(databaseMgr, reimported, compressedExportDataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, reimported, exportDataPath, Version.VERSION).run();
+            assertEquals(getChecksums(dataPath), getChecksums(exportDataPath));
+        }
+    }
+
+    @Test
+    public void test_import_export_sharded_data() throws IOException {
+        Util.resetDirectory(dataDir);
+        Util.resetDirectory(shardedExportDataPath);
+        String reimported = database + "-reimported";
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            String schema = new String(Files.readAllBytes(schemaPath), UTF_8);
+            databaseMgr.create(database);
+            runSchema(databaseMgr, database, schema);
+            new DataImporter(databaseMgr, database, dataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, database, shardedExportDataPath, Version.VERSION, true).run();
+
+            DataProto.Item.Checksums checksums = getChecksums(dataPath);
+            DataProto.Manifest manifest = getManifest(shardedExportDataPath);
+            assertEquals(checksums, manifest.getChecksums());
+            long itemCount = 0;
+            for (DataProto.Manifest.Shard shard : manifest.getShardList()) {
+                assertEquals(shard.getItemCount(), countItems(shardedExportDataPath.resolve(shard.getFilename())));
+                itemCount += shard.getItemCount();
+            }
+            assertEquals(checksums.getEntityCount() + checksums.getAttributeCount() + checksums.getRelationCount(), itemCount);
+
+            databaseMgr.create(reimported);
+            runSchema(databaseMgr, reimported, schema);
+            new DataImporter(databaseMgr, reimported, shardedExportDataPath, Version.VERSION).run();
+            new DataExporter(databaseMgr, reimported, exportDataPath, Version.VERSION).run();
+            assertEquals(checksums, getChecksums(exportDataPath));
+        }
+    }
+
+    @Test
+    public void test_export_excludes_materialised_facts() throws IOException {
+        Util.resetDirectory(dataDir);
+        try (CoreDatabaseManager databaseMgr = CoreDatabaseManager.open(options)) {
+            databaseMgr.create(database);
+            runSchema(databaseMgr, "define " +
+                    "status sub attribute, value string; " +
+                    "person sub entity, owns status, plays friendship:friend, plays marriage:spouse; " +
+                    "friendship sub relation, relates friend; " +
+                    "marriage sub relation, relates spouse; " +
+                    "rule marriage-is-friendship: when { " +
+                    "  $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage; " +
+                    "} then { (friend: $x, friend: $y) isa friendship; }; " +
+                    "rule spouse-is-married: when { " +
+                    "  $x isa person; (spouse: $x) isa marriage; " +
+                    "} then { $x has status \"married\"; };");
+            try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+                try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    tx.query().insert(TypeQL.parseQuery(
+                            "insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;").asInsert());
+                    tx.logic().materialise(tx.logic().getRule("marriage-is-friendship"));
+                    tx.logic().materialise(tx.logic().getRule("spouse-is-married"));
+                    tx.commit();
+                }
+                try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(2, tx.concepts().getRootRelationType().getInstances().count());
+                    assertEquals(1, tx.concepts().getRootAttributeType().getInstances().count());
+                }
+            }
+            new DataExporter(databaseMgr, database, exportDataPath, Version.VERSION).run();
+            DataProto.Item.Checksums checksums = getChecksums(exportDataPath);
+            assertEquals(2, checksums.getEntityCount());
+            assertEquals(1, checksums.getRelationCount());
+            assertEquals(2, checksums.getRoleCount());
+            assertEquals(0, checksums.getAttributeCount());
+            assertEquals(0, checksums.getOwnershipCount());
+        }
+    }
+
     private void runSchema(TypeDB.DatabaseManager databaseMgr, String schema) {
+        runSchema(databaseMgr, database, schema);
+    }
+
+    private void runSchema(TypeDB.DatabaseManager databaseMgr, String database, String schema) {
         try (TypeDB.Session session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
             try (TypeDB.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
                 TypeQLDefine query = TypeQL.parseQuery(schema);
@@ -107,4 +223,19 @@ public class MigratorTest {
         fail();
         return null;
     }
+
+    private DataProto.Manifest getManifest(Path directory) throws IOException {
+        try (InputStream fileInput = new BufferedInputStream(Files.newInputStream(directory.resolve("manifest")))) {
+            return DataProto.Manifest.parseFrom(fileInput);
+        }
+    }
+
+    private long countItems(Path path) throws IOException {
+        Parser<DataProto.Item> parser = DataProto.Item.parser();
+        long count = 0;
+        try (InputStream fileInput = new BufferedInputStream(Files.newInputStream(path))) {
+            while (parser.parseDelimitedFrom(fileInput) != null) count++;
+        }
+        return count;
+    }
 }
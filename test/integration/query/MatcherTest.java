@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.query;
+
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Context;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.answer.Numeric;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.query.Matcher.Aggregator.MedianCalculator;
+import com.vaticle.typedb.core.query.Matcher.Aggregator.MedianSketch;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.vaticle.typedb.common.collection.Collections.list;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MatcherTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("matcher-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "matcher-test";
+    private static CoreDatabaseManager databaseMgr;
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "name sub attribute, value string; " +
+                        "age sub attribute, value long; " +
+                        "person sub entity, owns name, owns age, plays friendship:friend; " +
+                        "friendship sub relation, relates friend;").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i < 30; i++) {
+                    txn.query().insert(TypeQL.parseQuery(String.format(
+                            "insert $x isa person, has age %d, has name \"person-%d\", has name \"group-%d\";",
+                            i % 7, i, i % 4
+                    )).asInsert());
+                }
+                txn.query().insert(TypeQL.parseQuery("match $x isa person, has age 1; $y isa person, has age 2; " +
+                        "insert (friend: $x, friend: $y) isa friendship;").asInsert());
+                txn.commit();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void count_matches_the_number_of_materialised_answers() {
+        List<String> queries = list(
+                "match $x isa person;",
+                "match $x isa person, has name $n;",
+                "match $x isa person, has name $n; get $x;",
+                "match $x isa person, has age $a; get $a;",
+                "match $x isa person, has age 1; $r (friend: $x) isa friendship;",
+                "match (friend: $x, friend: $y) isa friendship; $x has name $n; get $n, $y;"
+        );
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                for (String query : queries) {
+                    long materialised = txn.query().match(TypeQL.parseQuery(query).asMatch()).count();
+                    assertTrue(materialised > 0);
+                    for (boolean parallel : new boolean[]{true, false}) {
+                        Context.Query context = new Context.Query(txn.context(), new Options.Query().parallel(parallel));
+                        Numeric count = txn.query().match(TypeQL.parseQuery(query + " count;").asMatchAggregate(), context);
+                        assertEquals(query + " with parallel " + parallel, materialised, count.asLong());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void approximate_median_query_is_exact_for_few_values() {
+        String query = "match $x isa person, has age $a; median $a;";
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ)) {
+                Numeric exact = txn.query().match(TypeQL.parseQuery(query).asMatchAggregate());
+                Context.Query context = new Context.Query(txn.context(), new Options.Query().approximateMedian(true));
+                Numeric approximate = txn.query().match(TypeQL.parseQuery(query).asMatchAggregate(), context);
+                assertEquals(exact.asNumber().doubleValue(), approximate.asNumber().doubleValue(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void median_calculator_merges_partial_results() {
+        MedianCalculator whole = new MedianCalculator();
+        MedianCalculator lower = new MedianCalculator();
+        MedianCalculator upper = new MedianCalculator();
+        for (long i = 1; i <= 100; i++) {
+            whole.accumulate(Numeric.ofLong(i));
+            (i <= 50 ? lower : upper).accumulate(Numeric.ofLong(i));
+        }
+        assertEquals(50.5, lower.merge(upper).median().asDouble(), 0);
+        assertEquals(50.5, whole.median().asDouble(), 0);
+
+        MedianCalculator longs = new MedianCalculator();
+        MedianCalculator doubles = new MedianCalculator();
+        longs.accumulate(Numeric.ofLong(7));
+        longs.accumulate(Numeric.ofLong(1));
+        doubles.accumulate(Numeric.ofDouble(3.0));
+        doubles.accumulate(Numeric.ofDouble(2.5));
+        doubles.accumulate(Numeric.ofLong(4));
+        Numeric median = longs.merge(doubles).median();
+        assertTrue(median.isDouble());
+        assertEquals(3.0, median.asDouble(), 0);
+
+        MedianCalculator odd = new MedianCalculator();
+        odd.accumulate(Numeric.ofLong(5));
+        Numeric oddMedian = odd.merge(new MedianCalculator()).median();
+        assertTrue(oddMedian.isLong());
+        assertEquals(5, oddMedian.asLong());
+        assertTrue(new MedianCalculator().merge(new MedianCalculator()).median().isNaN());
+    }
+
+    @Test
+    public void median_sketch_is_exact_until_its_first_level_fills() {
+        MedianSketch lower = new MedianSketch(16);
+        MedianSketch upper = new MedianSketch(16);
+        for (long i = 1; i <= 7; i++) lower.accumulate(Numeric.ofLong(i));
+        for (long i = 8; i <= 14; i++) upper.accumulate(Numeric.ofLong(i));
+        assertEquals(7.5, lower.merge(upper).median().asDouble(), 0);
+
+        MedianSketch odd = new MedianSketch(16);
+        for (long i = 1; i <= 9; i++) odd.accumulate(Numeric.ofLong(i));
+        Numeric median = odd.median();
+        assertTrue(median.isLong());
+        assertEquals(5, median.asLong());
+        assertTrue(new MedianSketch(16).merge(new MedianSketch(16)).median().isNaN());
+    }
+
+    @Test
+    public void median_sketch_bounds_memory_and_approximates_merged_quantiles() {
+        int count = 100_000;
+        List<Long> values = new ArrayList<>();
+        for (long i = 0; i < count; i++) values.add(i);
+        Collections.shuffle(values, new Random(0));
+
+        List<MedianSketch> partitions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) partitions.add(new MedianSketch());
+        for (int i = 0; i < count; i++) partitions.get(i % partitions.size()).accumulate(Numeric.ofLong(values.get(i)));
+        MedianSketch merged = partitions.get(0);
+        for (int i = 1; i < partitions.size(); i++) merged = merged.merge(partitions.get(i));
+
+        assertTrue(merged.retained() < 10 * MedianSketch.DEFAULT_CAPACITY);
+        double tolerance = count * 0.02;
+        Numeric median = merged.median();
+        assertTrue(median.isLong());
+        assertEquals(count / 2.0, median.asLong(), tolerance);
+        assertEquals(count * 0.1, merged.quantile(0.1), tolerance);
+        assertEquals(count * 0.9, merged.quantile(0.9), tolerance);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2022 Vaticle
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.vaticle.typedb.core.reasoner;
+
+import com.vaticle.typedb.common.concurrent.NamedThreadFactory;
+import com.vaticle.typedb.core.common.parameters.Arguments;
+import com.vaticle.typedb.core.common.parameters.Label;
+import com.vaticle.typedb.core.common.parameters.Options;
+import com.vaticle.typedb.core.common.parameters.Options.Database;
+import com.vaticle.typedb.core.concept.answer.ConceptMap;
+import com.vaticle.typedb.core.concurrent.actor.ActorExecutorGroup;
+import com.vaticle.typedb.core.database.CoreDatabaseManager;
+import com.vaticle.typedb.core.database.CoreSession;
+import com.vaticle.typedb.core.database.CoreTransaction;
+import com.vaticle.typedb.core.test.integration.util.Util;
+import com.vaticle.typeql.lang.TypeQL;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+import static com.vaticle.typedb.common.collection.Collections.set;
+import static com.vaticle.typedb.core.common.collection.Bytes.MB;
+import static org.junit.Assert.assertEquals;
+
+public class AnswerCacheTest {
+
+    private static final Path dataDir = Paths.get(System.getProperty("user.dir")).resolve("answer-cache-test");
+    private static final Path logDir = dataDir.resolve("logs");
+    private static final Database options = new Database().dataDir(dataDir).reasonerDebuggerDir(logDir)
+            .storageDataCacheSize(MB).storageIndexCacheSize(MB);
+    private static final String database = "answer-cache-test";
+    private static final String query = "match $x isa person; $y isa person; (friend: $x, friend: $y) isa friendship; get $x, $y;";
+    private static final String marriage = "insert $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage;";
+    private static CoreDatabaseManager databaseMgr;
+
+    private CoreTransaction singleThreadElgTransaction(CoreSession session, Arguments.Transaction.Type transactionType) {
+        CoreTransaction transaction = session.transaction(transactionType, new Options.Transaction().infer(true));
+        ActorExecutorGroup service = new ActorExecutorGroup(1, new NamedThreadFactory("typedb-actor"));
+        transaction.reasoner().controllerRegistry().setExecutorService(service);
+        return transaction;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        Util.resetDirectory(dataDir);
+        databaseMgr = CoreDatabaseManager.open(options);
+        databaseMgr.create(database);
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "person sub entity, plays friendship:friend, plays marriage:spouse; " +
+                        "friendship sub relation, relates friend; " +
+                        "marriage sub relation, relates spouse; " +
+                        "rule marriage-is-friendship: when { " +
+                        "  $x isa person; $y isa person; (spouse: $x, spouse: $y) isa marriage; " +
+                        "} then { (friend: $x, friend: $y) isa friendship; };").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            insert(session, marriage);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        databaseMgr.close();
+    }
+
+    @Test
+    public void repeated_reasoning_query_is_answered_from_cache() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                long hits = txn.reasoner().answerCache().hits();
+                assertEquals(2, match(txn).size());
+                assertEquals(hits, txn.reasoner().answerCache().hits());
+            }
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                long hits = txn.reasoner().answerCache().hits();
+                assertEquals(2, match(txn).size());
+                assertEquals(hits + 1, txn.reasoner().answerCache().hits());
+            }
+        }
+    }
+
+    @Test
+    public void commit_of_read_type_invalidates_cached_answers() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                assertEquals(2, match(txn).size());
+            }
+            try (CoreTransaction before = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                insert(session, marriage);
+                // the transaction opened before the commit still answers from its snapshot, but does not cache it
+                long hits = before.reasoner().answerCache().hits();
+                assertEquals(2, match(before).size());
+                assertEquals(hits, before.reasoner().answerCache().hits());
+            }
+            try (CoreTransaction after = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                long hits = after.reasoner().answerCache().hits();
+                assertEquals(4, match(after).size());
+                assertEquals(hits, after.reasoner().answerCache().hits());
+            }
+        }
+    }
+
+    @Test
+    public void answers_are_not_cached_or_served_while_a_read_type_is_being_committed() {
+        Set<Label> committing = set(Label.of("marriage"));
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                assertEquals(2, match(txn).size());
+            }
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                AnswerCache answerCache = txn.reasoner().answerCache();
+                // a commit writing a type the query reads is in flight: its data may or may not be in the snapshot
+                answerCache.committing(committing);
+                try {
+                    long hits = answerCache.hits();
+                    assertEquals(2, match(txn).size());
+                    assertEquals(hits, answerCache.hits());
+                } finally {
+                    answerCache.committed(committing);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void schema_commit_invalidates_cached_answers() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                assertEquals(2, match(txn).size());
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define name sub attribute, value string; person owns name;").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                long hits = txn.reasoner().answerCache().hits();
+                assertEquals(2, match(txn).size());
+                assertEquals(hits, txn.reasoner().answerCache().hits());
+            }
+        }
+    }
+
+    private static List<ConceptMap> match(CoreTransaction txn) {
+        return txn.query().match(TypeQL.parseQuery(query).asMatch()).toList();
+    }
+
+    private static void insert(CoreSession session, String insert) {
+        try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            txn.query().insert(TypeQL.parseQuery(insert).asInsert());
+            txn.commit();
+        }
+    }
+}
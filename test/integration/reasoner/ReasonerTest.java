@@ -303,4 +303,44 @@ public class ReasonerTest {
             }
         }
     }
+
+    @Test
+    public void test_batch_inference_matches_incremental_reasoning() {
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                txn.query().define(TypeQL.parseQuery("define " +
+                        "place sub entity, owns name, plays location-hierarchy:superior, plays location-hierarchy:subordinate;" +
+                        "location-hierarchy sub relation, relates superior, relates subordinate;" +
+                        "name sub attribute, value string;" +
+                        "rule transitive-location: when { " +
+                        "  (superior: $a, subordinate: $b) isa location-hierarchy; " +
+                        "  (superior: $b, subordinate: $c) isa location-hierarchy; " +
+                        "} then { (superior: $a, subordinate: $c) isa location-hierarchy; };").asDefine());
+                txn.commit();
+            }
+        }
+        try (CoreSession session = databaseMgr.session(database, Arguments.Session.Type.DATA)) {
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.WRITE)) {
+                for (int i = 0; i <= 6; i++) {
+                    txn.query().insert(TypeQL.parseQuery(String.format("insert $x isa place, has name '%d';", i)).asInsert());
+                }
+                for (int i = 0; i < 6; i++) {
+                    txn.query().insert(TypeQL.parseQuery(String.format(
+                            "match $x isa place, has name '%d'; $y isa place, has name '%d';" +
+                                    "insert (superior: $x, subordinate: $y) isa location-hierarchy;", i, i + 1)).asInsert()).toList();
+                }
+                txn.commit();
+            }
+            String query = "match (superior: $a, subordinate: $b) isa location-hierarchy;";
+            long incremental;
+            try (CoreTransaction txn = singleThreadElgTransaction(session, Arguments.Transaction.Type.READ)) {
+                incremental = txn.query().match(TypeQL.parseQuery(query).asMatch()).count();
+            }
+            assertEquals(21, incremental);
+            try (CoreTransaction txn = session.transaction(Arguments.Transaction.Type.READ,
+                                                           new Options.Transaction().infer(true).batchInference(true))) {
+                assertEquals(incremental, txn.query().match(TypeQL.parseQuery(query).asMatch()).count());
+            }
+        }
+    }
 }
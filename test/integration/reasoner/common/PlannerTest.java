@@ -186,6 +186,28 @@ public class PlannerTest {
         assertEquals(set(concludable, concludable2), set(plan));
     }
 
+    @Test
+    public void test_planner_prefers_fewer_estimated_answers() {
+        transaction.query().define(TypeQL.parseQuery("define company sub entity, owns tag; tag sub attribute, value string;" +
+                                                                  "rule company-tag: when { $c isa company; } then { $c has tag 'listed'; };"));
+        transaction.commit();
+        session.close();
+        initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.WRITE);
+        for (int i = 0; i < 50; i++) transaction.query().insert(TypeQL.parseQuery("insert $p isa person;").asInsert());
+        transaction.query().insert(TypeQL.parseQuery("insert $c isa company;").asInsert());
+        transaction.commit();
+        session.close();
+        initialise(Arguments.Session.Type.DATA, Arguments.Transaction.Type.READ);
+        Planner.Cost cost = new Planner.Cost(transaction.traversal(), conceptMgr, logicMgr);
+
+        Retrievable people = new Retrievable(resolvedConjunction("{ $p isa person; }", logicMgr));
+        Retrievable companies = new Retrievable(resolvedConjunction("{ $c isa company; }", logicMgr));
+        Concludable tags = Concludable.create(resolvedConjunction("{ $c has tag $t; }", logicMgr)).iterator().next();
+
+        assertEquals(list(companies, people), Planner.plan(set(people, companies), new HashMap<>(), set(), cost));
+        assertEquals(list(tags, people), Planner.plan(set(people, tags), new HashMap<>(), set(), cost));
+    }
+
     private static Conjunction resolvedConjunction(String query, LogicManager logicMgr) {
         Disjunction disjunction = resolvedDisjunction(query, logicMgr);
         assert disjunction.conjunctions().size() == 1;
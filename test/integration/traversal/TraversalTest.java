@@ -29,6 +29,7 @@ import com.vaticle.typedb.core.database.CoreTransaction;
 import com.vaticle.typedb.core.test.integration.util.Util;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
+import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.predicate.Predicate;
 import com.vaticle.typedb.core.traversal.predicate.PredicateArgument;
 import com.vaticle.typedb.core.traversal.procedure.GraphProcedure;
@@ -51,6 +52,7 @@ import static com.vaticle.typedb.core.common.collection.Bytes.MB;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.READ;
 import static com.vaticle.typedb.core.common.parameters.Arguments.Transaction.Type.WRITE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TraversalTest {
 
@@ -257,6 +259,111 @@ public class TraversalTest {
         }
     }
 
+    @Test
+    public void attribute_range_predicates_are_bounded() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(TypeQL.parseQuery(
+                    "define age sub attribute, value long; score sub attribute, value double;"
+            ).asDefine());
+            transaction.commit();
+        }
+        session.close();
+
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(TypeQL.parseQuery(
+                    "insert $a1 -5 isa age; $a2 0 isa age; $a3 3 isa age; $a4 7 isa age; $a5 10 isa age;" +
+                            "$s1 -1.5 isa score; $s2 0.0 isa score; $s3 2.0 isa score; $s4 2.5 isa score;"
+            ).asInsert());
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            assertEquals(3, transaction.query().match(TypeQL.parseQuery("match $x isa age; $x >= 0; $x < 10;").asMatch()).count());
+            assertEquals(3, transaction.query().match(TypeQL.parseQuery("match $x isa age; $x > 2.5;").asMatch()).count());
+            assertEquals(3, transaction.query().match(TypeQL.parseQuery("match $x isa age; $x <= 3.0;").asMatch()).count());
+            assertEquals(0, transaction.query().match(TypeQL.parseQuery("match $x isa age; $x > 7; $x < 7;").asMatch()).count());
+            assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa score; $x >= 2;").asMatch()).count());
+            assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa score; $x < 2;").asMatch()).count());
+
+            transaction.query().insert(TypeQL.parseQuery("insert $a 5 isa age; $s 2.2 isa score;").asInsert());
+            assertEquals(4, transaction.query().match(TypeQL.parseQuery("match $x isa age; $x >= 0; $x < 10;").asMatch()).count());
+            assertEquals(2, transaction.query().match(TypeQL.parseQuery("match $x isa score; $x > 2.0;").asMatch()).count());
+        }
+    }
+
+    @Test
+    public void type_scan_is_partitioned_across_parallel_jobs() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(TypeQL.parseQuery(
+                    "define person sub entity, owns name; name sub attribute, value string;"
+            ).asDefine());
+            transaction.commit();
+        }
+        session.close();
+
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            StringBuilder insert = new StringBuilder("insert ");
+            for (int i = 0; i < 50; i++) insert.append("$p").append(i).append(" isa person, has name \"p").append(i).append("\";");
+            transaction.query().insert(TypeQL.parseQuery(insert.toString()).asInsert());
+            transaction.commit();
+        }
+        for (int parallelisation : new int[]{1, 4, 7, 64}) {
+            try (CoreTransaction transaction = session.transaction(WRITE, new Options.Transaction().parallelisation(parallelisation))) {
+                assertEquals(50, transaction.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+                assertEquals(50, transaction.query().match(TypeQL.parseQuery("match $x isa person, has name $n;").asMatch()).count());
+
+                transaction.query().insert(TypeQL.parseQuery("insert $x isa person, has name \"q\"; $y isa person;").asInsert());
+                transaction.query().delete(TypeQL.parseQuery("match $x isa person, has name \"p10\"; delete $x isa person;").asDelete());
+                assertEquals(51, transaction.query().match(TypeQL.parseQuery("match $x isa person;").asMatch()).count());
+                assertEquals(50, transaction.query().match(TypeQL.parseQuery("match $x isa person, has name $n;").asMatch()).count());
+            }
+        }
+    }
+
+    @Test
+    public void exhaustive_plan_cost_matches_optimiser_objective() {
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(TypeQL.parseQuery(
+                    "define person sub entity, owns name, plays friendship:friend;" +
+                            "friendship sub relation, relates friend; name sub attribute, value string;"
+            ).asDefine());
+            transaction.commit();
+        }
+        session.close();
+
+        session = databaseMgr.session(database, Arguments.Session.Type.DATA);
+        try (CoreTransaction transaction = session.transaction(WRITE)) {
+            StringBuilder insert = new StringBuilder("insert $n \"shared\" isa name;");
+            for (int i = 0; i < 20; i++) insert.append("$p").append(i).append(" isa person, has $n;");
+            for (int i = 0; i < 5; i++) insert.append("(friend: $p").append(i).append(", friend: $p").append(i + 1).append(") isa friendship;");
+            transaction.query().insert(TypeQL.parseQuery(insert.toString()).asInsert());
+            transaction.commit();
+        }
+        try (CoreTransaction transaction = session.transaction(READ)) {
+            Identifier.Variable x = Identifier.Variable.name("x");
+            Identifier.Variable y = Identifier.Variable.name("y");
+            Identifier.Variable n = Identifier.Variable.name("n");
+            Identifier.Variable f = Identifier.Variable.name("f");
+            GraphTraversal.Thing traversal = new GraphTraversal.Thing();
+            traversal.types(x, set(Label.of("person")));
+            traversal.types(y, set(Label.of("person")));
+            traversal.types(n, set(Label.of("name")));
+            traversal.types(f, set(Label.of("friendship")));
+            traversal.has(x, n);
+            traversal.has(y, n);
+            traversal.rolePlayer(f, x, set(Label.of("friend", "friendship")), 0);
+            traversal.rolePlayer(f, y, set(Label.of("friend", "friendship")), 1);
+
+            Planner planner = Planner.create(traversal.structure());
+            planner.tryOptimise(transaction.traversal().graph(), true);
+            planner.graphPlanners().forEachRemaining(graphPlanner -> {
+                assertTrue(graphPlanner.isOptimisedExhaustively());
+                assertEquals(graphPlanner.exhaustiveObjectiveValue(), graphPlanner.objectiveValue(), 1e-9);
+            });
+        }
+    }
+
     private void preparePostsSchemaAndData() {
         try (CoreTransaction transaction = session.transaction(WRITE)) {
             TypeQLDefine query = TypeQL.parseQuery(
@@ -164,7 +164,7 @@ public abstract class GraphTraversal extends Traversal {
         public void initialise(TraversalCache cache) {
             assert planner == null;
             this.cache = cache;
-            planner = this.cache.getPlanner(structure, Planner::create);
+            planner = this.cache.getPlanner(structure);
         }
 
         @Override
@@ -19,34 +19,64 @@
 package com.vaticle.typedb.core.traversal;
 
 import com.vaticle.typedb.core.common.cache.CommonCache;
+import com.vaticle.typedb.core.traversal.planner.GraphPlanner;
 import com.vaticle.typedb.core.traversal.planner.Planner;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
-import java.util.function.Function;
+import javax.annotation.Nullable;
+import java.util.Map;
 
 public class TraversalCache {
 
     private final CommonCache<Structure, Planner> activePlanners;
     private final CommonCache<Structure, Planner> optimalPlanners;
+    private final PlanStore planStore;
 
     public TraversalCache() {
+        this(null);
+    }
+
+    public TraversalCache(@Nullable PlanStore planStore) {
         activePlanners = new CommonCache<>(30);
         optimalPlanners = new CommonCache<>(10_000);
+        this.planStore = planStore;
     }
 
-    public Planner getPlanner(Structure structure, Function<Structure, Planner> constructor) {
+    public Planner getPlanner(Structure structure) {
         Planner planner = optimalPlanners.getIfPresent(structure);
         if (planner != null) return planner;
-        return activePlanners.get(structure, constructor);
+        if (planStore == null) return activePlanners.get(structure, Planner::create);
+        else return activePlanners.get(structure, s -> Planner.create(s, planStore::get));
     }
 
     public void mayUpdatePlanner(Structure structure, Planner planner) {
         if (planner.isOptimal() && optimalPlanners.getIfPresent(structure) == null) {
             optimalPlanners.put(structure, planner);
             activePlanners.invalidate(structure);
+            if (planStore != null) {
+                planner.graphPlanners().filter(p -> p.structureKey() != null).forEachRemaining(this::storePlan);
+            }
         } else if (!planner.isOptimal() && activePlanners.getIfPresent(structure) == null) {
             activePlanners.put(structure, planner);
             optimalPlanners.invalidate(structure);
         }
     }
+
+    private void storePlan(GraphPlanner planner) {
+        assert planStore != null && planner.isOptimal() && planner.structureKey() != null;
+        planStore.put(planner.structureKey(), planner.vertexOrder());
+    }
+
+    /**
+     * Persists the plans of optimal planners, keyed by the canonical key of their structure, so that planners for
+     * the same structure can be warm started after their cache entry is invalidated or the database is reopened.
+     * A stored plan is only used as a starting point for the optimiser, so a stale plan can never change answers.
+     */
+    public interface PlanStore {
+
+        @Nullable
+        Map<String, Integer> get(String structureKey);
+
+        void put(String structureKey, Map<String, Integer> vertexOrder);
+    }
 }
@@ -21,40 +21,70 @@ package com.vaticle.typedb.core.traversal.common;
 import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.common.Identifier.Variable.Retrievable;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.BiConsumer;
 
 import static java.util.Collections.unmodifiableMap;
 
+/**
+ * A traversal answer, stored as a flat row of vertices indexed by the slots of a {@link Slots} layout. Iterators
+ * compute the layout once at plan time and share it across every answer they produce, so an answer costs a single
+ * array allocation. The map view is only materialised on demand.
+ */
 public class VertexMap {
 
-    private final Map<Retrievable, Vertex<?, ?>> map;
-    private final int hash;
+    private final Slots slots;
+    private final Vertex<?, ?>[] vertices;
+    private Map<Retrievable, Vertex<?, ?>> map;
+    private int hash;
 
-    public VertexMap(Map<Retrievable, Vertex<?, ?>> map) {
-        this.map = unmodifiableMap(map);
-        this.hash = Objects.hash(this.map);
+    private VertexMap(Slots slots, Vertex<?, ?>[] vertices) {
+        assert slots.size() == vertices.length;
+        this.slots = slots;
+        this.vertices = vertices;
     }
 
     public static VertexMap of(Map<Retrievable, Vertex<?, ?>> map) {
-        return new VertexMap(map);
+        Slots slots = Slots.of(map.keySet());
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[slots.size()];
+        map.forEach((id, vertex) -> vertices[slots.slot(id)] = vertex);
+        return new VertexMap(slots, vertices);
+    }
+
+    /**
+     * Takes ownership of the given row, which must not be modified after this call.
+     */
+    public static VertexMap of(Slots slots, Vertex<?, ?>[] vertices) {
+        return new VertexMap(slots, vertices);
     }
 
     public Map<Retrievable, Vertex<?, ?>> map() {
+        if (map == null) {
+            Map<Retrievable, Vertex<?, ?>> vertexMap = new HashMap<>();
+            forEach(vertexMap::put);
+            map = unmodifiableMap(vertexMap);
+        }
         return map;
     }
 
     public Vertex<?, ?> get(Retrievable id) {
-        return map.get(id);
+        int slot = slots.slot(id);
+        return slot == Slots.ABSENT ? null : vertices[slot];
     }
 
     public boolean containsKey(Retrievable id) {
-        return map.containsKey(id);
+        return slots.slot(id) != Slots.ABSENT;
+    }
+
+    public int size() {
+        return vertices.length;
     }
 
     public void forEach(BiConsumer<Retrievable, Vertex<?, ?>> action) {
-        map.forEach(action);
+        for (int i = 0; i < vertices.length; i++) action.accept(slots.id(i), vertices[i]);
     }
 
     @Override
@@ -63,11 +93,70 @@ public class VertexMap {
         if (o == null || getClass() != o.getClass()) return false;
 
         VertexMap that = (VertexMap) o;
-        return this.map.equals(that.map);
+        if (this.slots.equals(that.slots)) return Arrays.equals(this.vertices, that.vertices);
+        else if (this.vertices.length != that.vertices.length) return false;
+        for (int i = 0; i < vertices.length; i++) {
+            if (!vertices[i].equals(that.get(slots.id(i)))) return false;
+        }
+        return true;
     }
 
+    /**
+     * Computed lazily, as most answers are never hashed, and over the same entries as {@link Map#hashCode()}, so
+     * that rows of differently ordered layouts remain consistent with {@link #equals(Object)}.
+     */
     @Override
     public int hashCode() {
-        return hash;
+        int h = hash;
+        if (h == 0) {
+            for (int i = 0; i < vertices.length; i++) h += slots.id(i).hashCode() ^ vertices[i].hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    public static class Slots {
+
+        public static final int ABSENT = -1;
+
+        private final Retrievable[] ids;
+        private final Map<Retrievable, Integer> slots;
+        private final int hash;
+
+        private Slots(Retrievable[] ids) {
+            this.ids = ids;
+            this.slots = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) slots.put(ids[i], i);
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        public static Slots of(Collection<Retrievable> ids) {
+            return new Slots(ids.toArray(new Retrievable[0]));
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public int slot(Retrievable id) {
+            return slots.getOrDefault(id, ABSENT);
+        }
+
+        public Retrievable id(int slot) {
+            return ids[slot];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Slots that = (Slots) o;
+            return Arrays.equals(ids, that.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
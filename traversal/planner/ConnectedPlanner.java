@@ -21,15 +21,18 @@ package com.vaticle.typedb.core.traversal.planner;
 import com.vaticle.typedb.core.common.exception.TypeDBException;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
+import java.util.Map;
+import java.util.function.Function;
+
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 
 public interface ConnectedPlanner extends Planner {
 
-    static ConnectedPlanner create(Structure structure) {
+    static ConnectedPlanner create(Structure structure, Function<String, Map<String, Integer>> vertexOrderHints) {
         assert structure.asGraphs().size() == 1;
         if (structure.vertices().size() == 1) return VertexPlanner.create(structure.vertices().iterator().next());
-        else return GraphPlanner.create(structure);
+        else return GraphPlanner.create(structure, vertexOrderHints);
     }
 
     default boolean isVertex() {
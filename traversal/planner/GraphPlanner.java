@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.traversal.planner;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.common.optimiser.Optimiser;
 import com.vaticle.typedb.core.common.optimiser.OptimiserConstraint;
 import com.vaticle.typedb.core.graph.GraphManager;
@@ -31,8 +32,10 @@ import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -44,12 +47,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_PLANNING_ERROR;
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.concurrent.executor.Executors.async2;
 import static java.lang.Math.abs;
+import static java.lang.Math.log;
+import static java.lang.Math.max;
 import static java.time.Duration.between;
 import static java.util.Comparator.comparing;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -64,35 +70,58 @@ public class GraphPlanner implements ConnectedPlanner {
     static final double OBJECTIVE_VARIABLE_COST_MAX_CHANGE = 2.0;
     static final double OBJECTIVE_VARIABLE_TO_PLANNER_COST_MIN_CHANGE = 0.02;
     static final double INIT_ZERO = 0.01;
+    static final int EXHAUSTIVE_MAX_VERTICES = 12;
 
     private final Optimiser optimiser;
     private final Map<Identifier, PlannerVertex<?>> vertices;
     private final Set<PlannerEdge<?, ?>> edges;
     private final AtomicBoolean isOptimising;
+    @Nullable
+    private final String structureKey;
+    private final Map<String, Integer> vertexOrderHint;
 
     protected volatile GraphProcedure procedure;
     private volatile CompletableFuture<Void> backgroundOptimisation;
     private volatile boolean isUpToDate;
     private volatile boolean isVertexOrderInitialised;
+    private volatile boolean isWarmStarted;
+    private volatile boolean isOptimisedExhaustively;
+    private double exhaustiveObjectiveValue;
     private volatile long snapshot;
 
     private volatile double totalCostLastRecorded;
     private double totalCost;
 
-    private GraphPlanner() {
+    private GraphPlanner(@Nullable String structureKey, @Nullable Map<String, Integer> vertexOrderHint) {
         optimiser = new Optimiser();
         vertices = new HashMap<>();
         edges = new HashSet<>();
         isOptimising = new AtomicBoolean(false);
+        this.structureKey = structureKey;
+        this.vertexOrderHint = vertexOrderHint;
         isUpToDate = false;
         isVertexOrderInitialised = false;
+        isWarmStarted = false;
+        isOptimisedExhaustively = false;
         totalCostLastRecorded = INIT_ZERO;
         totalCost = INIT_ZERO;
         snapshot = -1L;
     }
 
-    static GraphPlanner create(Structure structure) {
-        GraphPlanner planner = new GraphPlanner();
+    /**
+     * @param vertexOrderHints provides the vertex order of a previously optimal plan for the canonical key of an equal
+     *                         structure, keyed by the string of each vertex identifier, which is used instead of the
+     *                         greedy initial plan. Structures small enough to be optimised exhaustively neither use
+     *                         hints nor compute their canonical key.
+     */
+    static GraphPlanner create(Structure structure, Function<String, Map<String, Integer>> vertexOrderHints) {
+        String structureKey = null;
+        Map<String, Integer> vertexOrderHint = null;
+        if (structure.vertices().size() > EXHAUSTIVE_MAX_VERTICES) {
+            structureKey = structure.canonicalKey();
+            vertexOrderHint = vertexOrderHints.apply(structureKey);
+        }
+        GraphPlanner planner = new GraphPlanner(structureKey, vertexOrderHint);
         Set<StructureVertex<?>> registeredVertices = new HashSet<>();
         Set<StructureEdge<?, ?>> registeredEdges = new HashSet<>();
         structure.vertices().forEach(vertex -> planner.registerVertex(vertex, registeredVertices, registeredEdges));
@@ -207,6 +236,29 @@ public class GraphPlanner implements ConnectedPlanner {
         return edges;
     }
 
+    /**
+     * @return the canonical key of the structure of this planner, or null if the structure is optimised exhaustively
+     */
+    @Nullable
+    public String structureKey() {
+        return structureKey;
+    }
+
+    public boolean isWarmStarted() {
+        return isWarmStarted;
+    }
+
+    public Map<String, Integer> vertexOrder() {
+        Map<String, Integer> vertexOrder = new HashMap<>();
+        vertices.values().forEach(vertex -> vertexOrder.put(vertex.id().toString(), vertex.getOrder()));
+        return vertexOrder;
+    }
+
+    @Override
+    public FunctionalIterator<GraphPlanner> graphPlanners() {
+        return iterate(list(this));
+    }
+
     void setOutOfDate() {
         isUpToDate = false;
     }
@@ -217,7 +269,34 @@ public class GraphPlanner implements ConnectedPlanner {
 
     @Override
     public boolean isOptimal() {
-        return optimiser.isOptimal();
+        return isOptimisedExhaustively || optimiser.isOptimal();
+    }
+
+    public boolean isOptimisedExhaustively() {
+        return isOptimisedExhaustively;
+    }
+
+    /**
+     * @return the lowest value of the optimiser objective found by the last exhaustive optimisation
+     */
+    public double exhaustiveObjectiveValue() {
+        assert isOptimisedExhaustively;
+        return exhaustiveObjectiveValue;
+    }
+
+    /**
+     * @return the value of the optimiser objective for the current values of the optimiser variables
+     */
+    public double objectiveValue() {
+        double value = 0.0;
+        for (PlannerVertex<?> vertex : vertices.values()) {
+            if (vertex.isStartingVertex()) value += log(1 + vertex.safeCost());
+        }
+        for (PlannerEdge<?, ?> edge : edges) {
+            if (edge.forward.isMinimal()) value += log(1 + edge.forward.safeCost());
+            if (edge.backward.isMinimal()) value += log(1 + edge.backward.safeCost());
+        }
+        return value;
     }
 
     private boolean isError() {
@@ -230,9 +309,15 @@ public class GraphPlanner implements ConnectedPlanner {
 
     @Override
     public void tryOptimise(GraphManager graphMgr, boolean singleUse) {
+        if (vertices.size() <= EXHAUSTIVE_MAX_VERTICES) {
+            optimiseExhaustively(graphMgr);
+            return;
+        }
         long timeLimitMillis = singleUse ? HIGHER_TIME_LIMIT_MILLIS : DEFAULT_TIME_LIMIT_MILLIS;
         if (backgroundOptimisation == null) startFirstOptimise(graphMgr, timeLimitMillis);
         else if (isOptimising.compareAndSet(false, true)) startReOptimise(graphMgr, timeLimitMillis);
+        // a warm started procedure was optimal before, so we let the optimiser improve on it in the background
+        if (isWarmStarted) return;
 
         try {
             backgroundOptimisation.get(timeLimitMillis + 10, MILLISECONDS);
@@ -263,6 +348,25 @@ public class GraphPlanner implements ConnectedPlanner {
         backgroundOptimisation = backgroundOptimisation.thenRunAsync(() -> optimise(timeLimitMillis), async2());
     }
 
+    /**
+     * Small structures are optimised by a dynamic program over the sets of vertices that are ordered first,
+     * which minimises the same objective as the optimiser model in a fraction of the time it takes to build it.
+     */
+    private synchronized void optimiseExhaustively(GraphManager graphMgr) {
+        updateTraversalCosts(graphMgr);
+        if (isUpToDate() && procedure != null) return;
+        Instant start = Instant.now();
+        initialiseVertexOrderExhaustive();
+        setOptimiserValues();
+        assert abs(objectiveValue() - exhaustiveObjectiveValue) <= 1e-9 * max(1, exhaustiveObjectiveValue);
+        createProcedure();
+        isUpToDate = true;
+        isOptimisedExhaustively = true;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Exhaustive optimisation duration : {} (ms)", between(start, Instant.now()).toMillis());
+        }
+    }
+
     private void optimise(long timeLimitMillis) {
         Instant start, endSolver, end;
         start = Instant.now();
@@ -281,7 +385,7 @@ public class GraphPlanner implements ConnectedPlanner {
     private void updateOptimiser() {
         updateOptimiserCoefficents();
         updateOptimiserConstraints();
-        if (!isVertexOrderInitialised) initialiseVertexOrderGreedy();
+        if (!isVertexOrderInitialised && !mayInitialiseVertexOrderFromHint()) initialiseVertexOrderGreedy();
         setOptimiserValues();
         if (LOG.isTraceEnabled()) LOG.trace(optimiser.toString());
     }
@@ -400,6 +504,68 @@ public class GraphPlanner implements ConnectedPlanner {
         return str.toString();
     }
 
+    private void initialiseVertexOrderExhaustive() {
+        List<PlannerVertex<?>> orderable = new ArrayList<>(vertices.values());
+        int size = orderable.size();
+        assert size <= EXHAUSTIVE_MAX_VERTICES;
+        Map<PlannerVertex<?>, Integer> index = new HashMap<>();
+        for (int i = 0; i < size; i++) index.put(orderable.get(i), i);
+
+        double[] startCost = new double[size];
+        List<List<PlannerEdge.Directional<?, ?>>> ins = new ArrayList<>(size);
+        for (PlannerVertex<?> vertex : orderable) {
+            startCost[index.get(vertex)] = log(1 + vertex.safeCost());
+            ins.add(new ArrayList<>(vertex.ins()));
+        }
+
+        // cost[ordered] is the lowest cost of ordering the vertices in the set 'ordered' first. As in the optimiser
+        // model, a vertex pays its cost as a starting vertex only if none of its incoming edges are selected, and
+        // otherwise pays the cost of its cheapest selected incoming edge. Loops are always selected.
+        double[] cost = new double[1 << size];
+        int[] last = new int[1 << size];
+        Arrays.fill(cost, Double.MAX_VALUE);
+        cost[0] = 0;
+        for (int ordered = 0; ordered < (1 << size); ordered++) {
+            if (cost[ordered] == Double.MAX_VALUE) continue;
+            for (int next = 0; next < size; next++) {
+                if ((ordered & (1 << next)) != 0) continue;
+                double nextCost = Double.MAX_VALUE;
+                for (PlannerEdge.Directional<?, ?> edge : ins.get(next)) {
+                    if (edge.isLoop() || (ordered & (1 << index.get(edge.from()))) != 0) {
+                        nextCost = Math.min(nextCost, log(1 + edge.safeCost()));
+                    }
+                }
+                if (nextCost == Double.MAX_VALUE) nextCost = startCost[next];
+                int extended = ordered | (1 << next);
+                if (cost[ordered] + nextCost < cost[extended]) {
+                    cost[extended] = cost[ordered] + nextCost;
+                    last[extended] = next;
+                }
+            }
+        }
+
+        int ordered = (1 << size) - 1;
+        exhaustiveObjectiveValue = cost[ordered];
+        for (int order = size - 1; order >= 0; order--) {
+            orderable.get(last[ordered]).setOrder(order);
+            ordered &= ~(1 << last[ordered]);
+        }
+        isVertexOrderInitialised = true;
+    }
+
+    private boolean mayInitialiseVertexOrderFromHint() {
+        if (vertexOrderHint == null || vertexOrderHint.size() != vertices.size()) return false;
+        Set<Integer> orders = new HashSet<>();
+        for (PlannerVertex<?> vertex : vertices.values()) {
+            Integer order = vertexOrderHint.get(vertex.id().toString());
+            if (order == null || order < 0 || order >= vertices.size() || !orders.add(order)) return false;
+        }
+        vertices.values().forEach(vertex -> vertex.setOrder(vertexOrderHint.get(vertex.id().toString())));
+        isVertexOrderInitialised = true;
+        isWarmStarted = true;
+        return true;
+    }
+
     private void initialiseVertexOrderGreedy() {
         Set<PlannerVertex<?>> unorderedVertices = new HashSet<>(vertices.values());
         int vertexOrder = 0;
@@ -19,6 +19,7 @@
 package com.vaticle.typedb.core.traversal.planner;
 
 import com.vaticle.typedb.core.common.exception.TypeDBException;
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.procedure.GraphProcedure;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
@@ -27,8 +28,10 @@ import com.vaticle.typedb.core.traversal.structure.Structure;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
@@ -47,8 +50,8 @@ public class MultiPlanner implements Planner {
         if (iterate(planners).allMatch(Planner::isOptimal)) createProcedure();
     }
 
-    static MultiPlanner create(List<Structure> structures) {
-        return new MultiPlanner(iterate(structures).map(ConnectedPlanner::create).toList());
+    static MultiPlanner create(List<Structure> structures, Function<String, Map<String, Integer>> vertexOrderHints) {
+        return new MultiPlanner(iterate(structures).map(s -> ConnectedPlanner.create(s, vertexOrderHints)).toList());
     }
 
     @Override
@@ -93,4 +96,9 @@ public class MultiPlanner implements Planner {
     public boolean isOptimal() {
         return iterate(planners).allMatch(Planner::isOptimal);
     }
+
+    @Override
+    public FunctionalIterator<GraphPlanner> graphPlanners() {
+        return iterate(planners).flatMap(Planner::graphPlanners);
+    }
 }
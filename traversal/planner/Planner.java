@@ -18,20 +18,32 @@
 
 package com.vaticle.typedb.core.traversal.planner;
 
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.procedure.PermutationProcedure;
 import com.vaticle.typedb.core.traversal.structure.Structure;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 
 public interface Planner {
 
     static Planner create(Structure structure) {
+        return create(structure, structureKey -> null);
+    }
+
+    /**
+     * @param vertexOrderHints provides the vertex order of a previously optimal plan for the canonical key of a
+     *                         connected structure, or null if there is none
+     */
+    static Planner create(Structure structure, Function<String, Map<String, Integer>> vertexOrderHints) {
         List<Structure> retrievedStructures = retrievedStructures(structure.asGraphs());
-        if (retrievedStructures.size() == 1) return ConnectedPlanner.create(retrievedStructures.get(0));
-        else return MultiPlanner.create(retrievedStructures);
+        if (retrievedStructures.size() == 1) {
+            return ConnectedPlanner.create(retrievedStructures.get(0), vertexOrderHints);
+        } else return MultiPlanner.create(retrievedStructures, vertexOrderHints);
     }
 
     /**
@@ -49,4 +61,6 @@ public interface Planner {
     boolean isOptimal();
 
     void tryOptimise(GraphManager graphMgr, boolean singleUse);
+
+    FunctionalIterator<GraphPlanner> graphPlanners();
 }
@@ -35,6 +35,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
+import static com.vaticle.typedb.common.collection.Collections.set;
 import static com.vaticle.typedb.common.util.Objects.className;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static com.vaticle.typedb.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
@@ -168,6 +169,10 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             return varIsSelected.value();
         }
 
+        public boolean isMinimal() {
+            return varIsMinimal.value();
+        }
+
         public Encoding.Direction.Edge direction() {
             return direction;
         }
@@ -1110,7 +1115,11 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                         assert !to.props().hasIID();
                         cost = 0;
                         double div = graphMgr.data().stats().thingVertexSum(from.props().types());
-                        if (div > 0) cost = graphMgr.data().stats().thingVertexSum(to.props().types()) / div;
+                        if (div > 0) {
+                            Set<TypeVertex> playerTypes = iterate(from.props().types()).map(graphMgr.schema()::getType).toSet();
+                            Set<TypeVertex> roleTypes = iterate(to.props().types()).map(graphMgr.schema()::getType).toSet();
+                            cost = graphMgr.data().stats().rolePlayerEdgeSum(roleTypes, playerTypes) / div;
+                        }
                         assert !Double.isNaN(cost);
                     }
                 }
@@ -1249,10 +1258,11 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
 
                         cost = 0;
                         Set<TypeVertex> roleTypeVertices = iterate(this.roleTypes()).map(graphMgr.schema()::getType).toSet();
+                        Set<TypeVertex> playerTypes = iterate(to.props().types()).map(graphMgr.schema()::getType).toSet();
                         for (TypeVertex roleType : roleTypeVertices) {
                             assert roleType.isRoleType() && roleType.properLabel().scope().isPresent();
                             double div = graphMgr.data().stats().thingVertexTransitiveCount(Label.of(roleType.properLabel().scope().get()));
-                            if (div > 0) cost += graphMgr.data().stats().thingVertexCount(roleType) / div;
+                            if (div > 0) cost += graphMgr.data().stats().rolePlayerEdgeSum(set(roleType), playerTypes) / div;
                         }
                         assert !roleTypeVertices.isEmpty();
                         cost = cost / roleTypeVertices.size();
@@ -1275,7 +1285,11 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
 
                         cost = 0;
                         double div = graphMgr.data().stats().thingVertexSum(from.props().types());
-                        if (div > 0) cost = graphMgr.data().stats().thingVertexSum(roleTypes) / div;
+                        if (div > 0) {
+                            Set<TypeVertex> roleTypeVertices = iterate(roleTypes).map(graphMgr.schema()::getType).toSet();
+                            Set<TypeVertex> playerTypes = iterate(from.props().types()).map(graphMgr.schema()::getType).toSet();
+                            cost = graphMgr.data().stats().rolePlayerEdgeSum(roleTypeVertices, playerTypes) / div;
+                        }
                         assert !Double.isNaN(cost);
                     }
                 }
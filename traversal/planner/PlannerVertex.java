@@ -23,8 +23,10 @@ import com.vaticle.typedb.core.common.optimiser.OptimiserConstraint;
 import com.vaticle.typedb.core.common.optimiser.OptimiserVariable;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.graph.TraversalVertex;
+import com.vaticle.typedb.core.traversal.predicate.Predicate;
 
 import javax.annotation.Nullable;
 
@@ -179,6 +181,10 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     public static class Thing extends PlannerVertex<Properties.Thing> {
 
+        static final double RANGE_SELECTIVITY = 1.0 / 3;
+        static final double BOUNDED_RANGE_SELECTIVITY = 1.0 / 4;
+        static final double TEXT_INDEX_SELECTIVITY = 1.0 / 20;
+
         Thing(Identifier id) {
             this(id, null);
         }
@@ -200,12 +206,37 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 assert !props().types().isEmpty();
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     cost = props().types().size();
+                } else if (iterate(props().predicates()).anyMatch(p -> p.isLowerBound() || p.isUpperBound() || p.isSubString())) {
+                    cost = iterate(props().types()).map(graphMgr.schema()::getType)
+                            .stream().mapToDouble(t -> graphMgr.data().stats().thingVertexCount(t) * selectivity(t))
+                            .sum();
                 } else {
                     cost = graphMgr.data().stats().thingVertexSum(props().types());
                 }
             }
         }
 
+        /**
+         * Estimates the fraction of a type's instances that will be visited, given that range predicates are seeked
+         * to in storage when the type's attributes are sorted by value, and that substring predicates are looked up
+         * in the text index when the type has one.
+         */
+        private double selectivity(TypeVertex type) {
+            if (!type.isAttributeType()) return 1;
+            else if (type.isTextIndexed()) {
+                return iterate(props().predicates()).anyMatch(Predicate.Value::isSubString) ? TEXT_INDEX_SELECTIVITY : 1;
+            } else if (!type.valueType().isSortedByValue()) return 1;
+            boolean hasLower = false, hasUpper = false;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!predicate.valueType().comparableTo(type.valueType())) continue;
+                hasLower |= predicate.isLowerBound();
+                hasUpper |= predicate.isUpperBound();
+            }
+            if (hasLower && hasUpper) return BOUNDED_RANGE_SELECTIVITY;
+            else if (hasLower || hasUpper) return RANGE_SELECTIVITY;
+            else return 1;
+        }
+
         @Override
         public boolean isThing() {
             return true;
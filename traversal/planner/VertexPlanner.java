@@ -18,10 +18,13 @@
 
 package com.vaticle.typedb.core.traversal.planner;
 
+import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.traversal.procedure.VertexProcedure;
 import com.vaticle.typedb.core.traversal.structure.StructureVertex;
 
+import static com.vaticle.typedb.core.common.iterator.Iterators.empty;
+
 public class VertexPlanner implements ConnectedPlanner {
 
     private final StructureVertex<?> structureVertex;
@@ -64,4 +67,9 @@ public class VertexPlanner implements ConnectedPlanner {
     public boolean isOptimal() {
         return true;
     }
+
+    @Override
+    public FunctionalIterator<GraphPlanner> graphPlanners() {
+        return empty();
+    }
 }
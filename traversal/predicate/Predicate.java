@@ -28,6 +28,10 @@ import java.util.Objects;
 import java.util.regex.Pattern;
 
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.DOUBLE_PRECISION;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.LTE;
 
 public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG extends PredicateArgument> {
 
@@ -130,6 +134,27 @@ public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG exte
             return argument.apply(operator, vertex, value);
         }
 
+        /**
+         * @return true if the predicate value is a lower bound on the attribute value, i.e. {@code >} or {@code >=}
+         */
+        public boolean isLowerBound() {
+            return operator.equals(GT) || operator.equals(GTE);
+        }
+
+        /**
+         * @return true if the predicate value is an upper bound on the attribute value, i.e. {@code <} or {@code <=}
+         */
+        public boolean isUpperBound() {
+            return operator.equals(LT) || operator.equals(LTE);
+        }
+
+        /**
+         * @return true if the predicate matches substrings of the attribute value, i.e. {@code contains} or {@code like}
+         */
+        public boolean isSubString() {
+            return operator.isSubString();
+        }
+
         public static class Numerical extends Value<PredicateOperator.Equality> {
 
             public Numerical(PredicateOperator.Equality operator, PredicateArgument.Value<PredicateOperator.Equality, ?> argument) {
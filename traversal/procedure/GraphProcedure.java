@@ -19,10 +19,14 @@
 package com.vaticle.typedb.core.traversal.procedure;
 
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable;
+import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.concurrent.producer.FunctionalProducer;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.vertex.ThingVertex;
+import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.Traversal;
 import com.vaticle.typedb.core.traversal.common.Identifier;
 import com.vaticle.typedb.core.traversal.common.VertexMap;
@@ -46,6 +50,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
@@ -56,11 +63,13 @@ public class GraphProcedure implements PermutationProcedure {
     private static final Logger LOG = LoggerFactory.getLogger(GraphProcedure.class);
 
     private final ProcedureVertex<?, ?>[] vertices;
+    private final ConcurrentMap<Set<Identifier.Variable.Retrievable>, VertexMap.Slots> answerSlots;
     private Set<ProcedureVertex<?, ?>> startVertices;
     private Set<ProcedureVertex<?, ?>> endVertices;
 
     private GraphProcedure(ProcedureVertex<?, ?>[] vertices) {
         this.vertices = vertices;
+        this.answerSlots = new ConcurrentHashMap<>();
     }
 
     public static GraphProcedure create(List<ConnectedPlanner> planners) {
@@ -100,6 +109,16 @@ public class GraphProcedure implements PermutationProcedure {
         return endVertices;
     }
 
+    /**
+     * The answer layout for the given filter, assigned once per procedure so that every iterator over it produces
+     * rows of the same layout.
+     */
+    public VertexMap.Slots answerSlots(Set<Identifier.Variable.Retrievable> filter) {
+        return answerSlots.computeIfAbsent(filter, f -> VertexMap.Slots.of(iterate(vertices)
+                .filter(v -> v.id().isRetrievable() && f.contains(v.id().asVariable().asRetrievable()))
+                .map(v -> v.id().asVariable().asRetrievable()).toList()));
+    }
+
     public ProcedureVertex<?, ?> vertex(int pos) {
         assert 0 <= pos && pos < vertices.length;
         return vertices[pos];
@@ -123,15 +142,32 @@ public class GraphProcedure implements PermutationProcedure {
             LOG.trace(this.toString());
         }
         assertWithinFilterBounds(filter);
+        if (parallelisation > 1 && initialVertex().isThing() && initialVertex().asThing().isPartitionable(graphMgr)) {
+            // drive the traversal from disjoint partitions of the key range of the initial vertex, rather than handing
+            // out starting vertices one at a time from a single sequential iterator, so each job scans storage alone
+            FunctionalIterator<Forwardable<ThingVertex, Order.Asc>> partitions =
+                    initialVertex().asThing().partitions(graphMgr, parallelisation);
+            return producer(graphMgr, params, filter, parallelisation,
+                            traverse -> partitions.map(partition -> partition.flatMap(traverse::apply)));
+        } else {
+            return producer(graphMgr, params, filter, parallelisation,
+                            traverse -> initialVertex().iterator(graphMgr, params).map(traverse::apply));
+        }
+    }
+
+    /**
+     * @param jobs the jobs to run in parallel, given the traversal from a single starting vertex
+     */
+    private FunctionalProducer<VertexMap> producer(
+            GraphManager graphMgr, Traversal.Parameters params, Set<Identifier.Variable.Retrievable> filter,
+            int parallelisation,
+            Function<Function<Vertex<?, ?>, FunctionalIterator<VertexMap>>, FunctionalIterator<FunctionalIterator<VertexMap>>> jobs
+    ) {
         if (initialVertex().id().isRetrievable() && filter.contains(initialVertex().id().asVariable().asRetrievable())) {
-            return async(initialVertex().iterator(graphMgr, params).map(v ->
-                    new GraphIterator(graphMgr, v, this, params, filter).distinct()
-            ), parallelisation);
+            return async(jobs.apply(v -> new GraphIterator(graphMgr, v, this, params, filter).distinct()), parallelisation);
         } else {
             // TODO we can reduce the size of the distinct() set if the traversal engine doesn't overgenerate as much
-            return async(initialVertex().iterator(graphMgr, params).map(v ->
-                    new GraphIterator(graphMgr, v, this, params, filter)
-            ), parallelisation).distinct();
+            return async(jobs.apply(v -> new GraphIterator(graphMgr, v, this, params, filter)), parallelisation).distinct();
         }
     }
 
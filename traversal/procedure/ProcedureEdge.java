@@ -25,6 +25,8 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Forwardable
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.parameters.Label;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.TypeGraph;
+import com.vaticle.typedb.core.graph.TypeGraph.Lattice.Closure;
 import com.vaticle.typedb.core.graph.common.Encoding;
 import com.vaticle.typedb.core.graph.iid.PrefixIID;
 import com.vaticle.typedb.core.graph.iid.VertexIID;
@@ -40,6 +42,7 @@ import com.vaticle.typedb.core.traversal.scanner.GraphIterator;
 import com.vaticle.typedb.core.traversal.structure.StructureEdge;
 import com.vaticle.typeql.lang.common.TypeQLToken;
 
+import java.util.BitSet;
 import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
@@ -144,6 +147,14 @@ public abstract class ProcedureEdge<
         return false;
     }
 
+    public boolean isNativeType() {
+        return false;
+    }
+
+    public Native.Type asNativeType() {
+        throw TypeDBException.of(ILLEGAL_CAST, className(getClass()), className(Native.Type.class));
+    }
+
     public boolean isRelating() {
         return false;
     }
@@ -396,6 +407,32 @@ public abstract class ProcedureEdge<
                 super(from, to, direction, encoding);
             }
 
+            @Override
+            public boolean isNativeType() {
+                return true;
+            }
+
+            @Override
+            public Native.Type asNativeType() {
+                return this;
+            }
+
+            public abstract Closure closure();
+
+            /**
+             * The union of this edge's closure over the given types, without the properties of the target vertex
+             * applied. Callers may only use this when the target is already constrained to types satisfying them.
+             */
+            public BitSet closure(TypeGraph.Lattice lattice, BitSet fromTypes) {
+                BitSet toTypes = new BitSet();
+                fromTypes.stream().forEach(type -> toTypes.or(lattice.closure(closure(), type)));
+                return toTypes;
+            }
+
+            public Forwardable<TypeVertex, Order.Asc> branch(TypeGraph.Lattice lattice, BitSet fromTypes) {
+                return to.filter(iterateSorted(lattice.types(closure(lattice, fromTypes)), ASC));
+            }
+
             static Native.Type of(ProcedureVertex.Type from, ProcedureVertex.Type to,
                                   PlannerEdge.Native.Type.Directional edge) {
                 boolean isForward = edge.direction().isForward();
@@ -476,6 +513,11 @@ public abstract class ProcedureEdge<
                         super(from, to, FORWARD, isTransitive);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return isTransitive ? Closure.SUPERTYPES_TRANSITIVE : Closure.SUPERTYPES;
+                    }
+
                     @Override
                     public Forwardable<TypeVertex, Order.Asc> branch(GraphManager graphMgr, Vertex<?, ?> fromVertex,
                                                                      Traversal.Parameters params) {
@@ -501,6 +543,11 @@ public abstract class ProcedureEdge<
                         super(from, to, BACKWARD, isTransitive);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return isTransitive ? Closure.SUBTYPES_TRANSITIVE : Closure.SUBTYPES;
+                    }
+
                     @Override
                     public Forwardable<TypeVertex, Order.Asc> branch(GraphManager graphMgr, Vertex<?, ?> fromVertex,
                                                                      Traversal.Parameters params) {
@@ -551,6 +598,11 @@ public abstract class ProcedureEdge<
                         super(from, to, FORWARD, isKey);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return isKey ? Closure.OWNS_KEY : Closure.OWNS;
+                    }
+
                     @Override
                     public boolean onlyStartsFromThingType() {
                         return true;
@@ -588,6 +640,11 @@ public abstract class ProcedureEdge<
                         super(from, to, BACKWARD, isKey);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return isKey ? Closure.OWNERS_KEY : Closure.OWNERS;
+                    }
+
                     @Override
                     public boolean onlyStartsFromAttributeType() {
                         return true;
@@ -633,6 +690,11 @@ public abstract class ProcedureEdge<
                         super(from, to, FORWARD);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return Closure.PLAYS;
+                    }
+
                     @Override
                     public boolean onlyStartsFromThingType() {
                         return true;
@@ -664,6 +726,11 @@ public abstract class ProcedureEdge<
                         super(from, to, BACKWARD);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return Closure.PLAYERS;
+                    }
+
                     @Override
                     public boolean onlyStartsFromRoleType() {
                         return true;
@@ -703,6 +770,11 @@ public abstract class ProcedureEdge<
                         super(from, to, FORWARD);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return Closure.RELATES;
+                    }
+
                     @Override
                     public boolean onlyStartsFromRelationType() {
                         return true;
@@ -733,6 +805,11 @@ public abstract class ProcedureEdge<
                         super(from, to, BACKWARD);
                     }
 
+                    @Override
+                    public Closure closure() {
+                        return Closure.RELATIONS;
+                    }
+
                     @Override
                     public boolean onlyStartsFromRoleType() {
                         return true;
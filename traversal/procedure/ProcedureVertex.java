@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.Order;
 import com.vaticle.typedb.core.common.iterator.sorted.SortedIterators;
 import com.vaticle.typedb.core.graph.GraphManager;
 import com.vaticle.typedb.core.graph.common.Encoding;
+import com.vaticle.typedb.core.graph.iid.VertexIID;
 import com.vaticle.typedb.core.graph.vertex.AttributeVertex;
 import com.vaticle.typedb.core.graph.vertex.ThingVertex;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
@@ -43,6 +44,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 import static com.vaticle.typedb.common.collection.Collections.intersection;
 import static com.vaticle.typedb.common.util.Objects.className;
@@ -52,6 +54,7 @@ import static com.vaticle.typedb.core.common.iterator.Iterators.iterate;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterator.ASC;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.emptySorted;
 import static com.vaticle.typedb.core.common.iterator.sorted.SortedIterators.Forwardable.iterateSorted;
+import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.DOUBLE_PRECISION;
 import static com.vaticle.typedb.core.graph.common.Encoding.ValueType.STRING;
 import static com.vaticle.typedb.core.graph.common.Encoding.Vertex.Type.ROLE_TYPE;
 import static com.vaticle.typedb.core.traversal.predicate.PredicateOperator.Equality.EQ;
@@ -119,6 +122,7 @@ public abstract class ProcedureVertex<
 
     public static class Thing extends ProcedureVertex<ThingVertex, Properties.Thing> {
 
+        private static final String REGEX_ESCAPED_CLASSES = "dDsSwWhHvVbBAGZzRX";
         private Boolean isScope;
 
         Thing(Identifier identifier) {
@@ -162,6 +166,32 @@ public abstract class ProcedureVertex<
             else return iterateAndFilterFromTypes(graphMgr, parameters);
         }
 
+        /**
+         * @return true if the instances of this vertex can be iterated as disjoint partitions of their key ranges,
+         * ie. the vertex is only restricted by its types, and none of them are attribute types
+         */
+        public boolean isPartitionable(GraphManager graphMgr) {
+            return id().isVariable() && !props().hasIID() && props().predicates().isEmpty() && !props().types().isEmpty() &&
+                    iterate(props().types()).map(graphMgr.schema()::getType).noneMatch(TypeVertex::isAttributeType);
+        }
+
+        /**
+         * Split the iteration of this vertex into disjoint partitions, where each partition merges the
+         * corresponding key range of each of the types of this vertex.
+         */
+        public FunctionalIterator<Forwardable<ThingVertex, Order.Asc>> partitions(GraphManager graphMgr, int partitions) {
+            assert isPartitionable(graphMgr) && partitions > 0;
+            List<List<Forwardable<ThingVertex, Order.Asc>>> typePartitions = iterate(props().types())
+                    .map(graphMgr.schema()::getType).filter(t -> !t.encoding().equals(ROLE_TYPE))
+                    .map(t -> graphMgr.data().getReadable(t, partitions)).toList();
+            List<Forwardable<ThingVertex, Order.Asc>> iterators = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                int partition = i;
+                iterators.add(iterate(typePartitions).mergeMap(p -> p.get(partition), ASC));
+            }
+            return iterate(iterators);
+        }
+
         Forwardable<? extends ThingVertex, Order.Asc> filter(Forwardable<? extends ThingVertex, Order.Asc> iterator,
                                                              Traversal.Parameters params) {
             iterator = filterTypes(iterator);
@@ -195,13 +225,155 @@ public abstract class ProcedureVertex<
             if (eq.isPresent()) iter = iteratorOfAttributesWithTypes(graphMgr, parameters, eq.get());
             else {
                 if (id().isVariable()) types = types.filter(t -> !t.encoding().equals(ROLE_TYPE));
-                iter = types.mergeMap(t -> graphMgr.data().getReadable(t), ASC);
+                iter = types.mergeMap(t -> iterateType(graphMgr, parameters, t), ASC);
             }
 
             if (props().predicates().isEmpty()) return iter;
             else return filterPredicates(mapToAttributes(iter), parameters, eq.orElse(null));
         }
 
+        private Forwardable<ThingVertex, Order.Asc> iterateType(GraphManager graphMgr, Traversal.Parameters parameters,
+                                                                TypeVertex type) {
+            if (!type.isAttributeType() || !id().isVariable()) return graphMgr.data().getReadable(type);
+            else if (type.isTextIndexed()) return iterateTextIndexed(graphMgr, parameters, type);
+            else if (!type.valueType().isSortedByValue()) return graphMgr.data().getReadable(type);
+            VertexIID.Attribute<?> lowerBound = null;
+            VertexIID.Attribute<?> upperBound = null;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!predicate.valueType().comparableTo(type.valueType())) continue;
+                if (!predicate.isLowerBound() && !predicate.isUpperBound()) continue;
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    VertexIID.Attribute<?> bound = rangeBound(type, value, predicate.isLowerBound());
+                    if (bound == null) continue;
+                    if (predicate.isLowerBound() && (lowerBound == null || bound.compareTo(lowerBound) > 0)) {
+                        lowerBound = bound;
+                    } else if (predicate.isUpperBound() && (upperBound == null || bound.compareTo(upperBound) < 0)) {
+                        upperBound = bound;
+                    }
+                }
+            }
+            if (lowerBound == null && upperBound == null) return graphMgr.data().getReadable(type);
+            else return graphMgr.data().getReadable(type, lowerBound, upperBound);
+        }
+
+        private Forwardable<ThingVertex, Order.Asc> iterateTextIndexed(GraphManager graphMgr, Traversal.Parameters parameters,
+                                                                       TypeVertex type) {
+            Set<String> substrings = new HashSet<>();
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!predicate.isSubString()) continue;
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    if (value.isString()) substrings.add(value.getString());
+                    else if (value.isRegex()) {
+                        String literal = requiredLiteral(value.getRegex());
+                        if (literal != null) substrings.add(literal);
+                    }
+                }
+            }
+            if (substrings.isEmpty()) return graphMgr.data().getReadable(type);
+            else return graphMgr.data().getReadableContaining(type, substrings);
+        }
+
+        /**
+         * Finds the longest run of literal characters that every match of a regular expression must contain. This is
+         * conservative: patterns with groups or alternations are not analysed, and any character that may be optional
+         * or repeated ends the run it is in.
+         */
+        @Nullable
+        private static String requiredLiteral(Pattern regex) {
+            String pattern = regex.pattern();
+            if (pattern.indexOf('(') >= 0 || pattern.indexOf('|') >= 0) return null;
+            String longest = null;
+            StringBuilder run = new StringBuilder();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                switch (c) {
+                    case '?':
+                    case '*':
+                    case '{':
+                        // the preceding character is optional
+                        if (run.length() > 0) run.setLength(run.offsetByCodePoints(run.length(), -1));
+                        longest = longer(longest, run);
+                        run.setLength(0);
+                        if (c == '{' && (i = pattern.indexOf('}', i)) < 0) return longest;
+                        break;
+                    case '\\':
+                        if (i + 1 == pattern.length()) return null;
+                        char escaped = pattern.charAt(++i);
+                        if (!Character.isLetterOrDigit(escaped)) run.append(escaped);
+                        else if (REGEX_ESCAPED_CLASSES.indexOf(escaped) >= 0) {
+                            longest = longer(longest, run);
+                            run.setLength(0);
+                        } else return null; // quotations, code points and named classes are not analysed
+                        break;
+                    case '[':
+                        longest = longer(longest, run);
+                        run.setLength(0);
+                        if ((i = regexClassEnd(pattern, i)) < 0) return null;
+                        break;
+                    case '+':
+                    case '.':
+                    case '^':
+                    case '$':
+                        longest = longer(longest, run);
+                        run.setLength(0);
+                        break;
+                    default:
+                        run.append(c);
+                }
+            }
+            return longer(longest, run);
+        }
+
+        private static int regexClassEnd(String pattern, int start) {
+            int i = start + 1;
+            if (i < pattern.length() && pattern.charAt(i) == '^') i++;
+            if (i < pattern.length() && pattern.charAt(i) == ']') i++;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\\') i += 2;
+                else if (c == '[') return -1;
+                else if (c == ']') return i;
+                else i++;
+            }
+            return -1;
+        }
+
+        @Nullable
+        private static String longer(@Nullable String longest, StringBuilder run) {
+            if (longest == null || run.codePointCount(0, run.length()) > longest.codePointCount(0, longest.length())) {
+                return run.length() == 0 ? longest : run.toString();
+            } else {
+                return longest;
+            }
+        }
+
+        /**
+         * Builds an inclusive bound for the attribute IIDs of the given type. The bound may be wider than the
+         * predicate (eg. doubles are compared within DOUBLE_PRECISION, and date-times are stored in milliseconds),
+         * as the predicates are always re-applied to the attributes found within the bounds.
+         */
+        @Nullable
+        private static VertexIID.Attribute<?> rangeBound(TypeVertex type, Traversal.Parameters.Value value, boolean isLower) {
+            switch (type.valueType()) {
+                case LONG:
+                    if (value.isLong()) return new VertexIID.Attribute.Long(type.iid(), value.getLong());
+                    else if (Double.isNaN(value.getDouble())) return null;
+                    else if (isLower) {
+                        return new VertexIID.Attribute.Long(type.iid(), (long) Math.floor(value.getDouble() - DOUBLE_PRECISION));
+                    } else {
+                        return new VertexIID.Attribute.Long(type.iid(), (long) Math.ceil(value.getDouble() + DOUBLE_PRECISION));
+                    }
+                case DOUBLE:
+                    if (Double.isNaN(value.getDouble())) return null;
+                    else if (isLower) return new VertexIID.Attribute.Double(type.iid(), value.getDouble() - DOUBLE_PRECISION);
+                    else return new VertexIID.Attribute.Double(type.iid(), value.getDouble() + DOUBLE_PRECISION);
+                case DATETIME:
+                    return new VertexIID.Attribute.DateTime(type.iid(), value.getDateTime());
+                default:
+                    throw TypeDBException.of(ILLEGAL_STATE);
+            }
+        }
+
         private Forwardable<? extends ThingVertex, Order.Asc> filterIID(Forwardable<? extends ThingVertex, Order.Asc> iterator,
                                                                         Traversal.Parameters parameters) {
             assert parameters.getIID(id().asVariable()) != null;
@@ -220,7 +392,6 @@ public abstract class ProcedureVertex<
         Forwardable<? extends AttributeVertex<?>, Order.Asc> filterPredicates(Forwardable<? extends AttributeVertex<?>, Order.Asc> iterator,
                                                                               Traversal.Parameters parameters,
                                                                               @Nullable Predicate.Value<?> exclude) {
-            // TODO we should be using forward() to optimise filtering for >, <, and =
             assert id().isVariable();
             for (Predicate.Value<?> predicate : props().predicates()) {
                 if (Objects.equals(predicate, exclude)) continue;
@@ -34,8 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import static com.vaticle.typedb.common.collection.Collections.map;
-import static com.vaticle.typedb.common.collection.Collections.pair;
+import static com.vaticle.typedb.common.collection.Collections.list;
 import static com.vaticle.typedb.core.concurrent.producer.Producers.async;
 
 public class VertexProcedure implements PermutationProcedure {
@@ -81,7 +80,14 @@ public class VertexProcedure implements PermutationProcedure {
                                                   Set<Identifier.Variable.Retrievable> filter, int parallelisation) {
         LOG.trace(params.toString());
         LOG.trace(this.toString());
-        return async(iterator(graphMgr, params, filter));
+        if (parallelisation > 1 && vertex.isThing() && vertex.asThing().isPartitionable(graphMgr)) {
+            assert vertex.id().isRetrievable() && filter.contains(vertex.id().asVariable().asRetrievable());
+            return async(vertex.asThing().partitions(graphMgr, parallelisation).map(
+                    partition -> filterAndMap(graphMgr, params, partition)
+            ), parallelisation);
+        } else {
+            return async(iterator(graphMgr, params, filter));
+        }
     }
 
     @Override
@@ -90,12 +96,17 @@ public class VertexProcedure implements PermutationProcedure {
         LOG.trace(params.toString());
         LOG.trace(this.toString());
         assert vertex.id().isRetrievable() && filter.contains(vertex.id().asVariable().asRetrievable());
-        FunctionalIterator<? extends Vertex<?, ?>> iterator = vertex.iterator(graphMgr, params);
+        return filterAndMap(graphMgr, params, vertex.iterator(graphMgr, params));
+    }
+
+    private FunctionalIterator<VertexMap> filterAndMap(GraphManager graphMgr, Traversal.Parameters params,
+                                                       FunctionalIterator<? extends Vertex<?, ?>> iterator) {
         for (ProcedureEdge<?, ?> e : vertex.loops()) {
             iterator = iterator.filter(v -> e.isClosure(graphMgr, v, v, params));
         }
 
-        return iterator.map(v -> VertexMap.of(map(pair(vertex.id().asVariable().asRetrievable(), v))));
+        VertexMap.Slots slots = VertexMap.Slots.of(list(vertex.id().asVariable().asRetrievable()));
+        return iterator.map(v -> VertexMap.of(slots, new Vertex<?, ?>[]{v}));
     }
 
 }
@@ -20,6 +20,7 @@ package com.vaticle.typedb.core.traversal.scanner;
 
 import com.vaticle.typedb.core.common.iterator.FunctionalIterator;
 import com.vaticle.typedb.core.graph.GraphManager;
+import com.vaticle.typedb.core.graph.TypeGraph;
 import com.vaticle.typedb.core.graph.vertex.TypeVertex;
 import com.vaticle.typedb.core.graph.vertex.Vertex;
 import com.vaticle.typedb.core.traversal.Traversal;
@@ -31,8 +32,8 @@ import com.vaticle.typedb.core.traversal.procedure.ProcedureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Optional;
@@ -46,11 +47,12 @@ public class CombinationFinder {
     private static final Logger LOG = LoggerFactory.getLogger(CombinationFinder.class);
 
     private final GraphManager graphMgr;
+    private final TypeGraph.Lattice lattice;
     private final CombinationProcedure procedure;
     private final Traversal.Parameters params;
     private final Set<Retrievable> filter;
     private final Set<Retrievable> concreteVarIds;
-    private final Map<Identifier, Set<TypeVertex>> combination;
+    private final Map<Identifier, BitSet> combination;
 
     private enum State {CHANGED, UNCHANGED, EMPTY}
 
@@ -58,6 +60,7 @@ public class CombinationFinder {
                              Set<Retrievable> concreteVarIds) {
         assert filter.containsAll(concreteVarIds);
         this.graphMgr = graphMgr;
+        this.lattice = graphMgr.schema().lattice();
         this.procedure = procedure;
         this.filter = filter;
         this.concreteVarIds = concreteVarIds;
@@ -80,7 +83,7 @@ public class CombinationFinder {
     }
 
     private void start(CombinationProcedure procedure) {
-        procedure.startVertices().forEach(start -> addOrIntersect(start.id(), vertexIter(start).toSet()));
+        procedure.startVertices().forEach(start -> addOrIntersect(start.id(), lattice.bits(vertexIter(start))));
     }
 
     private State forward(CombinationProcedure procedure) {
@@ -92,7 +95,7 @@ public class CombinationFinder {
             from = toVisit.remove();
             changed = includeLoopCombinations(procedure, from) || changed;
             for (ProcedureEdge<?, ?> procedureEdge : procedure.forwardEdges(from)) {
-                Set<TypeVertex> toCombination = toTypes(procedureEdge);
+                BitSet toCombination = toTypes(procedureEdge);
                 changed = addOrIntersect(procedureEdge.to().id(), toCombination) || changed;
                 if (combination.get(procedureEdge.to().id()).isEmpty()) return State.EMPTY;
                 if (!procedure.isTerminal(procedureEdge.to().asType())) {
@@ -111,7 +114,7 @@ public class CombinationFinder {
             from = toVisit.remove();
             changed = includeLoopCombinations(procedure, from) || changed;
             for (ProcedureEdge<?, ?> procedureEdge : procedure.reverseEdges(from)) {
-                Set<TypeVertex> toTypes = toTypes(procedureEdge);
+                BitSet toTypes = toTypes(procedureEdge);
                 changed = addOrIntersect(procedureEdge.to().id(), toTypes) || changed;
                 if (combination.get(procedureEdge.to().id()).isEmpty()) return State.EMPTY;
                 if (!procedure.startVertices().contains(procedureEdge.to().asType())) {
@@ -125,51 +128,77 @@ public class CombinationFinder {
     private boolean includeLoopCombinations(CombinationProcedure procedure, ProcedureVertex.Type from) {
         boolean changed = false;
         for (ProcedureEdge<?, ?> loopEdge : procedure.loopEdges(from)) {
-            Set<TypeVertex> loopCombination = loopTypes(loopEdge);
+            BitSet loopCombination = loopTypes(loopEdge);
             changed = addOrIntersect(loopEdge.from().id(), loopCombination) || changed;
         }
         return changed;
     }
 
-    private Set<TypeVertex> loopTypes(ProcedureEdge<?, ?> edge) {
+    private BitSet loopTypes(ProcedureEdge<?, ?> edge) {
         assert edge.from().equals(edge.to());
-        return iterate(combination.get(edge.from().id())).flatMap(type -> branchIter(edge, type).filter(to -> to.equals(type))).toSet();
+        BitSet loopTypes = new BitSet();
+        BitSet fromTypes = combination.get(edge.from().id());
+        if (edge.isNativeType()) {
+            // the combination of a vertex already satisfies its own properties, so only closure membership matters
+            fromTypes.stream().filter(type -> lattice.closure(edge.asNativeType().closure(), type).get(type))
+                    .forEach(loopTypes::set);
+        } else {
+            fromTypes.stream().filter(type -> {
+                TypeVertex vertex = lattice.type(type);
+                return branchIter(edge, vertex).anyMatch(to -> to.equals(vertex));
+            }).forEach(loopTypes::set);
+        }
+        return loopTypes;
     }
 
-    private Set<TypeVertex> toTypes(ProcedureEdge<?, ?> edge) {
+    private BitSet toTypes(ProcedureEdge<?, ?> edge) {
         assert !edge.from().equals(edge.to());
-        return iterate(combination.get(edge.from().id())).flatMap(type -> branchIter(edge, type)).toSet();
+        BitSet fromTypes = combination.get(edge.from().id());
+        if (!edge.isNativeType()) {
+            return lattice.bits(iterate(lattice.types(fromTypes)).flatMap(type -> branchIter(edge, type)));
+        } else if (combination.containsKey(edge.to().id())) {
+            // the target will be intersected with a combination that already satisfies its properties
+            return edge.asNativeType().closure(lattice, fromTypes);
+        } else {
+            FunctionalIterator<TypeVertex> toTypes = edge.asNativeType().branch(lattice, fromTypes);
+            if (isConcrete(edge.to())) toTypes = toTypes.filter(type -> !type.isAbstract());
+            return lattice.bits(toTypes);
+        }
     }
 
-    private boolean addOrIntersect(Identifier identifier, Set<? extends TypeVertex> types) {
-        Set<TypeVertex> vertices = combination.computeIfAbsent(identifier, (id) -> new HashSet<>());
-        int sizeBefore = vertices.size();
-        if (vertices.isEmpty()) vertices.addAll(types);
-        else vertices.retainAll(types);
-        return vertices.size() != sizeBefore;
+    private boolean addOrIntersect(Identifier identifier, BitSet types) {
+        BitSet vertices = combination.get(identifier);
+        if (vertices == null) {
+            combination.put(identifier, (BitSet) types.clone());
+            return true;
+        } else {
+            int sizeBefore = vertices.cardinality();
+            vertices.and(types);
+            return vertices.cardinality() != sizeBefore;
+        }
+    }
+
+    private boolean isConcrete(ProcedureVertex<?, ?> vertex) {
+        return vertex.id().isRetrievable() && concreteVarIds.contains(vertex.id().asVariable().asRetrievable());
     }
 
     private FunctionalIterator<? extends TypeVertex> vertexIter(ProcedureVertex.Type vertex) {
         FunctionalIterator<? extends TypeVertex> iterator = vertex.iterator(graphMgr, params);
-        if (vertex.id().isRetrievable() && concreteVarIds.contains(vertex.id().asVariable().asRetrievable())) {
-            iterator = iterator.filter(type -> !type.isAbstract());
-        }
+        if (isConcrete(vertex)) iterator = iterator.filter(type -> !type.isAbstract());
         return iterator;
     }
 
     private FunctionalIterator<TypeVertex> branchIter(ProcedureEdge<?, ?> edge, TypeVertex vertex) {
         FunctionalIterator<TypeVertex> iterator = edge.branch(graphMgr, vertex, params).map(Vertex::asType);
-        if (edge.to().id().isRetrievable() && concreteVarIds.contains(edge.to().id().asVariable().asRetrievable())) {
-            iterator = iterator.filter(type -> !type.isAbstract());
-        }
+        if (isConcrete(edge.to())) iterator = iterator.filter(type -> !type.isAbstract());
         return iterator;
     }
 
-    private Map<Retrievable, Set<TypeVertex>> filtered(Map<Identifier, Set<TypeVertex>> answer) {
+    private Map<Retrievable, Set<TypeVertex>> filtered(Map<Identifier, BitSet> answer) {
         Map<Retrievable, Set<TypeVertex>> filtered = new HashMap<>();
-        answer.forEach((id, vertices) -> {
+        answer.forEach((id, types) -> {
             if (id.isRetrievable() && filter.contains(id.asVariable().asRetrievable())) {
-                filtered.put(id.asVariable().asRetrievable(), vertices);
+                filtered.put(id.asVariable().asRetrievable(), lattice.types(types));
             }
         });
         return filtered;
@@ -71,6 +71,8 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     private final Vertex<?, ?> initial;
     private final SortedSet<ProcedureVertex<?, ?>> toTraverse;
     private final SortedSet<ProcedureVertex<?, ?>> toRevisit;
+    private VertexMap.Slots answerSlots;
+    private VertexTraverser[] answerTraversers;
     private Direction direction;
     private IteratorState iteratorState;
 
@@ -106,6 +108,14 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
         for (ProcedureVertex<?, ?> v : procedure.vertices()) {
             if (v.isThing() && v.asThing().isScope()) setupImplicitDependencies(v);
         }
+        // place the traversers of retrieved vertices into the answer slots of the procedure
+        answerSlots = procedure.answerSlots(filter);
+        answerTraversers = new VertexTraverser[answerSlots.size()];
+        for (ProcedureVertex<?, ?> v : procedure.vertices()) {
+            if (!v.id().isRetrievable()) continue;
+            int slot = answerSlots.slot(v.id().asVariable().asRetrievable());
+            if (slot != VertexMap.Slots.ABSENT) answerTraversers[slot] = vertexTraversers.get(v);
+        }
     }
 
     /**
@@ -148,14 +158,9 @@ public class GraphIterator extends AbstractFunctionalIterator<VertexMap> {
     }
 
     private VertexMap toVertexMap() {
-        Map<Identifier.Variable.Retrievable, Vertex<?, ?>> answer = new HashMap<>();
-        for (ProcedureVertex<?, ?> procedureVertex : procedure.vertices()) {
-            if (procedureVertex.id().isRetrievable() && filter.contains(procedureVertex.id().asVariable().asRetrievable())) {
-                answer.put(procedureVertex.id().asVariable().asRetrievable(), vertexTraversers.get(procedureVertex).vertex());
-            }
-        }
-
-        return VertexMap.of(answer);
+        Vertex<?, ?>[] answer = new Vertex<?, ?>[answerTraversers.length];
+        for (int i = 0; i < answerTraversers.length; i++) answer[i] = answerTraversers[i].vertex();
+        return VertexMap.of(answerSlots, answer);
     }
 
     @Override
@@ -26,6 +26,7 @@ import com.vaticle.typedb.core.traversal.predicate.Predicate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -157,6 +158,49 @@ public class Structure {
         adjacents.forEach(v -> splitGraph(v, newStructure, verticesToVisit, edgesToVisit));
     }
 
+    /**
+     * Describes this structure independently of the order in which its vertices, edges and properties were recorded,
+     * so that equal structures have equal keys, even across different runs of the server.
+     */
+    public String canonicalKey() {
+        List<String> descriptions = new ArrayList<>(vertices.size() + edges.size());
+        vertices.values().forEach(vertex -> descriptions.add(canonicalKey(vertex)));
+        edges.forEach(edge -> descriptions.add(canonicalKey(edge)));
+        descriptions.sort(Comparator.naturalOrder());
+        return String.join("\n", descriptions);
+    }
+
+    private static String canonicalKey(StructureVertex<?> vertex) {
+        if (vertex.isThing()) {
+            TraversalVertex.Properties.Thing props = vertex.asThing().props();
+            return String.format("%s [thing] { hasIID: %s, types: %s, predicates: %s }",
+                    vertex.id(), props.hasIID(), sorted(props.types()), sorted(props.predicates()));
+        } else {
+            TraversalVertex.Properties.Type props = vertex.asType().props();
+            return String.format("%s [type] { labels: %s, abstract: %s, value: %s, regex: %s }",
+                    vertex.id(), sorted(props.labels()), props.isAbstract(), sorted(props.valueTypes()),
+                    props.regex().orElse(null));
+        }
+    }
+
+    private static String canonicalKey(StructureEdge<?, ?> edge) {
+        if (!edge.isNative()) return edge.toString();
+        else if (edge.asNative().isRolePlayer()) {
+            StructureEdge.Native.RolePlayer rolePlayer = edge.asNative().asRolePlayer();
+            return String.format("%s { roles: %s, repetition: %s }",
+                    edge, sorted(rolePlayer.types()), rolePlayer.repetition());
+        } else {
+            return String.format("%s { transitive: %s }", edge, edge.asNative().isTransitive());
+        }
+    }
+
+    private static List<String> sorted(Collection<?> elements) {
+        List<String> strings = new ArrayList<>(elements.size());
+        elements.forEach(element -> strings.add(element.toString()));
+        strings.sort(Comparator.naturalOrder());
+        return strings;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;